@@ -0,0 +1,55 @@
+package com.selimhorri.app.cache;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public final class CachedResponse {
+	
+	private final HttpStatus status;
+	private final HttpHeaders headers;
+	private final byte[] body;
+	private final String etag;
+	private final Instant storedAt;
+	private final Instant expiresAt;
+	private final Instant staleUntil;
+	private final AtomicBoolean revalidating = new AtomicBoolean(false);
+	
+	public boolean isFresh(final Instant now) {
+		return now.isBefore(this.expiresAt);
+	}
+	
+	public boolean isServableStale(final Instant now) {
+		return !this.isFresh(now) && now.isBefore(this.staleUntil);
+	}
+	
+	public long ageSeconds(final Instant now) {
+		return Math.max(0, now.getEpochSecond() - this.storedAt.getEpochSecond());
+	}
+	
+	public int weight() {
+		return this.body.length;
+	}
+	
+	public CachedResponse refreshed(final Instant now, final Instant expiresAt, final Instant staleUntil) {
+		return new CachedResponse(this.status, this.headers, this.body, this.etag, now, expiresAt, staleUntil);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,41 @@
+package com.selimhorri.app.cache;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@Endpoint(id = "responsecache")
+@RequiredArgsConstructor
+public class ResponseCacheEndpoint {
+	
+	private final ResponseCacheStore responseCacheStore;
+	
+	@ReadOperation
+	public Map<String, Object> stats() {
+		return this.responseCacheStore.stats();
+	}
+	
+	@DeleteOperation
+	public Map<String, Object> purge(@Nullable final String routeId) {
+		final int removed = this.responseCacheStore.purge(routeId == null ? null : routeId + " ");
+		return Map.of("purged", removed);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
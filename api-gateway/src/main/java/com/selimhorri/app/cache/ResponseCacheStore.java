@@ -0,0 +1,116 @@
+package com.selimhorri.app.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded LRU store for full upstream responses, limited both by entry count and by total body bytes.
+ */
+@Slf4j
+public class ResponseCacheStore {
+	
+	private final int maxEntries;
+	private final long maxBytes;
+	private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long currentBytes;
+	
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder staleHits = new LongAdder();
+	private final LongAdder notModified = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	
+	public ResponseCacheStore(final int maxEntries, final long maxBytes) {
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+	}
+	
+	public synchronized Optional<CachedResponse> get(final String key) {
+		return Optional.ofNullable(this.entries.get(key));
+	}
+	
+	public synchronized void put(final String key, final CachedResponse cachedResponse) {
+		if (cachedResponse.weight() > this.maxBytes)
+			return;
+		final var previous = this.entries.put(key, cachedResponse);
+		if (previous != null)
+			this.currentBytes -= previous.weight();
+		this.currentBytes += cachedResponse.weight();
+		this.evictIfNeeded();
+	}
+	
+	public synchronized void replaceIfPresent(final String key, final CachedResponse expected, final CachedResponse replacement) {
+		if (this.entries.get(key) == expected)
+			this.put(key, replacement);
+	}
+	
+	public synchronized int purge(final String keyPrefix) {
+		int removed = 0;
+		final Iterator<Map.Entry<String, CachedResponse>> iterator = this.entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			final var entry = iterator.next();
+			if (keyPrefix == null || entry.getKey().startsWith(keyPrefix)) {
+				this.currentBytes -= entry.getValue().weight();
+				iterator.remove();
+				removed++;
+			}
+		}
+		log.info("*** Integer, response cache; purged {} entries for prefix {} *", removed, keyPrefix);
+		return removed;
+	}
+	
+	public void recordHit() {
+		this.hits.increment();
+	}
+	
+	public void recordStaleHit() {
+		this.staleHits.increment();
+	}
+	
+	public void recordNotModified() {
+		this.notModified.increment();
+	}
+	
+	public void recordMiss() {
+		this.misses.increment();
+	}
+	
+	public synchronized Map<String, Object> stats() {
+		final Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("entries", this.entries.size());
+		stats.put("bytes", this.currentBytes);
+		stats.put("maxEntries", this.maxEntries);
+		stats.put("maxBytes", this.maxBytes);
+		stats.put("hits", this.hits.sum());
+		stats.put("staleHits", this.staleHits.sum());
+		stats.put("notModified", this.notModified.sum());
+		stats.put("misses", this.misses.sum());
+		stats.put("evictions", this.evictions.sum());
+		return stats;
+	}
+	
+	private void evictIfNeeded() {
+		final Iterator<Map.Entry<String, CachedResponse>> iterator = this.entries.entrySet().iterator();
+		while ((this.entries.size() > this.maxEntries || this.currentBytes > this.maxBytes) && iterator.hasNext()) {
+			this.currentBytes -= iterator.next().getValue().weight();
+			iterator.remove();
+			this.evictions.increment();
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.cache.ResponseCacheStore;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+	
+	@Bean
+	public ResponseCacheStore responseCacheStoreBean(final ResponseCacheProperties responseCacheProperties) {
+		return new ResponseCacheStore(responseCacheProperties.getMaxEntries(), responseCacheProperties.getMaxBytes());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.gateway.response-cache")
+public class ResponseCacheProperties {
+	
+	private boolean enabled = true;
+	private int maxEntries = 1000;
+	private long maxBytes = 32L * 1024 * 1024;
+	private long maxEntryBytes = 1024L * 1024;
+	private Duration defaultTtl = Duration.ofSeconds(30);
+	private Duration defaultStaleWhileRevalidate = Duration.ofSeconds(60);
+	
+}
+
+
+
+
+
+
+
+
+
+
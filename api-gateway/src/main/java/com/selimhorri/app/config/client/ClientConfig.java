@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.client;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class ClientConfig {
+	
+	@LoadBalanced
+	@Bean
+	public WebClient.Builder webClientBuilderBean() {
+		return WebClient.builder();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
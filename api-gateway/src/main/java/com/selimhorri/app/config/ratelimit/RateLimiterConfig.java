@@ -0,0 +1,67 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.util.Optional;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.ratelimit.LocalRateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@EnableConfigurationProperties(RateLimiterProperties.class)
+public class RateLimiterConfig {
+	
+	@Primary
+	@Bean
+	public LocalRateLimiter localRateLimiterBean(final RateLimiterProperties rateLimiterProperties,
+			final ConfigurationService configurationService, final MeterRegistry meterRegistry) {
+		return new LocalRateLimiter(rateLimiterProperties, configurationService, meterRegistry);
+	}
+	
+	@Primary
+	@Bean
+	public KeyResolver ipKeyResolver() {
+		return exchange -> Mono.just(clientIp(exchange));
+	}
+	
+	@Bean
+	public KeyResolver routeKeyResolver() {
+		return exchange -> Mono.justOrEmpty(Optional
+				.ofNullable((Route) exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR))
+				.map(Route::getId));
+	}
+	
+	/**
+	 * The gateway is the edge, so the peer address is the client; X-Forwarded-For is client-controlled here and
+	 * would let anyone pick a fresh bucket per request. Behind an ingress or load balancer every client shares
+	 * that hop's address and so one bucket; such a deployment needs a resolver that trusts the ingress's
+	 * forwarded header instead.
+	 */
+	private static String clientIp(final ServerWebExchange exchange) {
+		final var remoteAddress = exchange.getRequest().getRemoteAddress();
+		return remoteAddress != null && remoteAddress.getAddress() != null
+				? remoteAddress.getAddress().getHostAddress()
+				: "unknown";
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.gateway.rate-limiter")
+public class RateLimiterProperties {
+	
+	private int maxKeys = 100_000;
+	private Duration idleEviction = Duration.ofMinutes(5);
+	private int defaultReplenishRate = 50;
+	private int defaultBurstCapacity = 100;
+	private boolean includeHeaders = true;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,50 @@
+package com.selimhorri.app.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.commons.compression.AcceptEncoding;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Collapses the client's Accept-Encoding to the one coding the services produce, gzip or identity. Upstream
+ * bodies are relayed as they arrive, still compressed, and the response cache keeps at most two variants
+ * per resource instead of one per browser header spelling.
+ */
+@Component
+public class AcceptEncodingGlobalFilter implements GlobalFilter, Ordered {
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		final var acceptEncoding = exchange.getRequest().getHeaders().get(HttpHeaders.ACCEPT_ENCODING);
+		if (acceptEncoding == null || acceptEncoding.isEmpty())
+			return chain.filter(exchange);
+		final var coding = AcceptEncoding.acceptsGzip(String.join(",", acceptEncoding))
+				? AcceptEncoding.GZIP
+				: AcceptEncoding.IDENTITY;
+		return chain.filter(exchange.mutate()
+				.request(request -> request.headers(headers -> headers.set(HttpHeaders.ACCEPT_ENCODING, coding)))
+				.build());
+	}
+	
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,338 @@
+package com.selimhorri.app.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.selimhorri.app.cache.CachedResponse;
+import com.selimhorri.app.cache.ResponseCacheStore;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches full upstream GET responses per route, path, query and negotiated representation.
+ * Fresh entries are served without touching the upstream service, expired entries inside the
+ * stale-while-revalidate window are served while a conditional request refreshes them in the background.
+ */
+@Component
+@Slf4j
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+	
+	public static final String CACHE_STATUS_HEADER = "X-Cache";
+	private static final Set<HttpMethod> UNSAFE_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+	private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+			HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.SET_COOKIE,
+			HttpHeaders.CONTENT_LENGTH, "Keep-Alive", CACHE_STATUS_HEADER);
+	
+	private final ResponseCacheStore responseCacheStore;
+	private final ResponseCacheProperties responseCacheProperties;
+	private final WebClient webClient;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	
+	public ResponseCacheGatewayFilterFactory(final ResponseCacheStore responseCacheStore,
+			final ResponseCacheProperties responseCacheProperties, final WebClient.Builder webClientBuilder) {
+		super(Config.class);
+		this.responseCacheStore = responseCacheStore;
+		this.responseCacheProperties = responseCacheProperties;
+		this.webClient = webClientBuilder.build();
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			
+			final var request = exchange.getRequest();
+			final Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+			final var routeId = route != null ? route.getId() : "default";
+			
+			if (!this.responseCacheProperties.isEnabled())
+				return chain.filter(exchange);
+			
+			if (UNSAFE_METHODS.contains(request.getMethod()))
+				return chain.filter(exchange).then(Mono.<Void>fromRunnable(() -> {
+					final var status = exchange.getResponse().getStatusCode();
+					if (status != null && status.is2xxSuccessful())
+						this.responseCacheStore.purge(routeId + " ");
+				}));
+			
+			if (!HttpMethod.GET.equals(request.getMethod())
+					|| request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+					|| !this.matches(config, request.getURI().getRawPath()))
+				return chain.filter(exchange);
+			
+			final var requestDirectives = parseCacheControl(request.getHeaders().getCacheControl());
+			if (requestDirectives.containsKey("no-store"))
+				return chain.filter(exchange);
+			
+			final var key = cacheKey(routeId, request);
+			final var now = Instant.now();
+			
+			if (!requestDirectives.containsKey("no-cache")) {
+				final var cached = this.responseCacheStore.get(key).orElse(null);
+				if (cached != null && cached.isFresh(now)) {
+					this.responseCacheStore.recordHit();
+					return this.serve(exchange, cached, "HIT", now);
+				}
+				if (cached != null && cached.isServableStale(now)) {
+					this.responseCacheStore.recordStaleHit();
+					this.revalidate(key, cached, route, request, config);
+					return this.serve(exchange, cached, "STALE", now);
+				}
+			}
+			
+			this.responseCacheStore.recordMiss();
+			return chain.filter(exchange.mutate()
+					.response(new CachingResponseDecorator(exchange, key, config))
+					.build());
+		}, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+	}
+	
+	private boolean matches(final Config config, final String path) {
+		return config.getPaths().isEmpty() || config.getPaths().stream()
+				.anyMatch(pattern -> this.pathMatcher.match(pattern.strip(), path));
+	}
+	
+	private Mono<Void> serve(final ServerWebExchange exchange, final CachedResponse cached, final String outcome, final Instant now) {
+		
+		final var response = exchange.getResponse();
+		response.getHeaders().putAll(cached.getHeaders());
+		response.getHeaders().set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(now)));
+		response.getHeaders().set(CACHE_STATUS_HEADER, outcome);
+		
+		if (etagMatches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.getEtag())) {
+			this.responseCacheStore.recordNotModified();
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			return response.setComplete();
+		}
+		
+		response.setStatusCode(cached.getStatus());
+		response.getHeaders().setContentLength(cached.getBody().length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+	}
+	
+	private void revalidate(final String key, final CachedResponse cached, final Route route,
+			final ServerHttpRequest request, final Config config) {
+		
+		if (route == null || !cached.getRevalidating().compareAndSet(false, true))
+			return;
+		
+		final var routeUri = route.getUri();
+		final URI target = UriComponentsBuilder.fromUri(routeUri)
+				.scheme("lb".equals(routeUri.getScheme()) ? "http" : routeUri.getScheme())
+				.replacePath(request.getURI().getRawPath())
+				.replaceQuery(request.getURI().getRawQuery())
+				.build(true)
+				.toUri();
+		
+		this.webClient.get()
+				.uri(target)
+				.headers(headers -> {
+					headers.setIfNoneMatch(cached.getEtag());
+					List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING).forEach(name -> {
+						final var values = request.getHeaders().get(name);
+						if (values != null)
+							headers.put(name, values);
+					});
+				})
+				.exchangeToMono(clientResponse -> {
+					if (clientResponse.statusCode() == HttpStatus.NOT_MODIFIED) {
+						final var now = Instant.now();
+						final var directives = parseCacheControl(cached.getHeaders().getCacheControl());
+						final var expiresAt = now.plus(this.ttl(directives, config));
+						this.responseCacheStore.replaceIfPresent(key, cached, cached.refreshed(now,
+								expiresAt, expiresAt.plus(this.staleWhileRevalidate(directives, config))));
+						return clientResponse.releaseBody();
+					}
+					if (clientResponse.statusCode() == HttpStatus.OK)
+						return clientResponse.bodyToMono(byte[].class)
+								.defaultIfEmpty(new byte[0])
+								.doOnNext(body -> this.store(key, HttpStatus.OK,
+										clientResponse.headers().asHttpHeaders(), body, config))
+								.then();
+					return clientResponse.releaseBody();
+				})
+				.doFinally(signal -> cached.getRevalidating().set(false))
+				.subscribe(null, e -> log.warn("*** Void, response cache; revalidation of {} failed: {} *", key, e.getMessage()));
+	}
+	
+	private CachedResponse store(final String key, final HttpStatus status, final HttpHeaders upstreamHeaders,
+			final byte[] body, final Config config) {
+		
+		final var directives = parseCacheControl(upstreamHeaders.getCacheControl());
+		final var headers = new HttpHeaders();
+		upstreamHeaders.forEach((name, values) -> {
+			if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase))
+				headers.put(name, values);
+		});
+		
+		final var etag = upstreamHeaders.getETag() != null ? upstreamHeaders.getETag() : weakEtag(body);
+		headers.setETag(etag);
+		
+		final var now = Instant.now();
+		final var expiresAt = now.plus(this.ttl(directives, config));
+		final var cachedResponse = new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body, etag,
+				now, expiresAt, expiresAt.plus(this.staleWhileRevalidate(directives, config)));
+		
+		if (body.length <= this.responseCacheProperties.getMaxEntryBytes())
+			this.responseCacheStore.put(key, cachedResponse);
+		return cachedResponse;
+	}
+	
+	private Duration ttl(final Map<String, String> directives, final Config config) {
+		final var seconds = directives.containsKey("s-maxage") ? directives.get("s-maxage") : directives.get("max-age");
+		if (seconds != null)
+			return Duration.ofSeconds(parseSeconds(seconds));
+		return config.getTtl() != null ? config.getTtl() : this.responseCacheProperties.getDefaultTtl();
+	}
+	
+	private Duration staleWhileRevalidate(final Map<String, String> directives, final Config config) {
+		final var seconds = directives.get("stale-while-revalidate");
+		if (seconds != null)
+			return Duration.ofSeconds(parseSeconds(seconds));
+		return config.getStaleWhileRevalidate() != null
+				? config.getStaleWhileRevalidate()
+				: this.responseCacheProperties.getDefaultStaleWhileRevalidate();
+	}
+	
+	private static boolean isCacheable(final HttpStatus status, final HttpHeaders headers, final long maxEntryBytes) {
+		final var directives = parseCacheControl(headers.getCacheControl());
+		return status == HttpStatus.OK
+				&& !directives.containsKey("no-store")
+				&& !directives.containsKey("no-cache")
+				&& !directives.containsKey("private")
+				&& !headers.containsKey(HttpHeaders.SET_COOKIE)
+				&& headers.getContentLength() <= maxEntryBytes;
+	}
+	
+	private static String cacheKey(final String routeId, final ServerHttpRequest request) {
+		final var uri = request.getURI();
+		return routeId + " " + uri.getRawPath()
+				+ (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "")
+				+ "|" + String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT))
+				+ "|" + String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING));
+	}
+	
+	static Map<String, String> parseCacheControl(final String cacheControl) {
+		final Map<String, String> directives = new HashMap<>();
+		if (cacheControl == null || cacheControl.isBlank())
+			return directives;
+		for (final var directive : cacheControl.split(",")) {
+			final var parts = directive.strip().split("=", 2);
+			if (!parts[0].isEmpty())
+				directives.put(parts[0].toLowerCase(), parts.length > 1 ? parts[1].replace("\"", "").strip() : "");
+		}
+		return directives;
+	}
+	
+	static boolean etagMatches(final List<String> ifNoneMatch, final String etag) {
+		if (etag == null || ifNoneMatch.isEmpty())
+			return false;
+		final var opaque = stripWeak(etag);
+		return ifNoneMatch.stream()
+				.anyMatch(candidate -> "*".equals(candidate.strip()) || stripWeak(candidate.strip()).equals(opaque));
+	}
+	
+	private static String stripWeak(final String etag) {
+		return etag.startsWith("W/") ? etag.substring(2) : etag;
+	}
+	
+	private static long parseSeconds(final String value) {
+		try {
+			return Math.max(0, Long.parseLong(value));
+		}
+		catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+	
+	private static String weakEtag(final byte[] body) {
+		final var crc = new CRC32();
+		crc.update(body);
+		return "W/\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+	}
+	
+	private final class CachingResponseDecorator extends ServerHttpResponseDecorator {
+		
+		private final String key;
+		private final Config config;
+		
+		CachingResponseDecorator(final ServerWebExchange exchange, final String key, final Config config) {
+			super(exchange.getResponse());
+			this.key = key;
+			this.config = config;
+		}
+		
+		@Override
+		public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+			
+			final var headers = this.getDelegate().getHeaders();
+			headers.set(CACHE_STATUS_HEADER, "MISS");
+			
+			if (!isCacheable(this.getStatusCode(), headers, responseCacheProperties.getMaxEntryBytes()))
+				return super.writeWith(body);
+			
+			return DataBufferUtils.join(Flux.from(body))
+					.defaultIfEmpty(this.bufferFactory().wrap(new byte[0]))
+					.flatMap(joined -> {
+						final var bytes = new byte[joined.readableByteCount()];
+						joined.read(bytes);
+						DataBufferUtils.release(joined);
+						final var cachedResponse = store(this.key, HttpStatus.OK, headers, bytes, this.config);
+						headers.setETag(cachedResponse.getEtag());
+						return super.writeWith(Mono.just(this.bufferFactory().wrap(bytes)));
+					});
+		}
+		
+	}
+	
+	@Data
+	public static class Config {
+		
+		private Duration ttl;
+		private Duration staleWhileRevalidate;
+		private List<String> paths = new ArrayList<>();
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
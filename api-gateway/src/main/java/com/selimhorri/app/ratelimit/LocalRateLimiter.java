@@ -0,0 +1,145 @@
+package com.selimhorri.app.ratelimit;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.selimhorri.app.config.ratelimit.RateLimiterProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory replacement for the Redis backed rate limiter: one lock-free token bucket per route and key.
+ * Buckets live in a bounded Caffeine cache, so a flood of new keys costs amortised O(1) maintenance off the
+ * event loop, idle buckets expire, and under size pressure the frequency-aware policy drops one-off keys
+ * before the busy (and so most likely throttled) ones.
+ */
+@Slf4j
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+	
+	public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+	public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+	
+	private final RateLimiterProperties rateLimiterProperties;
+	private final MeterRegistry meterRegistry;
+	private final Cache<String, TokenBucket> buckets;
+	private final Config defaultConfig;
+	
+	public LocalRateLimiter(final RateLimiterProperties rateLimiterProperties,
+			final ConfigurationService configurationService, final MeterRegistry meterRegistry) {
+		this(rateLimiterProperties, configurationService, meterRegistry, Ticker.systemTicker(), ForkJoinPool.commonPool());
+	}
+	
+	LocalRateLimiter(final RateLimiterProperties rateLimiterProperties, final ConfigurationService configurationService,
+			final MeterRegistry meterRegistry, final Ticker ticker, final Executor executor) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.rateLimiterProperties = rateLimiterProperties;
+		this.meterRegistry = meterRegistry;
+		this.defaultConfig = new Config()
+				.setReplenishRate(rateLimiterProperties.getDefaultReplenishRate())
+				.setBurstCapacity(rateLimiterProperties.getDefaultBurstCapacity());
+		this.buckets = Caffeine.newBuilder()
+				.ticker(ticker)
+				.executor(executor)
+				.maximumSize(rateLimiterProperties.getMaxKeys())
+				.expireAfterAccess(rateLimiterProperties.getIdleEviction())
+				.removalListener((String key, TokenBucket bucket, RemovalCause cause) -> {
+					if (cause.wasEvicted())
+						meterRegistry.counter("gateway.ratelimiter.evictions", "cause", cause.name().toLowerCase(Locale.ROOT))
+								.increment();
+				})
+				.build();
+		meterRegistry.gauge("gateway.ratelimiter.keys", this.buckets, Cache::estimatedSize);
+	}
+	
+	@Override
+	public Mono<Response> isAllowed(final String routeId, final String id) {
+		
+		final var routeConfig = this.getConfig().getOrDefault(routeId, this.defaultConfig);
+		final var burstCapacity = Math.max(routeConfig.getBurstCapacity(), routeConfig.getReplenishRate());
+		final var now = System.nanoTime();
+		
+		final var bucket = this.buckets.get(routeId + ":" + id, key -> new TokenBucket(burstCapacity, now));
+		
+		final var result = bucket.tryConsume(routeConfig.getRequestedTokens(), routeConfig.getReplenishRate(), burstCapacity, now);
+		this.counter(routeId, result.isAllowed()).increment();
+		
+		final Map<String, String> headers = new HashMap<>();
+		if (this.rateLimiterProperties.isIncludeHeaders()) {
+			headers.put(REMAINING_HEADER, String.valueOf(result.getRemainingTokens()));
+			headers.put(REPLENISH_RATE_HEADER, String.valueOf(routeConfig.getReplenishRate()));
+			headers.put(BURST_CAPACITY_HEADER, String.valueOf(burstCapacity));
+		}
+		if (!result.isAllowed()) {
+			headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, result.getRetryAfterSeconds())));
+			log.debug("*** Response, rate limiter; rejected {} on route {} *", id, routeId);
+		}
+		
+		return Mono.just(new Response(result.isAllowed(), headers));
+	}
+	
+	long trackedKeys() {
+		this.buckets.cleanUp();
+		return this.buckets.estimatedSize();
+	}
+	
+	private Counter counter(final String routeId, final boolean allowed) {
+		return this.meterRegistry.counter("gateway.ratelimiter.requests",
+				"route", routeId, "outcome", allowed ? "allowed" : "rejected");
+	}
+	
+	@Data
+	@Validated
+	public static class Config {
+		
+		@Min(1)
+		private int replenishRate;
+		
+		@Min(0)
+		private int burstCapacity;
+		
+		@Min(1)
+		private int requestedTokens = 1;
+		
+		public Config setReplenishRate(final int replenishRate) {
+			this.replenishRate = replenishRate;
+			return this;
+		}
+		
+		public Config setBurstCapacity(final int burstCapacity) {
+			this.burstCapacity = burstCapacity;
+			return this;
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,70 @@
+package com.selimhorri.app.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lock-free token bucket; the whole state is swapped with a single CAS so concurrent requests never block.
+ */
+public final class TokenBucket {
+	
+	private final AtomicReference<State> state;
+	
+	public TokenBucket(final long burstCapacity, final long nowNanos) {
+		this.state = new AtomicReference<>(new State(burstCapacity, nowNanos));
+	}
+	
+	public Result tryConsume(final long requestedTokens, final double replenishRatePerSecond,
+			final long burstCapacity, final long nowNanos) {
+		while (true) {
+			final var current = this.state.get();
+			final var elapsedSeconds = Math.max(0, nowNanos - current.refilledAtNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+			final var available = Math.min(burstCapacity, current.tokens + elapsedSeconds * replenishRatePerSecond);
+			final var allowed = available >= requestedTokens;
+			final var next = new State(allowed ? available - requestedTokens : available, nowNanos);
+			if (this.state.compareAndSet(current, next)) {
+				final long retryAfterSeconds = allowed || replenishRatePerSecond <= 0
+						? 0
+						: (long) Math.ceil((requestedTokens - available) / replenishRatePerSecond);
+				return new Result(allowed, (long) Math.floor(next.tokens), retryAfterSeconds);
+			}
+		}
+	}
+	
+	public long lastTouchedNanos() {
+		return this.state.get().refilledAtNanos;
+	}
+	
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static final class State {
+		
+		private final double tokens;
+		private final long refilledAtNanos;
+		
+	}
+	
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class Result {
+		
+		private final boolean allowed;
+		private final long remainingTokens;
+		private final long retryAfterSeconds;
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,70 @@
+package com.selimhorri.app.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+class ResponseCacheStoreTest {
+
+    @Test
+    void putEvictsLeastRecentlyUsedEntryWhenEntryLimitIsReached() {
+        ResponseCacheStore store = new ResponseCacheStore(2, 1024);
+        store.put("PRODUCT-SERVICE /a", response(10));
+        store.put("PRODUCT-SERVICE /b", response(10));
+        store.get("PRODUCT-SERVICE /a");
+
+        store.put("PRODUCT-SERVICE /c", response(10));
+
+        assertTrue(store.get("PRODUCT-SERVICE /a").isPresent());
+        assertFalse(store.get("PRODUCT-SERVICE /b").isPresent());
+        assertTrue(store.get("PRODUCT-SERVICE /c").isPresent());
+        assertEquals(1L, store.stats().get("evictions"));
+    }
+
+    @Test
+    void putEvictsEntriesWhenByteLimitIsExceeded() {
+        ResponseCacheStore store = new ResponseCacheStore(10, 100);
+        store.put("PRODUCT-SERVICE /a", response(60));
+        store.put("PRODUCT-SERVICE /b", response(60));
+
+        assertFalse(store.get("PRODUCT-SERVICE /a").isPresent());
+        assertEquals(60L, store.stats().get("bytes"));
+    }
+
+    @Test
+    void purgeRemovesOnlyEntriesOfTheGivenRoute() {
+        ResponseCacheStore store = new ResponseCacheStore(10, 1024);
+        store.put("PRODUCT-SERVICE /a", response(10));
+        store.put("USER-SERVICE /a", response(10));
+
+        assertEquals(1, store.purge("PRODUCT-SERVICE "));
+        assertFalse(store.get("PRODUCT-SERVICE /a").isPresent());
+        assertTrue(store.get("USER-SERVICE /a").isPresent());
+    }
+
+    @Test
+    void replaceIfPresentIgnoresEntriesThatChangedMeanwhile() {
+        ResponseCacheStore store = new ResponseCacheStore(10, 1024);
+        CachedResponse original = response(10);
+        CachedResponse newer = response(20);
+        store.put("PRODUCT-SERVICE /a", original);
+        store.put("PRODUCT-SERVICE /a", newer);
+
+        store.replaceIfPresent("PRODUCT-SERVICE /a", original, response(30));
+
+        assertSame(newer, store.get("PRODUCT-SERVICE /a").orElseThrow());
+    }
+
+    private static CachedResponse response(int size) {
+        Instant now = Instant.now();
+        return new CachedResponse(HttpStatus.OK, new HttpHeaders(), new byte[size], "\"etag\"",
+                now, now.plusSeconds(30), now.plusSeconds(90));
+    }
+}
@@ -0,0 +1,175 @@
+package com.selimhorri.app.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.cache.ResponseCacheStore;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import reactor.core.publisher.Mono;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String PRODUCTS = "/product-service/api/products";
+
+    private final Route route = Route.async()
+            .id("PRODUCT-SERVICE")
+            .uri(URI.create("lb://PRODUCT-SERVICE"))
+            .predicate(exchange -> true)
+            .build();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final List<ClientRequest> revalidations = new ArrayList<>();
+    private ClientResponse revalidationResponse;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction(request -> {
+            this.revalidations.add(request);
+            return Mono.just(this.revalidationResponse);
+        });
+        ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(
+                new ResponseCacheStore(100, 1024 * 1024), new ResponseCacheProperties(), webClientBuilder);
+        this.filter = factory.apply(new ResponseCacheGatewayFilterFactory.Config());
+    }
+
+    private GatewayFilterChain upstream(String body, String cacheControl) {
+        return exchange -> {
+            this.upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            if (cacheControl != null)
+                response.getHeaders().setCacheControl(cacheControl);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private GatewayFilterChain upstreamStatus(HttpStatus status) {
+        return exchange -> {
+            this.upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(status);
+            return exchange.getResponse().setComplete();
+        };
+    }
+
+    private MockServerHttpResponse run(MockServerHttpRequest.BaseBuilder<?> request, GatewayFilterChain chain) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, this.route);
+        this.filter.filter(exchange, chain).block();
+        return exchange.getResponse();
+    }
+
+    private MockServerHttpResponse get(GatewayFilterChain chain) {
+        return run(MockServerHttpRequest.get(PRODUCTS).accept(MediaType.APPLICATION_JSON), chain);
+    }
+
+    @Test
+    void servesRepeatedGetsFromCacheWithAnEtag() {
+        MockServerHttpResponse miss = get(upstream("[{\"productId\":1}]", null));
+        MockServerHttpResponse hit = get(upstream("[{\"productId\":2}]", null));
+
+        assertEquals("MISS", miss.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertNotNull(miss.getHeaders().getETag());
+        assertEquals("HIT", hit.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals(miss.getHeaders().getETag(), hit.getHeaders().getETag());
+        assertEquals("[{\"productId\":1}]", hit.getBodyAsString().block());
+        assertEquals(1, this.upstreamCalls.get());
+    }
+
+    @Test
+    void answersMatchingIfNoneMatchWithNotModified() {
+        String etag = get(upstream("[{\"productId\":1}]", null)).getHeaders().getETag();
+
+        MockServerHttpResponse response = run(MockServerHttpRequest.get(PRODUCTS)
+                .accept(MediaType.APPLICATION_JSON)
+                .ifNoneMatch(etag), upstream("[{\"productId\":1}]", null));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("", response.getBodyAsString().defaultIfEmpty("").block());
+        assertEquals(1, this.upstreamCalls.get());
+    }
+
+    @Test
+    void servesStaleEntryWhileRevalidatingInTheBackground() {
+        String etag = get(upstream("[{\"productId\":1}]", "max-age=0, stale-while-revalidate=60"))
+                .getHeaders().getETag();
+        this.revalidationResponse = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+                .header(HttpHeaders.ETAG, "\"v2\"")
+                .body("[{\"productId\":2}]")
+                .build();
+
+        MockServerHttpResponse stale = get(upstream("unused", null));
+        MockServerHttpResponse refreshed = get(upstream("unused", null));
+
+        assertEquals("STALE", stale.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("[{\"productId\":1}]", stale.getBodyAsString().block());
+        assertEquals(1, this.revalidations.size());
+        assertEquals(URI.create("http://PRODUCT-SERVICE" + PRODUCTS), this.revalidations.get(0).url());
+        assertEquals(etag, this.revalidations.get(0).headers().getIfNoneMatch().get(0));
+        assertEquals("HIT", refreshed.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("\"v2\"", refreshed.getHeaders().getETag());
+        assertEquals("[{\"productId\":2}]", refreshed.getBodyAsString().block());
+        assertEquals(1, this.upstreamCalls.get());
+    }
+
+    @Test
+    void purgesTheRouteAfterASuccessfulWrite() {
+        get(upstream("[{\"productId\":1}]", null));
+
+        run(MockServerHttpRequest.post(PRODUCTS), upstreamStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+        MockServerHttpResponse afterFailedWrite = get(upstream("[{\"productId\":2}]", null));
+        run(MockServerHttpRequest.put(PRODUCTS + "/1"), upstreamStatus(HttpStatus.OK));
+        MockServerHttpResponse afterWrite = get(upstream("[{\"productId\":2}]", null));
+
+        assertEquals("HIT", afterFailedWrite.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("MISS", afterWrite.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("[{\"productId\":2}]", afterWrite.getBodyAsString().block());
+        assertEquals(4, this.upstreamCalls.get());
+    }
+
+    @Test
+    void keysEntriesByAcceptAndAcceptEncoding() {
+        get(upstream("[{\"productId\":1}]", null));
+
+        MockServerHttpResponse otherAccept = run(MockServerHttpRequest.get(PRODUCTS)
+                .accept(MediaType.APPLICATION_XML), upstream("<products/>", null));
+        MockServerHttpResponse otherEncoding = run(MockServerHttpRequest.get(PRODUCTS)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"), upstream("[{\"productId\":1}]", null));
+        MockServerHttpResponse sameRepresentation = get(upstream("[{\"productId\":3}]", null));
+
+        assertEquals("MISS", otherAccept.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("<products/>", otherAccept.getBodyAsString().block());
+        assertEquals("MISS", otherEncoding.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("HIT", sameRepresentation.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("[{\"productId\":1}]", sameRepresentation.getBodyAsString().block());
+        assertEquals(3, this.upstreamCalls.get());
+    }
+
+}
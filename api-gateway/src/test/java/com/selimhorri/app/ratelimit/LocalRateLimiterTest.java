@@ -0,0 +1,102 @@
+package com.selimhorri.app.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+
+import com.selimhorri.app.config.ratelimit.RateLimiterProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LocalRateLimiterTest {
+
+    private static final String ROUTE = "PRODUCT-SERVICE";
+
+    private final AtomicLong ticker = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiterProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.properties = new RateLimiterProperties();
+        this.properties.setDefaultReplenishRate(1);
+        this.properties.setDefaultBurstCapacity(2);
+    }
+
+    @Test
+    void isAllowedRejectsOnceTheBurstIsSpentWithRetryAfter() {
+        LocalRateLimiter rateLimiter = rateLimiter();
+
+        assertTrue(rateLimiter.isAllowed(ROUTE, "10.0.0.1").block().isAllowed());
+        assertTrue(rateLimiter.isAllowed(ROUTE, "10.0.0.1").block().isAllowed());
+        Response rejected = rateLimiter.isAllowed(ROUTE, "10.0.0.1").block();
+
+        assertFalse(rejected.isAllowed());
+        assertEquals("1", rejected.getHeaders().get(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, this.meterRegistry.counter("gateway.ratelimiter.requests",
+                "route", ROUTE, "outcome", "rejected").count());
+        // a different key has its own bucket
+        assertTrue(rateLimiter.isAllowed(ROUTE, "10.0.0.2").block().isAllowed());
+    }
+
+    @Test
+    void isAllowedReportsRateLimitHeaders() {
+        Response response = rateLimiter().isAllowed(ROUTE, "10.0.0.1").block();
+
+        assertEquals("1", response.getHeaders().get(LocalRateLimiter.REMAINING_HEADER));
+        assertEquals("1", response.getHeaders().get(LocalRateLimiter.REPLENISH_RATE_HEADER));
+        assertEquals("2", response.getHeaders().get(LocalRateLimiter.BURST_CAPACITY_HEADER));
+        assertNull(response.getHeaders().get(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void isAllowedOmitsHeadersWhenDisabled() {
+        this.properties.setIncludeHeaders(false);
+
+        assertTrue(rateLimiter().isAllowed(ROUTE, "10.0.0.1").block().getHeaders().isEmpty());
+    }
+
+    @Test
+    void idleBucketsExpire() {
+        this.properties.setIdleEviction(Duration.ofMinutes(5));
+        LocalRateLimiter rateLimiter = rateLimiter();
+        rateLimiter.isAllowed(ROUTE, "10.0.0.1").block();
+        assertEquals(1L, rateLimiter.trackedKeys());
+
+        this.ticker.addAndGet(TimeUnit.MINUTES.toNanos(6));
+
+        assertEquals(0L, rateLimiter.trackedKeys());
+        assertEquals(1.0, this.meterRegistry.counter("gateway.ratelimiter.evictions", "cause", "expired").count());
+    }
+
+    @Test
+    void trackedKeysStayBoundedUnderAFloodOfNewKeys() {
+        this.properties.setMaxKeys(100);
+        LocalRateLimiter rateLimiter = rateLimiter();
+
+        for (int i = 0; i < 10_000; i++)
+            rateLimiter.isAllowed(ROUTE, "2001:db8::" + Integer.toHexString(i)).block();
+
+        assertTrue(rateLimiter.trackedKeys() <= 100);
+        assertTrue(this.meterRegistry.counter("gateway.ratelimiter.evictions", "cause", "size").count() > 0);
+    }
+
+    private LocalRateLimiter rateLimiter() {
+        return new LocalRateLimiter(this.properties, mock(ConfigurationService.class), this.meterRegistry,
+                this.ticker::get, Runnable::run);
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.selimhorri.app.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long START = 1_000L;
+
+    @Test
+    void tryConsumeRejectsOnceBurstCapacityIsExhausted() {
+        TokenBucket bucket = new TokenBucket(2, START);
+
+        assertTrue(bucket.tryConsume(1, 1, 2, START).isAllowed());
+        assertTrue(bucket.tryConsume(1, 1, 2, START).isAllowed());
+        TokenBucket.Result rejected = bucket.tryConsume(1, 1, 2, START);
+
+        assertFalse(rejected.isAllowed());
+        assertEquals(0L, rejected.getRemainingTokens());
+        assertEquals(1L, rejected.getRetryAfterSeconds());
+    }
+
+    @Test
+    void tryConsumeRefillsAtReplenishRateUpToBurstCapacity() {
+        TokenBucket bucket = new TokenBucket(5, START);
+        for (int i = 0; i < 5; i++)
+            bucket.tryConsume(1, 2, 5, START);
+
+        long twoSecondsLater = START + TimeUnit.SECONDS.toNanos(2);
+        TokenBucket.Result refilled = bucket.tryConsume(1, 2, 5, twoSecondsLater);
+        assertTrue(refilled.isAllowed());
+        assertEquals(3L, refilled.getRemainingTokens());
+
+        long muchLater = twoSecondsLater + TimeUnit.MINUTES.toNanos(1);
+        assertEquals(4L, bucket.tryConsume(1, 2, 5, muchLater).getRemainingTokens());
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.selimhorri.app.environment;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Native repository that keeps resolved environments in memory until a file under the search locations
+ * changes. Resolving a native environment boots a throwaway SpringApplication, which is what made fleet
+ * restarts expensive; concurrent misses for the same key share a single load.
+ */
+@Slf4j
+public class CachingNativeEnvironmentRepository extends NativeEnvironmentRepository {
+	
+	private final EnvironmentCacheProperties cacheProperties;
+	private final SearchLocationFingerprint searchLocationFingerprint = new SearchLocationFingerprint();
+	private final Map<CacheKey, CompletableFuture<Environment>> environments = new ConcurrentHashMap<>();
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter invalidations;
+	private final String instanceId = Long.toHexString(System.currentTimeMillis());
+	private final AtomicLong generation = new AtomicLong();
+	private volatile long fingerprint;
+	private volatile long lastCheckNanos;
+	
+	public CachingNativeEnvironmentRepository(final ConfigurableEnvironment environment, final NativeEnvironmentProperties properties,
+			final EnvironmentCacheProperties cacheProperties, final MeterRegistry meterRegistry) {
+		super(environment, properties);
+		this.cacheProperties = cacheProperties;
+		this.fingerprint = this.searchLocationFingerprint.compute(this.getSearchLocations());
+		this.lastCheckNanos = System.nanoTime();
+		this.hits = meterRegistry.counter("config.environment.cache.requests", "result", "hit");
+		this.misses = meterRegistry.counter("config.environment.cache.requests", "result", "miss");
+		this.invalidations = meterRegistry.counter("config.environment.cache.invalidations");
+		Gauge.builder("config.environment.cache.size", this.environments, Map::size)
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public Environment findOne(final String config, final String profile, final String label, final boolean includeOrigin) {
+		this.invalidateIfChanged();
+		final var key = new CacheKey(config, profile, label, includeOrigin);
+		final var loading = new CompletableFuture<Environment>();
+		final var existing = this.environments.putIfAbsent(key, loading);
+		if (existing != null) {
+			this.hits.increment();
+			return copyOf(join(existing));
+		}
+		
+		this.misses.increment();
+		if (this.environments.size() > this.cacheProperties.getMaxEntries())
+			this.evictAllExcept(key);
+		try {
+			final var environment = super.findOne(config, profile, label, includeOrigin);
+			loading.complete(environment);
+			return copyOf(environment);
+		}
+		catch (RuntimeException e) {
+			this.environments.remove(key, loading);
+			loading.completeExceptionally(e);
+			throw e;
+		}
+	}
+	
+	public void invalidate() {
+		this.environments.clear();
+		this.generation.incrementAndGet();
+		this.invalidations.increment();
+	}
+	
+	/**
+	 * Changes whenever the cached environments are dropped, and across restarts, so it can stand in for a hash of
+	 * any response rendered from the search locations without rendering it.
+	 */
+	public String version() {
+		this.invalidateIfChanged();
+		return this.instanceId + "-" + this.generation.get();
+	}
+	
+	private void invalidateIfChanged() {
+		final var now = System.nanoTime();
+		if (now - this.lastCheckNanos < this.cacheProperties.getCheckInterval().toNanos())
+			return;
+		this.lastCheckNanos = now;
+		final var current = this.searchLocationFingerprint.compute(this.getSearchLocations());
+		if (current != this.fingerprint) {
+			this.fingerprint = current;
+			log.info("*** Config files changed under {}, dropping {} cached environments *",
+					String.join(",", this.getSearchLocations()), this.environments.size());
+			this.invalidate();
+		}
+	}
+	
+	private void evictAllExcept(final CacheKey key) {
+		this.environments.keySet().removeIf(cached -> !cached.equals(key));
+	}
+	
+	private static Environment join(final CompletableFuture<Environment> environment) {
+		try {
+			return environment.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Callers such as the composite and encrypting repositories build on the returned instance, so every
+	 * request gets its own shell around the shared property sources.
+	 */
+	private static Environment copyOf(final Environment cached) {
+		final var copy = new Environment(cached.getName(), cached.getProfiles(), cached.getLabel(),
+				cached.getVersion(), cached.getState());
+		copy.addAll(cached.getPropertySources());
+		return copy;
+	}
+	
+	@Value
+	private static class CacheKey {
+		String application;
+		String profile;
+		String label;
+		boolean includeOrigin;
+	}
+	
+}
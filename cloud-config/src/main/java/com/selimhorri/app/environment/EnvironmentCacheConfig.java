@@ -0,0 +1,51 @@
+package com.selimhorri.app.environment;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "app.config.environment-cache.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(EnvironmentCacheProperties.class)
+public class EnvironmentCacheConfig {
+	
+	/**
+	 * Swaps the native repository for its caching subclass, keeping the bean's type so the search path locator
+	 * and resource endpoints keep working.
+	 */
+	@Bean
+	public static BeanPostProcessor cachingNativeEnvironmentRepositoryPostProcessor(final ObjectProvider<ConfigurableEnvironment> environment,
+			final ObjectProvider<NativeEnvironmentProperties> nativeEnvironmentProperties,
+			final ObjectProvider<EnvironmentCacheProperties> environmentCacheProperties,
+			final ObjectProvider<MeterRegistry> meterRegistry) {
+		return new BeanPostProcessor() {
+			
+			@Override
+			public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+				if (!(bean instanceof NativeEnvironmentRepository) || bean instanceof CachingNativeEnvironmentRepository)
+					return bean;
+				return new CachingNativeEnvironmentRepository(environment.getObject(), nativeEnvironmentProperties.getObject(),
+						environmentCacheProperties.getObject(), meterRegistry.getObject());
+			}
+			
+		};
+	}
+	
+	@Bean
+	public FilterRegistrationBean<EnvironmentEtagFilter> environmentEtagFilter(
+			final ObjectProvider<NativeEnvironmentRepository> nativeEnvironmentRepository) {
+		final var registration = new FilterRegistrationBean<>(new EnvironmentEtagFilter(nativeEnvironmentRepository));
+		registration.addUrlPatterns("/*");
+		return registration;
+	}
+	
+}
@@ -0,0 +1,21 @@
+package com.selimhorri.app.environment;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.config.environment-cache")
+public class EnvironmentCacheProperties {
+	
+	private boolean enabled = true;
+	
+	/**
+	 * How often the search locations are re-scanned for changes; zero checks on every request.
+	 */
+	private Duration checkInterval = Duration.ofSeconds(2);
+	private int maxEntries = 256;
+	
+}
@@ -0,0 +1,55 @@
+package com.selimhorri.app.environment;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Adds ETags to config server responses so clients sending {@code If-None-Match} get a bodiless 304 when
+ * nothing changed. With the caching native repository the ETag is its version, so a 304 is answered before
+ * anything is resolved or rendered; other backends fall back to hashing the rendered body. Actuator responses
+ * are left alone.
+ */
+public class EnvironmentEtagFilter extends ShallowEtagHeaderFilter {
+	
+	private final ObjectProvider<NativeEnvironmentRepository> nativeEnvironmentRepository;
+	
+	public EnvironmentEtagFilter(final ObjectProvider<NativeEnvironmentRepository> nativeEnvironmentRepository) {
+		this.nativeEnvironmentRepository = nativeEnvironmentRepository;
+	}
+	
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		final var path = request.getRequestURI().substring(request.getContextPath().length());
+		return path.startsWith("/actuator") || "/".equals(path) || path.isEmpty();
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		final var repository = this.nativeEnvironmentRepository.getIfAvailable();
+		if (!(repository instanceof CachingNativeEnvironmentRepository) || !HttpMethod.GET.matches(request.getMethod())) {
+			super.doFilterInternal(request, response, filterChain);
+			return;
+		}
+		
+		// the same path renders differently per Accept header, so each representation gets its own tag
+		final var etag = String.format("\"%s-%x\"", ((CachingNativeEnvironmentRepository) repository).version(),
+				Objects.hashCode(request.getHeader(HttpHeaders.ACCEPT)));
+		if (new ServletWebRequest(request, response).checkNotModified(etag))
+			return;
+		filterChain.doFilter(request, response);
+	}
+	
+}
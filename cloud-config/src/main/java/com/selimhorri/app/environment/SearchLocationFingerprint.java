@@ -0,0 +1,69 @@
+package com.selimhorri.app.environment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Cheap change detection for native search locations: hashes path, size and modification time of every file
+ * below each {@code file:} location. Polling is used instead of a WatchService because Kubernetes ConfigMap
+ * mounts are swapped through symlinks, which watch events do not reliably report.
+ */
+class SearchLocationFingerprint {
+	
+	private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+	
+	long compute(final String[] searchLocations) {
+		long fingerprint = 17L;
+		if (searchLocations == null)
+			return fingerprint;
+		for (final String location : searchLocations) {
+			final var directory = this.resolveDirectory(location);
+			if (directory != null)
+				fingerprint = 31L * fingerprint + this.hashTree(directory);
+		}
+		return fingerprint;
+	}
+	
+	private Path resolveDirectory(final String location) {
+		if (location == null || !location.startsWith("file:"))
+			return null;
+		// placeholders such as {application} or {label} are resolved per request, so watch their parent
+		final var placeholder = location.indexOf('{');
+		final var base = placeholder < 0 ? location : location.substring(0, placeholder);
+		try {
+			final var path = this.resourceLoader.getResource(base).getFile().toPath();
+			return Files.exists(path) ? path : null;
+		}
+		catch (IOException e) {
+			return null;
+		}
+	}
+	
+	private long hashTree(final Path directory) {
+		try (Stream<Path> files = Files.walk(directory)) {
+			return files.filter(Files::isRegularFile)
+					.mapToLong(this::hashFile)
+					.sum();
+		}
+		catch (IOException | UncheckedIOException e) {
+			// a file vanished mid-walk: report a change so the next request reloads
+			return System.nanoTime();
+		}
+	}
+	
+	private long hashFile(final Path file) {
+		try {
+			return 31L * (31L * file.toString().hashCode() + Files.getLastModifiedTime(file).toMillis()) + Files.size(file);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+}
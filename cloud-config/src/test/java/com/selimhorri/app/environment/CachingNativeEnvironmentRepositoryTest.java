@@ -0,0 +1,103 @@
+package com.selimhorri.app.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
+import org.springframework.core.env.StandardEnvironment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingNativeEnvironmentRepositoryTest {
+
+    @TempDir
+    Path configRepo;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingNativeEnvironmentRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        writeConfig("app.message: first\n");
+        NativeEnvironmentProperties nativeProperties = new NativeEnvironmentProperties();
+        nativeProperties.setSearchLocations(new String[] { this.configRepo.toUri().toString() });
+        EnvironmentCacheProperties cacheProperties = new EnvironmentCacheProperties();
+        cacheProperties.setCheckInterval(Duration.ZERO);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.repository = new CachingNativeEnvironmentRepository(new StandardEnvironment(), nativeProperties,
+                cacheProperties, this.meterRegistry);
+    }
+
+    @Test
+    void findOne_ServesRepeatedLookupsFromCache() {
+        Environment first = this.repository.findOne("product-service", "dev", null);
+        Environment second = this.repository.findOne("product-service", "dev", null);
+
+        assertEquals("first", message(first));
+        assertEquals("first", message(second));
+        assertEquals(1.0, requests("miss"));
+        assertEquals(1.0, requests("hit"));
+    }
+
+    @Test
+    void findOne_ReloadsWhenConfigFileChanges() throws IOException {
+        assertEquals("first", message(this.repository.findOne("product-service", "dev", null)));
+
+        Path file = writeConfig("app.message: second\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+
+        assertEquals("second", message(this.repository.findOne("product-service", "dev", null)));
+        assertEquals(2.0, requests("miss"));
+        assertEquals(1.0, this.meterRegistry.counter("config.environment.cache.invalidations").count());
+    }
+
+    @Test
+    void findOne_KeysCacheByProfile() {
+        this.repository.findOne("product-service", "dev", null);
+        this.repository.findOne("product-service", "prod", null);
+
+        assertEquals(2.0, requests("miss"));
+        assertEquals(0.0, requests("hit"));
+    }
+
+    @Test
+    void version_ChangesOnlyWhenConfigFilesChange() throws IOException {
+        String initial = this.repository.version();
+        this.repository.findOne("product-service", "dev", null);
+
+        assertEquals(initial, this.repository.version());
+
+        Path file = writeConfig("app.message: second\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+
+        assertNotEquals(initial, this.repository.version());
+    }
+
+    private Path writeConfig(String content) throws IOException {
+        return Files.writeString(this.configRepo.resolve("product-service.yml"), content);
+    }
+
+    private double requests(String result) {
+        return this.meterRegistry.counter("config.environment.cache.requests", "result", result).count();
+    }
+
+    private static Object message(Environment environment) {
+        return environment.getPropertySources().stream()
+                .filter(source -> source.getSource().containsKey("app.message"))
+                .findFirst()
+                .map(source -> source.getSource().get("app.message"))
+                .orElse(null);
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.selimhorri.app.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.FilterChain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EnvironmentEtagFilterTest {
+
+    @TempDir
+    Path configRepo;
+
+    private final AtomicInteger rendered = new AtomicInteger();
+    private final FilterChain renderingChain = (request, response) -> {
+        this.rendered.incrementAndGet();
+        response.setContentType("application/json");
+        response.getOutputStream().write("{\"name\":\"product-service\"}".getBytes(StandardCharsets.UTF_8));
+    };
+    private EnvironmentEtagFilter filter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        writeConfig("app.message: first\n");
+        NativeEnvironmentProperties nativeProperties = new NativeEnvironmentProperties();
+        nativeProperties.setSearchLocations(new String[] { this.configRepo.toUri().toString() });
+        EnvironmentCacheProperties cacheProperties = new EnvironmentCacheProperties();
+        cacheProperties.setCheckInterval(Duration.ZERO);
+        CachingNativeEnvironmentRepository repository = new CachingNativeEnvironmentRepository(new StandardEnvironment(),
+                nativeProperties, cacheProperties, new SimpleMeterRegistry());
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("nativeEnvironmentRepository", repository));
+        this.filter = new EnvironmentEtagFilter(beanFactory.getBeanProvider(NativeEnvironmentRepository.class));
+    }
+
+    @Test
+    void answersMatchingEtagWithoutRendering() throws Exception {
+        MockHttpServletResponse first = get(null);
+        String etag = first.getHeader("ETag");
+
+        MockHttpServletResponse second = get(etag);
+
+        assertNotNull(etag);
+        assertEquals(200, first.getStatus());
+        assertEquals(304, second.getStatus());
+        assertEquals(0, second.getContentLength());
+        assertEquals(1, this.rendered.get());
+    }
+
+    @Test
+    void rendersAgainOnceConfigFilesChange() throws Exception {
+        String etag = get(null).getHeader("ETag");
+
+        Path file = writeConfig("app.message: second\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+        MockHttpServletResponse response = get(etag);
+
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeader("ETag"));
+        assertEquals(2, this.rendered.get());
+    }
+
+    @Test
+    void tagsEachAcceptHeaderSeparately() throws Exception {
+        String etag = get(null).getHeader("ETag");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/product-service/dev");
+        request.addHeader("Accept", "application/vnd.spring-cloud.config-server.v2+json");
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(request, response, this.renderingChain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(2, this.rendered.get());
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/product-service/dev");
+        if (ifNoneMatch != null)
+            request.addHeader("If-None-Match", ifNoneMatch);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(request, response, this.renderingChain);
+        return response;
+    }
+
+    private Path writeConfig(String content) throws IOException {
+        return Files.writeString(this.configRepo.resolve("product-service.yml"), content);
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.selimhorri.app.commons.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Small in-process LRU cache with per-entry expiry that also remembers misses (negative caching), so repeated
+ * lookups of unknown keys do not reach the database either. Meters follow Micrometer's cache conventions:
+ * {@code cache.gets{cache, result=hit|miss}} and {@code cache.size{cache}}.
+ */
+public class LocalCache<K, V> {
+	
+	private final long ttlNanos;
+	private final long negativeTtlNanos;
+	private final LongSupplier nanoClock;
+	private final Map<K, Entry<V>> entries;
+	private final Counter hits;
+	private final Counter misses;
+	
+	public LocalCache(final String name, final LocalCacheProperties localCacheProperties, final MeterRegistry meterRegistry) {
+		this(name, localCacheProperties, meterRegistry, System::nanoTime);
+	}
+	
+	LocalCache(final String name, final LocalCacheProperties localCacheProperties, final MeterRegistry meterRegistry,
+			final LongSupplier nanoClock) {
+		final var maxSize = Math.max(1, localCacheProperties.getMaxSize());
+		this.ttlNanos = localCacheProperties.getTtl().toNanos();
+		this.negativeTtlNanos = localCacheProperties.getNegativeTtl().toNanos();
+		this.nanoClock = nanoClock;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+				return this.size() > maxSize;
+			}
+		};
+		this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+		Gauge.builder("cache.size", this, LocalCache::size).tag("cache", name).register(meterRegistry);
+	}
+	
+	/**
+	 * Returns the cached value, or loads it outside the lock and caches the result, including an empty one.
+	 */
+	public Optional<V> get(final K key, final Function<K, Optional<V>> loader) {
+		synchronized (this.entries) {
+			final var entry = this.entries.get(key);
+			if (entry != null && entry.expiresAtNanos - this.nanoClock.getAsLong() > 0) {
+				this.hits.increment();
+				return Optional.ofNullable(entry.value);
+			}
+		}
+		this.misses.increment();
+		final var loaded = loader.apply(key);
+		final var ttl = loaded.isPresent() ? this.ttlNanos : this.negativeTtlNanos;
+		if (ttl > 0) {
+			synchronized (this.entries) {
+				this.entries.put(key, new Entry<>(loaded.orElse(null), this.nanoClock.getAsLong() + ttl));
+			}
+		}
+		return loaded;
+	}
+	
+	public void invalidate(final K key) {
+		synchronized (this.entries) {
+			this.entries.remove(key);
+		}
+	}
+	
+	/**
+	 * Drops every cached (non-empty) value matching the predicate; meant for writes that do not know the key.
+	 */
+	public void invalidateIf(final Predicate<V> predicate) {
+		synchronized (this.entries) {
+			this.entries.values().removeIf(entry -> entry.value != null && predicate.test(entry.value));
+		}
+	}
+	
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+	
+	private static final class Entry<V> {
+		
+		private final V value;
+		private final long expiresAtNanos;
+		
+		private Entry(final V value, final long expiresAtNanos) {
+			this.value = value;
+			this.expiresAtNanos = expiresAtNanos;
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,30 @@
+package com.selimhorri.app.commons.cache;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * Settings of one {@link LocalCache}; each service binds its own instance under {@code app.cache.<name>}.
+ */
+@Data
+public class LocalCacheProperties {
+	
+	private int maxSize = 10_000;
+	private Duration ttl = Duration.ofMinutes(10);
+	/**
+	 * How long a miss is remembered. Kept short, since other instances will not see a new row until it lapses.
+	 */
+	private Duration negativeTtl = Duration.ofSeconds(10);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,53 @@
+package com.selimhorri.app.commons.compression;
+
+import java.util.Locale;
+
+/**
+ * Accept-Encoding parsing shared by the servlet compression filter and the gateway.
+ */
+public final class AcceptEncoding {
+	
+	public static final String GZIP = "gzip";
+	public static final String IDENTITY = "identity";
+	
+	private AcceptEncoding() {
+		
+	}
+	
+	public static boolean acceptsGzip(final String acceptEncoding) {
+		if (acceptEncoding == null || acceptEncoding.isBlank())
+			return false;
+		for (final var coding : acceptEncoding.split(",")) {
+			final var parts = coding.split(";");
+			final var name = parts[0].strip().toLowerCase(Locale.ROOT);
+			if (!GZIP.equals(name) && !"*".equals(name))
+				continue;
+			var accepted = true;
+			for (int i = 1; i < parts.length; i++) {
+				final var parameter = parts[i].strip();
+				if (parameter.startsWith("q=")) {
+					try {
+						accepted = Double.parseDouble(parameter.substring(2)) > 0;
+					}
+					catch (NumberFormatException e) {
+						accepted = false;
+					}
+				}
+			}
+			if (accepted)
+				return true;
+		}
+		return false;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,360 @@
+package com.selimhorri.app.commons.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Holds back the first {@code minResponseSize} bytes; once they are exceeded the response switches to gzip and
+ * streams from then on, otherwise the small body is written as-is on {@link #finish()}. Content-Length set by the
+ * application is deferred until that decision is made, because it no longer holds once the body is compressed.
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+	
+	@FunctionalInterface
+	interface CpuTimeSource {
+		long nanos();
+	}
+	
+	private enum State { UNDECIDED, COMPRESSING, PASSTHROUGH }
+	
+	private final CompressionProperties compressionProperties;
+	private final CpuTimeSource cpuTimeSource;
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+	private State state = State.UNDECIDED;
+	private long declaredContentLength = -1L;
+	private OutputStream target;
+	private CountingOutputStream compressedCounter;
+	private ServletOutputStream outputStream;
+	private PrintWriter writer;
+	private long originalBytes;
+	private long compressionNanos;
+	
+	CompressingResponseWrapper(final HttpServletResponse response, final CompressionProperties compressionProperties,
+			final CpuTimeSource cpuTimeSource) {
+		super(response);
+		this.compressionProperties = compressionProperties;
+		this.cpuTimeSource = cpuTimeSource;
+	}
+	
+	boolean isCompressed() {
+		return this.state == State.COMPRESSING;
+	}
+	
+	long getOriginalBytes() {
+		return this.originalBytes;
+	}
+	
+	long getCompressedBytes() {
+		return this.compressedCounter == null ? 0L : this.compressedCounter.count;
+	}
+	
+	long getCompressionNanos() {
+		return this.compressionNanos;
+	}
+	
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (this.writer != null)
+			throw new IllegalStateException("getWriter() has already been called for this response");
+		if (this.outputStream == null)
+			this.outputStream = new BufferingServletOutputStream();
+		return this.outputStream;
+	}
+	
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (this.outputStream != null && this.writer == null)
+			throw new IllegalStateException("getOutputStream() has already been called for this response");
+		if (this.writer == null) {
+			this.outputStream = new BufferingServletOutputStream();
+			this.writer = new PrintWriter(new OutputStreamWriter(this.outputStream, this.getCharacterEncoding()));
+		}
+		return this.writer;
+	}
+	
+	@Override
+	public void setContentLength(final int length) {
+		this.setContentLengthLong(length);
+	}
+	
+	@Override
+	public void setContentLengthLong(final long length) {
+		if (this.state == State.UNDECIDED)
+			this.declaredContentLength = length;
+		else if (this.state == State.PASSTHROUGH)
+			super.setContentLengthLong(length);
+	}
+	
+	@Override
+	public void setHeader(final String name, final String value) {
+		if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name))
+			this.setContentLengthLong(Long.parseLong(value));
+		else
+			super.setHeader(name, value);
+	}
+	
+	@Override
+	public void addHeader(final String name, final String value) {
+		if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name))
+			this.setContentLengthLong(Long.parseLong(value));
+		else
+			super.addHeader(name, value);
+	}
+	
+	@Override
+	public void setIntHeader(final String name, final int value) {
+		if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name))
+			this.setContentLengthLong(value);
+		else
+			super.setIntHeader(name, value);
+	}
+	
+	@Override
+	public void addIntHeader(final String name, final int value) {
+		if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name))
+			this.setContentLengthLong(value);
+		else
+			super.addIntHeader(name, value);
+	}
+	
+	@Override
+	public void flushBuffer() throws IOException {
+		this.flushPending();
+		if (this.state != State.UNDECIDED)
+			super.flushBuffer();
+	}
+	
+	@Override
+	public void resetBuffer() {
+		super.resetBuffer();
+		if (this.state == State.UNDECIDED)
+			this.pending.reset();
+	}
+	
+	@Override
+	public void reset() {
+		super.reset();
+		if (this.state == State.UNDECIDED) {
+			this.pending.reset();
+			this.declaredContentLength = -1L;
+		}
+	}
+	
+	@Override
+	public void sendError(final int sc) throws IOException {
+		this.pending.reset();
+		this.state = State.PASSTHROUGH;
+		super.sendError(sc);
+	}
+	
+	@Override
+	public void sendError(final int sc, final String msg) throws IOException {
+		this.pending.reset();
+		this.state = State.PASSTHROUGH;
+		super.sendError(sc, msg);
+	}
+	
+	@Override
+	public void sendRedirect(final String location) throws IOException {
+		this.pending.reset();
+		this.state = State.PASSTHROUGH;
+		super.sendRedirect(location);
+	}
+	
+	/**
+	 * Writes out whatever is still held back and completes the gzip stream.
+	 */
+	void finish() throws IOException {
+		if (this.writer != null)
+			this.writer.flush();
+		if (this.state == State.UNDECIDED) {
+			this.state = State.PASSTHROUGH;
+			if (this.pending.size() > 0) {
+				super.setContentLengthLong(this.pending.size());
+				this.pending.writeTo(this.target());
+				this.pending.reset();
+			}
+			else if (this.declaredContentLength >= 0)
+				super.setContentLengthLong(this.declaredContentLength);
+		}
+		else if (this.state == State.COMPRESSING) {
+			final var start = this.cpuTimeSource.nanos();
+			((GZIPOutputStream) this.target).finish();
+			this.compressionNanos += this.cpuTimeSource.nanos() - start;
+		}
+	}
+	
+	private void write(final byte[] bytes, final int offset, final int length) throws IOException {
+		this.originalBytes += length;
+		if (this.state == State.UNDECIDED) {
+			this.pending.write(bytes, offset, length);
+			if (this.pending.size() >= this.compressionProperties.getMinResponseSize())
+				this.decide();
+			return;
+		}
+		this.writeToTarget(bytes, offset, length);
+	}
+	
+	private void writeToTarget(final byte[] bytes, final int offset, final int length) throws IOException {
+		if (this.state == State.COMPRESSING) {
+			final var start = this.cpuTimeSource.nanos();
+			this.target.write(bytes, offset, length);
+			this.compressionNanos += this.cpuTimeSource.nanos() - start;
+		}
+		else
+			this.target().write(bytes, offset, length);
+	}
+	
+	private ServletOutputStream underlying() {
+		try {
+			return super.getOutputStream();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private OutputStream target() throws IOException {
+		if (this.target == null)
+			this.target = super.getOutputStream();
+		return this.target;
+	}
+	
+	/**
+	 * Only a flush of a body that will not be compressed anyway forces the decision early; for compressible
+	 * content a flush is treated as a hint so that the threshold still applies.
+	 */
+	private void flushPending() throws IOException {
+		if (this.state == State.UNDECIDED && !this.isCompressible())
+			this.decide();
+		if (this.state != State.UNDECIDED)
+			this.target().flush();
+	}
+	
+	private void decide() throws IOException {
+		if (this.isCompressible()) {
+			this.state = State.COMPRESSING;
+			super.setHeader(HttpHeaders.CONTENT_ENCODING, AcceptEncoding.GZIP);
+			super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			this.compressedCounter = new CountingOutputStream(super.getOutputStream());
+			final var level = this.compressionProperties.getLevel();
+			this.target = new GZIPOutputStream(this.compressedCounter, 8192, true) {
+				{
+					this.def.setLevel(level);
+				}
+			};
+		}
+		else {
+			this.state = State.PASSTHROUGH;
+			if (this.declaredContentLength >= 0)
+				super.setContentLengthLong(this.declaredContentLength);
+		}
+		final var held = this.pending.toByteArray();
+		this.pending.reset();
+		this.writeToTarget(held, 0, held.length);
+	}
+	
+	private boolean isCompressible() {
+		final var status = this.getStatus();
+		if (status < 200 || status == SC_NO_CONTENT || status == SC_NOT_MODIFIED)
+			return false;
+		if (this.containsHeader(HttpHeaders.CONTENT_ENCODING) || this.getContentType() == null)
+			return false;
+		final MimeType contentType;
+		try {
+			contentType = MimeTypeUtils.parseMimeType(this.getContentType());
+		}
+		catch (RuntimeException e) {
+			return false;
+		}
+		return this.compressionProperties.getMimeTypes().stream()
+				.map(MimeTypeUtils::parseMimeType)
+				.anyMatch(candidate -> candidate.includes(contentType));
+	}
+	
+	private final class BufferingServletOutputStream extends ServletOutputStream {
+		
+		@Override
+		public void write(final int b) throws IOException {
+			CompressingResponseWrapper.this.write(new byte[] {(byte) b}, 0, 1);
+		}
+		
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			CompressingResponseWrapper.this.write(b, off, len);
+		}
+		
+		@Override
+		public void flush() throws IOException {
+			CompressingResponseWrapper.this.flushPending();
+		}
+		
+		/**
+		 * Readiness and the write listener belong to the container's stream underneath; held-back and deflated
+		 * bytes end up there, so an application writing asynchronously is paced by the real connection.
+		 */
+		@Override
+		public boolean isReady() {
+			return CompressingResponseWrapper.this.underlying().isReady();
+		}
+		
+		@Override
+		public void setWriteListener(final WriteListener writeListener) {
+			CompressingResponseWrapper.this.underlying().setWriteListener(writeListener);
+		}
+		
+	}
+	
+	private static final class CountingOutputStream extends OutputStream {
+		
+		private final OutputStream delegate;
+		private long count;
+		
+		private CountingOutputStream(final OutputStream delegate) {
+			this.delegate = delegate;
+		}
+		
+		@Override
+		public void write(final int b) throws IOException {
+			this.delegate.write(b);
+			this.count++;
+		}
+		
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			this.delegate.write(b, off, len);
+			this.count += len;
+		}
+		
+		@Override
+		public void flush() throws IOException {
+			this.delegate.flush();
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
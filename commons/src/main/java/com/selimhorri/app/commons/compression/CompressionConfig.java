@@ -0,0 +1,44 @@
+package com.selimhorri.app.commons.compression;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnClass(name = "javax.servlet.Filter")
+@ConditionalOnProperty(name = "app.compression.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(CompressionProperties.class)
+public class CompressionConfig {
+	
+	/**
+	 * Ordered ahead of the security and ETag filters so it sees, and compresses, the final body.
+	 */
+	@Bean
+	public FilterRegistrationBean<CompressionFilter> compressionFilter(final CompressionProperties compressionProperties,
+			final MeterRegistry meterRegistry) {
+		final var registration = new FilterRegistrationBean<>(new CompressionFilter(compressionProperties, meterRegistry));
+		registration.addUrlPatterns("/*");
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registration;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
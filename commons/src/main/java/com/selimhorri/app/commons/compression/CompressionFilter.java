@@ -0,0 +1,101 @@
+package com.selimhorri.app.commons.compression;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Gzips responses for clients that accept it once the body passes the size threshold, streaming instead of
+ * buffering the whole body. Bodies that already carry a Content-Encoding (e.g. relayed from upstream) are passed
+ * through untouched, so no hop decompresses and recompresses. Brotli is not offered: there is no pure-Java
+ * encoder, and gzip is what the gateway and Feign clients negotiate.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+	
+	private final CompressionProperties compressionProperties;
+	private final Counter originalBytes;
+	private final Counter compressedBytes;
+	private final DistributionSummary ratio;
+	private final Timer cpuTime;
+	
+	public CompressionFilter(final CompressionProperties compressionProperties, final MeterRegistry meterRegistry) {
+		this.compressionProperties = compressionProperties;
+		this.originalBytes = Counter.builder("http.server.compression.bytes")
+				.baseUnit("bytes").tag("encoding", AcceptEncoding.GZIP).tag("stage", "original").register(meterRegistry);
+		this.compressedBytes = Counter.builder("http.server.compression.bytes")
+				.baseUnit("bytes").tag("encoding", AcceptEncoding.GZIP).tag("stage", "compressed").register(meterRegistry);
+		this.ratio = DistributionSummary.builder("http.server.compression.ratio")
+				.description("Compressed size over original size")
+				.tag("encoding", AcceptEncoding.GZIP).register(meterRegistry);
+		this.cpuTime = Timer.builder("http.server.compression.cpu")
+				.description("Thread CPU time spent deflating response bodies")
+				.tag("encoding", AcceptEncoding.GZIP).register(meterRegistry);
+	}
+	
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		var wrapper = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+		if (wrapper == null) {
+			if ("HEAD".equals(request.getMethod()) || !AcceptEncoding.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+				filterChain.doFilter(request, response);
+				return;
+			}
+			wrapper = new CompressingResponseWrapper(response, this.compressionProperties, cpuTimeSource());
+		}
+		
+		filterChain.doFilter(request, wrapper);
+		
+		if (!request.isAsyncStarted()) {
+			wrapper.finish();
+			if (wrapper.isCompressed())
+				this.record(wrapper);
+		}
+	}
+	
+	private void record(final CompressingResponseWrapper wrapper) {
+		this.originalBytes.increment(wrapper.getOriginalBytes());
+		this.compressedBytes.increment(wrapper.getCompressedBytes());
+		if (wrapper.getOriginalBytes() > 0)
+			this.ratio.record((double) wrapper.getCompressedBytes() / wrapper.getOriginalBytes());
+		this.cpuTime.record(wrapper.getCompressionNanos(), TimeUnit.NANOSECONDS);
+	}
+	
+	private static CompressingResponseWrapper.CpuTimeSource cpuTimeSource() {
+		final var threadMXBean = ManagementFactory.getThreadMXBean();
+		return threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled()
+				? threadMXBean::getCurrentThreadCpuTime
+				: System::nanoTime;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,42 @@
+package com.selimhorri.app.commons.compression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.compression")
+public class CompressionProperties {
+	
+	private boolean enabled = true;
+	/**
+	 * Responses smaller than this are sent as-is; gzip framing and CPU are not worth it below a few KB.
+	 */
+	private int minResponseSize = 2048;
+	/**
+	 * Deflater level, 1 (fastest) to 9 (smallest); 5 keeps most of the ratio of 9 for JSON at a fraction of the CPU.
+	 */
+	private int level = 5;
+	private List<String> mimeTypes = new ArrayList<>(List.of(
+			"application/json", "application/*+json", "application/xml", "application/javascript",
+			"text/html", "text/plain", "text/css", "text/xml"));
+	
+	public int getLevel() {
+		return Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION, this.level));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,52 @@
+package com.selimhorri.app.commons.configclient;
+
+import org.springframework.boot.BootstrapRegistry;
+import org.springframework.boot.BootstrapRegistryInitializer;
+import org.springframework.cloud.config.client.ConfigClientRequestTemplateFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Registers the RestTemplate the config client fetches with before the client registers its own, so every
+ * fetch goes through {@link ConditionalConfigRequestInterceptor}. The template still comes from the client's
+ * factory, keeping its timeouts and credentials. A refresh reuses the bootstrap context, and with it this
+ * template and the ETags it has seen.
+ */
+public class ConditionalConfigClientBootstrapRegistryInitializer implements BootstrapRegistryInitializer {
+	
+	private static final boolean CONFIG_CLIENT_PRESENT = ClassUtils.isPresent(
+			"org.springframework.cloud.config.client.ConfigClientRequestTemplateFactory",
+			ConditionalConfigClientBootstrapRegistryInitializer.class.getClassLoader());
+	
+	@Override
+	public void initialize(final BootstrapRegistry registry) {
+		if (CONFIG_CLIENT_PRESENT)
+			ConfigClientRegistration.register(registry);
+	}
+	
+	/**
+	 * Kept apart so config client types are only loaded when the client is on the classpath.
+	 */
+	private static final class ConfigClientRegistration {
+		
+		private static void register(final BootstrapRegistry registry) {
+			registry.registerIfAbsent(RestTemplate.class, context -> {
+				final var restTemplate = context.get(ConfigClientRequestTemplateFactory.class).create();
+				restTemplate.getInterceptors().add(new ConditionalConfigRequestInterceptor());
+				return restTemplate;
+			});
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
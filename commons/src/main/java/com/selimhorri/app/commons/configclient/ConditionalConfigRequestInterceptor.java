@@ -0,0 +1,109 @@
+package com.selimhorri.app.commons.configclient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Makes config server fetches conditional: the last body and ETag of every URI are kept, the ETag is sent back
+ * as {@code If-None-Match}, and a 304 is replayed as the cached 200. The config client treats anything other
+ * than a 200 as "no configuration", so the replay is what lets a refresh skip the download without losing the
+ * environment. Only a handful of URIs (one per application, profile and label) are ever fetched.
+ */
+public class ConditionalConfigRequestInterceptor implements ClientHttpRequestInterceptor {
+	
+	private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		if (request.getMethod() != HttpMethod.GET)
+			return execution.execute(request, body);
+		
+		final var key = request.getURI().toString();
+		final var cached = this.responses.get(key);
+		if (cached != null)
+			request.getHeaders().setIfNoneMatch(cached.headers.getETag());
+		
+		final var response = execution.execute(request, body);
+		if (cached != null && response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+			response.close();
+			return cached;
+		}
+		if (response.getRawStatusCode() != HttpStatus.OK.value() || response.getHeaders().getETag() == null) {
+			this.responses.remove(key);
+			return response;
+		}
+		
+		final CachedResponse fresh;
+		try (response) {
+			fresh = new CachedResponse(response.getHeaders(), StreamUtils.copyToByteArray(response.getBody()));
+		}
+		this.responses.put(key, fresh);
+		return fresh;
+	}
+	
+	private static final class CachedResponse implements ClientHttpResponse {
+		
+		private final HttpHeaders headers;
+		private final byte[] body;
+		
+		private CachedResponse(final HttpHeaders headers, final byte[] body) {
+			this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+			this.body = body;
+		}
+		
+		@Override
+		public HttpStatus getStatusCode() {
+			return HttpStatus.OK;
+		}
+		
+		@Override
+		public int getRawStatusCode() {
+			return HttpStatus.OK.value();
+		}
+		
+		@Override
+		public String getStatusText() {
+			return HttpStatus.OK.getReasonPhrase();
+		}
+		
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+		
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(this.body);
+		}
+		
+		@Override
+		public void close() {
+			
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
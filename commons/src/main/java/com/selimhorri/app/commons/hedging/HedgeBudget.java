@@ -0,0 +1,46 @@
+package com.selimhorri.app.commons.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Every primary request deposits a fraction of a token and every hedge withdraws a whole one, so hedges
+ * can never add more than the configured percentage of load, plus a small burst.
+ */
+public class HedgeBudget {
+	
+	private static final long TOKEN = 1000L;
+	
+	private final long depositPerRequest;
+	private final long maxBalance;
+	private final AtomicLong balance = new AtomicLong();
+	
+	public HedgeBudget(final double budgetPercent, final int maxBurst) {
+		this.depositPerRequest = Math.round(TOKEN * budgetPercent / 100.0);
+		this.maxBalance = TOKEN * Math.max(1, maxBurst);
+	}
+	
+	public void deposit() {
+		this.balance.accumulateAndGet(this.depositPerRequest, (current, deposit) -> Math.min(this.maxBalance, current + deposit));
+	}
+	
+	public boolean tryWithdraw() {
+		while (true) {
+			final var current = this.balance.get();
+			if (current < TOKEN)
+				return false;
+			if (this.balance.compareAndSet(current, current - TOKEN))
+				return true;
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
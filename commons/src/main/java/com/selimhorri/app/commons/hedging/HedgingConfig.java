@@ -0,0 +1,41 @@
+package com.selimhorri.app.commons.hedging;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.commons.loadbalancer.InstanceStatsRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgingConfig {
+	
+	@Bean
+	public HedgingRestTemplateFactory hedgingRestTemplateFactory(final RestTemplateBuilder restTemplateBuilder,
+			final LoadBalancerClient loadBalancerClient, final DiscoveryClient discoveryClient,
+			final ObjectProvider<InstanceStatsRegistry> instanceStatsRegistry, final HedgingProperties hedgingProperties,
+			final MeterRegistry meterRegistry) {
+		return new HedgingRestTemplateFactory(restTemplateBuilder, loadBalancerClient, discoveryClient,
+				instanceStatsRegistry, hedgingProperties, meterRegistry);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
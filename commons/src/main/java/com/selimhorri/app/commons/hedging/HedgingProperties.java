@@ -0,0 +1,48 @@
+package com.selimhorri.app.commons.hedging;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.hedging")
+public class HedgingProperties {
+	
+	/**
+	 * Service ids whose GETs may be hedged; empty means hedging is off.
+	 */
+	private Set<String> services = new HashSet<>();
+	private double percentile = 0.95;
+	private double budgetPercent = 5.0;
+	private int maxBurst = 10;
+	private Duration initialDelay = Duration.ofMillis(100);
+	private Duration minDelay = Duration.ofMillis(5);
+	private Duration maxDelay = Duration.ofMillis(500);
+	private int minSamples = 20;
+	private int windowSize = 256;
+	private int maxThreads = 64;
+	/**
+	 * Limits for each attempt; a caller waits at most their sum for a hedged response.
+	 */
+	private Duration connectTimeout = Duration.ofMillis(500);
+	private Duration readTimeout = Duration.ofSeconds(2);
+	
+	public boolean isHedged(final String serviceId) {
+		return serviceId != null && this.services.stream().anyMatch(serviceId::equalsIgnoreCase);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,289 @@
+package com.selimhorri.app.commons.hedging;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.DefaultRequestContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerInterceptor;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerRequestAdapter;
+import org.springframework.cloud.client.loadbalancer.RetryLoadBalancerInterceptor;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.commons.loadbalancer.InstanceStatsRegistry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drop-in @LoadBalanced RestTemplate that hedges the {@code getForObject} calls to the services listed in
+ * {@code app.hedging.services}: once the primary call outlives the service's recent p95, the same GET is sent
+ * to the least loaded other instance and whichever answers first wins. Both attempts go through the load
+ * balancer's lifecycle, so they feed the same per-instance stats as any other call. {@code getForEntity},
+ * {@code exchange} and every other verb are not hedged and go through the normal load-balanced path.
+ */
+@Slf4j
+public class HedgingRestTemplate extends RestTemplate {
+	
+	private static final String PRIMARY = "primary";
+	private static final String HEDGE = "hedge";
+	private static final boolean RETRY_PRESENT = ClassUtils.isPresent(
+			"org.springframework.retry.support.RetryTemplate", HedgingRestTemplate.class.getClassLoader());
+	
+	private final RestTemplate directRestTemplate;
+	private final LoadBalancerClient loadBalancerClient;
+	private final DiscoveryClient discoveryClient;
+	private final InstanceStatsRegistry instanceStatsRegistry;
+	private final HedgingProperties hedgingProperties;
+	private final MeterRegistry meterRegistry;
+	private final ExecutorService hedgingExecutor;
+	private final HedgeBudget hedgeBudget;
+	private final Map<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+	
+	/**
+	 * @param instanceStatsRegistry may be {@code null} when the latency-aware balancer is switched off, in which
+	 * case the hedge goes to a random other instance
+	 */
+	public HedgingRestTemplate(final RestTemplate directRestTemplate, final LoadBalancerClient loadBalancerClient,
+			final DiscoveryClient discoveryClient, final InstanceStatsRegistry instanceStatsRegistry,
+			final HedgingProperties hedgingProperties, final MeterRegistry meterRegistry,
+			final ExecutorService hedgingExecutor) {
+		this.directRestTemplate = directRestTemplate;
+		this.loadBalancerClient = loadBalancerClient;
+		this.discoveryClient = discoveryClient;
+		this.instanceStatsRegistry = instanceStatsRegistry;
+		this.hedgingProperties = hedgingProperties;
+		this.meterRegistry = meterRegistry;
+		this.hedgingExecutor = hedgingExecutor;
+		this.hedgeBudget = new HedgeBudget(hedgingProperties.getBudgetPercent(), hedgingProperties.getMaxBurst());
+	}
+	
+	/**
+	 * Attempts are sent to a chosen instance through the direct template, so it gets the same interceptors as this
+	 * one (content negotiation, timing, ...) except the load balancer's, which would take the instance address for
+	 * a service id.
+	 */
+	@Override
+	public void setInterceptors(final List<ClientHttpRequestInterceptor> interceptors) {
+		super.setInterceptors(interceptors);
+		this.directRestTemplate.setInterceptors(interceptors.stream()
+				.filter(interceptor -> !isLoadBalancerInterceptor(interceptor))
+				.collect(Collectors.toList()));
+	}
+	
+	@Override
+	public <T> T getForObject(final String url, final Class<T> responseType, final Object... uriVariables) {
+		final var uri = this.getUriTemplateHandler().expand(url, uriVariables);
+		if (!this.hedgingProperties.isHedged(uri.getHost()))
+			return super.getForObject(url, responseType, uriVariables);
+		return this.hedgedGet(uri.getHost(), uri, responseType);
+	}
+	
+	@Override
+	public <T> T getForObject(final String url, final Class<T> responseType, final Map<String, ?> uriVariables) {
+		final var uri = this.getUriTemplateHandler().expand(url, uriVariables);
+		if (!this.hedgingProperties.isHedged(uri.getHost()))
+			return super.getForObject(url, responseType, uriVariables);
+		return this.hedgedGet(uri.getHost(), uri, responseType);
+	}
+	
+	@Override
+	public <T> T getForObject(final URI url, final Class<T> responseType) {
+		if (!this.hedgingProperties.isHedged(url.getHost()))
+			return super.getForObject(url, responseType);
+		return this.hedgedGet(url.getHost(), url, responseType);
+	}
+	
+	private <T> T hedgedGet(final String serviceId, final URI uri, final Class<T> responseType) {
+		
+		final var primaryInstance = this.loadBalancerClient.choose(serviceId);
+		if (primaryInstance == null)
+			return super.getForObject(uri, responseType);
+		
+		this.hedgeBudget.deposit();
+		this.counter("http.client.hedging.requests", serviceId).increment();
+		
+		final var latencyTracker = this.latencyTrackers.computeIfAbsent(serviceId, key -> new LatencyTracker(
+				this.hedgingProperties.getWindowSize(), this.hedgingProperties.getPercentile()));
+		final var result = new CompletableFuture<T>();
+		final var attempts = new AtomicInteger(1);
+		final var failures = new AtomicInteger();
+		
+		if (!this.submit(primaryInstance, uri, responseType, PRIMARY, latencyTracker, result, attempts, failures)) {
+			// saturated: the caller runs the primary itself, unhedged, rather than failing it
+			this.counter("http.client.hedging.caller.runs", serviceId).increment();
+			return this.attempt(primaryInstance, uri, responseType, latencyTracker);
+		}
+		
+		try {
+			return result.get(this.hedgeDelayMillis(latencyTracker), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			this.fireHedge(serviceId, primaryInstance, uri, responseType, latencyTracker, result, attempts, failures);
+			return this.await(result, uri);
+		}
+		catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ResourceAccessException("Interrupted while waiting for " + uri);
+		}
+	}
+	
+	private <T> void fireHedge(final String serviceId, final ServiceInstance primaryInstance, final URI uri,
+			final Class<T> responseType, final LatencyTracker latencyTracker, final CompletableFuture<T> result,
+			final AtomicInteger attempts, final AtomicInteger failures) {
+		
+		final var candidates = this.discoveryClient.getInstances(serviceId).stream()
+				.filter(instance -> !sameInstance(instance, primaryInstance))
+				.collect(Collectors.toList());
+		if (candidates.isEmpty() || result.isDone())
+			return;
+		if (!this.hedgeBudget.tryWithdraw()) {
+			this.counter("http.client.hedging.budget.exhausted", serviceId).increment();
+			return;
+		}
+		
+		attempts.incrementAndGet();
+		if (!this.submit(this.hedgeTarget(candidates), uri, responseType, HEDGE, latencyTracker, result, attempts, failures)) {
+			log.debug("Hedging executor saturated, dropping hedge for {}", uri);
+			this.counter("http.client.hedging.rejected", serviceId).increment();
+			if (failures.incrementAndGet() >= attempts.get())
+				result.completeExceptionally(new ResourceAccessException("Hedging executor saturated for " + uri));
+			return;
+		}
+		this.counter("http.client.hedging.fired", serviceId).increment();
+	}
+	
+	private ServiceInstance hedgeTarget(final List<ServiceInstance> candidates) {
+		if (this.instanceStatsRegistry != null)
+			return this.instanceStatsRegistry.leastLoaded(candidates).orElseThrow();
+		return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+	}
+	
+	/**
+	 * @return {@code false} if the executor had no thread left for the attempt
+	 */
+	private <T> boolean submit(final ServiceInstance serviceInstance, final URI uri, final Class<T> responseType,
+			final String attempt, final LatencyTracker latencyTracker, final CompletableFuture<T> result,
+			final AtomicInteger attempts, final AtomicInteger failures) {
+		try {
+			CompletableFuture
+					.supplyAsync(() -> this.attempt(serviceInstance, uri, responseType, latencyTracker), this.hedgingExecutor)
+					.whenComplete((response, error) -> {
+						if (error == null) {
+							if (result.complete(response) && HEDGE.equals(attempt))
+								this.counter("http.client.hedging.won", serviceInstance.getServiceId()).increment();
+						}
+						else if (error.getCause() instanceof HttpClientErrorException
+								|| failures.incrementAndGet() >= attempts.get())
+							result.completeExceptionally(error.getCause() == null ? error : error.getCause());
+					});
+			return true;
+		}
+		catch (RejectedExecutionException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Sends the GET to the given instance through {@link LoadBalancerClient#execute}, which runs the load balancer
+	 * lifecycle around it.
+	 */
+	private <T> T attempt(final ServiceInstance serviceInstance, final URI uri, final Class<T> responseType,
+			final LatencyTracker latencyTracker) {
+		final var startedAt = System.nanoTime();
+		try {
+			final var response = this.loadBalancerClient.execute(serviceInstance.getServiceId(), serviceInstance,
+					new LoadBalancerRequestAdapter<T, DefaultRequestContext>(instance -> this.directRestTemplate
+							.getForObject(this.loadBalancerClient.reconstructURI(instance, uri), responseType),
+							new DefaultRequestContext()));
+			latencyTracker.record(System.nanoTime() - startedAt);
+			return response;
+		}
+		catch (IOException e) {
+			throw new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+		}
+	}
+	
+	private long hedgeDelayMillis(final LatencyTracker latencyTracker) {
+		final var delay = latencyTracker.count() < this.hedgingProperties.getMinSamples()
+				? this.hedgingProperties.getInitialDelay().toMillis()
+				: TimeUnit.NANOSECONDS.toMillis(latencyTracker.percentileNanos());
+		return Math.max(this.hedgingProperties.getMinDelay().toMillis(),
+				Math.min(this.hedgingProperties.getMaxDelay().toMillis(), delay));
+	}
+	
+	/**
+	 * Each attempt is bounded by the direct template's timeouts, so the caller never waits longer than one
+	 * attempt would take, even if neither attempt's thread reports back.
+	 */
+	private <T> T await(final CompletableFuture<T> result, final URI uri) {
+		final var timeout = this.hedgingProperties.getConnectTimeout().plus(this.hedgingProperties.getReadTimeout());
+		try {
+			return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			throw new ResourceAccessException("No hedged response within " + timeout + " for " + uri);
+		}
+		catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ResourceAccessException("Interrupted while waiting for hedged response");
+		}
+	}
+	
+	private Counter counter(final String name, final String serviceId) {
+		return this.meterRegistry.counter(name, "service", serviceId);
+	}
+	
+	private static boolean isLoadBalancerInterceptor(final ClientHttpRequestInterceptor interceptor) {
+		return interceptor instanceof LoadBalancerInterceptor
+				|| RETRY_PRESENT && interceptor instanceof RetryLoadBalancerInterceptor;
+	}
+	
+	private static RuntimeException unwrap(final ExecutionException e) {
+		final var cause = e.getCause();
+		if (cause instanceof RuntimeException)
+			return (RuntimeException) cause;
+		return new RestClientException(String.valueOf(cause), cause);
+	}
+	
+	private static boolean sameInstance(final ServiceInstance a, final ServiceInstance b) {
+		return a.getHost().equalsIgnoreCase(b.getHost()) && a.getPort() == b.getPort();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
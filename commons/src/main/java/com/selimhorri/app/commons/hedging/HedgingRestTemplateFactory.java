@@ -0,0 +1,66 @@
+package com.selimhorri.app.commons.hedging;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.selimhorri.app.commons.loadbalancer.InstanceStatsRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class HedgingRestTemplateFactory implements DisposableBean {
+	
+	private final RestTemplateBuilder restTemplateBuilder;
+	private final LoadBalancerClient loadBalancerClient;
+	private final DiscoveryClient discoveryClient;
+	private final ObjectProvider<InstanceStatsRegistry> instanceStatsRegistry;
+	private final HedgingProperties hedgingProperties;
+	private final MeterRegistry meterRegistry;
+	private final ExecutorService hedgingExecutor;
+	
+	public HedgingRestTemplateFactory(final RestTemplateBuilder restTemplateBuilder, final LoadBalancerClient loadBalancerClient,
+			final DiscoveryClient discoveryClient, final ObjectProvider<InstanceStatsRegistry> instanceStatsRegistry,
+			final HedgingProperties hedgingProperties, final MeterRegistry meterRegistry) {
+		this.restTemplateBuilder = restTemplateBuilder;
+		this.loadBalancerClient = loadBalancerClient;
+		this.discoveryClient = discoveryClient;
+		this.instanceStatsRegistry = instanceStatsRegistry;
+		this.hedgingProperties = hedgingProperties;
+		this.meterRegistry = meterRegistry;
+		this.hedgingExecutor = new ThreadPoolExecutor(0, Math.max(2, hedgingProperties.getMaxThreads()),
+				60L, TimeUnit.SECONDS, new SynchronousQueue<>(), new CustomizableThreadFactory("hedging-"));
+	}
+	
+	public HedgingRestTemplate create() {
+		final var directRestTemplate = this.restTemplateBuilder
+				.setConnectTimeout(this.hedgingProperties.getConnectTimeout())
+				.setReadTimeout(this.hedgingProperties.getReadTimeout())
+				.build();
+		return new HedgingRestTemplate(directRestTemplate, this.loadBalancerClient, this.discoveryClient,
+				this.instanceStatsRegistry.getIfAvailable(), this.hedgingProperties, this.meterRegistry, this.hedgingExecutor);
+	}
+	
+	@Override
+	public void destroy() {
+		this.hedgingExecutor.shutdown();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,62 @@
+package com.selimhorri.app.commons.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window of recent latencies for one service. The percentile is recomputed every
+ * {@code windowSize / 4} samples rather than per request, which is plenty for deriving a hedge delay.
+ */
+public class LatencyTracker {
+	
+	private final AtomicLongArray window;
+	private final AtomicLong recorded = new AtomicLong();
+	private final double percentile;
+	private final int refreshEvery;
+	private volatile long percentileNanos = -1L;
+	
+	public LatencyTracker(final int windowSize, final double percentile) {
+		this.window = new AtomicLongArray(Math.max(8, windowSize));
+		this.percentile = percentile;
+		this.refreshEvery = Math.max(1, this.window.length() / 4);
+	}
+	
+	public void record(final long latencyNanos) {
+		final var count = this.recorded.incrementAndGet();
+		this.window.set((int) ((count - 1) % this.window.length()), latencyNanos);
+		if (count % this.refreshEvery == 0)
+			this.percentileNanos = this.compute(count);
+	}
+	
+	public long count() {
+		return this.recorded.get();
+	}
+	
+	public long percentileNanos() {
+		final var cached = this.percentileNanos;
+		return cached >= 0 ? cached : this.compute(this.recorded.get());
+	}
+	
+	private long compute(final long count) {
+		final var size = (int) Math.min(count, this.window.length());
+		if (size == 0)
+			return 0L;
+		final var samples = new long[size];
+		for (int i = 0; i < size; i++)
+			samples[i] = this.window.get(i);
+		Arrays.sort(samples);
+		return samples[Math.max(0, Math.min(size - 1, (int) Math.ceil(this.percentile * size) - 1))];
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
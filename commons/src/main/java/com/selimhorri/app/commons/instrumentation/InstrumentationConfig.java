@@ -0,0 +1,89 @@
+package com.selimhorri.app.commons.instrumentation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+/**
+ * Layer timers for services, repositories and RestTemplate calls. Feign calls are not timed here: an aspect on
+ * the {@code @FeignClient} interface would count each call a second time next to the client-level timing, so
+ * Feign clients record into {@link MethodTimers#CLIENT_CALLS} through their own capability instead (see
+ * proxy-client's {@code FeignMetricsCapability}).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(name = "app.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(InstrumentationProperties.class)
+public class InstrumentationConfig {
+	
+	@Bean
+	public MethodTimers methodTimers(final MeterRegistry meterRegistry, final InstrumentationProperties instrumentationProperties) {
+		return new MethodTimers(meterRegistry, instrumentationProperties);
+	}
+	
+	/**
+	 * Last line of defence against unbounded client paths, e.g. a call site that concatenates a user-supplied
+	 * value the normalization does not know about.
+	 */
+	@Bean
+	public MeterFilter clientCallsMethodLimit(final InstrumentationProperties instrumentationProperties) {
+		return MeterFilter.maximumAllowableTags(MethodTimers.CLIENT_CALLS, "method",
+				instrumentationProperties.getMaxClientMethods(), MeterFilter.deny());
+	}
+	
+	@Bean
+	public ServiceTimingAspect serviceTimingAspect(final MethodTimers methodTimers) {
+		return new ServiceTimingAspect(methodTimers);
+	}
+	
+	/**
+	 * Registered at post-processing time, i.e. before the load balancer appends its own interceptor. The template
+	 * handler is wrapped so calls are tagged with their URI template rather than the expanded path.
+	 */
+	@Bean
+	public static BeanPostProcessor restTemplateTimingPostProcessor(final ObjectProvider<MethodTimers> methodTimers,
+			final ObjectProvider<InstrumentationProperties> instrumentationProperties) {
+		return new BeanPostProcessor() {
+			
+			@Override
+			public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+				if (bean instanceof RestTemplate) {
+					final var restTemplate = (RestTemplate) bean;
+					final List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>(restTemplate.getInterceptors());
+					interceptors.add(0, new TimingClientHttpRequestInterceptor(methodTimers.getObject(),
+							instrumentationProperties.getObject().getClientKeySegments()));
+					restTemplate.setInterceptors(interceptors);
+					restTemplate.setUriTemplateHandler(TimingClientHttpRequestInterceptor.capturing(restTemplate.getUriTemplateHandler()));
+				}
+				return bean;
+			}
+			
+		};
+	}
+	
+	@Configuration
+	@ConditionalOnClass(name = "org.springframework.data.repository.Repository")
+	static class RepositoryTimingConfig {
+		
+		@Bean
+		public RepositoryTimingAspect repositoryTimingAspect(final MethodTimers methodTimers) {
+			return new RepositoryTimingAspect(methodTimers);
+		}
+		
+	}
+	
+}
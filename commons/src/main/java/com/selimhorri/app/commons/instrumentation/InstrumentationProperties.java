@@ -0,0 +1,28 @@
+package com.selimhorri.app.commons.instrumentation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.instrumentation")
+public class InstrumentationProperties {
+	
+	private boolean enabled = true;
+	private boolean percentileHistogram = true;
+	private List<Duration> slo = new ArrayList<>(List.of(Duration.ofMillis(50), Duration.ofMillis(100),
+			Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2)));
+	/**
+	 * Path segments whose next segment is a value rather than a route, e.g. /username/{username}.
+	 */
+	private List<String> clientKeySegments = new ArrayList<>(List.of("username", "token", "email"));
+	/**
+	 * Distinct {@code method} tags allowed on app.client.calls before further ones are dropped.
+	 */
+	private int maxClientMethods = 200;
+	
+}
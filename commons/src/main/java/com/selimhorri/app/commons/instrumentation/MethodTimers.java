@@ -0,0 +1,84 @@
+package com.selimhorri.app.commons.instrumentation;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Builds the layer timers ({@code app.service.calls}, {@code app.repository.calls}, {@code app.client.calls})
+ * with the same histogram and SLO buckets, so dashboards can line the layers up per endpoint.
+ */
+public class MethodTimers {
+	
+	public static final String SERVICE_CALLS = "app.service.calls";
+	public static final String REPOSITORY_CALLS = "app.repository.calls";
+	public static final String CLIENT_CALLS = "app.client.calls";
+	
+	public static final String SUCCESS = "success";
+	public static final String ERROR = "error";
+	
+	private final MeterRegistry meterRegistry;
+	private final boolean percentileHistogram;
+	private final Duration[] slo;
+	
+	public MethodTimers(final MeterRegistry meterRegistry, final InstrumentationProperties instrumentationProperties) {
+		this.meterRegistry = meterRegistry;
+		this.percentileHistogram = instrumentationProperties.isPercentileHistogram();
+		this.slo = instrumentationProperties.getSlo().toArray(Duration[]::new);
+	}
+	
+	public void record(final String name, final String service, final String method, final String outcome,
+			final Throwable exception, final long durationNanos) {
+		this.timer(name, service, method, outcome, exception)
+				.register(this.meterRegistry)
+				.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Client calls also carry the HTTP status code, which is a small fixed set, so a dashboard can tell a 404 from
+	 * a 409 without adding to the cardinality the method tag already has.
+	 */
+	public void recordClientCall(final String service, final String method, final int status, final long durationNanos) {
+		this.timer(CLIENT_CALLS, service, method, outcomeOf(status), null)
+				.tag("status", String.valueOf(status))
+				.register(this.meterRegistry)
+				.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * A call that got no response is tagged {@code IO_ERROR} for transport failures and {@code CLIENT_ERROR}
+	 * otherwise, as Spring Boot's own HTTP client metrics do.
+	 */
+	public void recordClientCall(final String service, final String method, final Throwable exception, final long durationNanos) {
+		this.timer(CLIENT_CALLS, service, method, ERROR, exception)
+				.tag("status", exception instanceof IOException ? "IO_ERROR" : "CLIENT_ERROR")
+				.register(this.meterRegistry)
+				.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+	
+	private Timer.Builder timer(final String name, final String service, final String method, final String outcome,
+			final Throwable exception) {
+		return Timer.builder(name)
+				.tag("service", service)
+				.tag("method", method)
+				.tag("outcome", outcome)
+				.tag("exception", exception == null ? "none" : exception.getClass().getSimpleName())
+				.publishPercentileHistogram(this.percentileHistogram)
+				.serviceLevelObjectives(this.slo);
+	}
+	
+	/**
+	 * Outcome of an HTTP client call, shared by the RestTemplate and Feign timers so both land on the same series.
+	 */
+	public static String outcomeOf(final int status) {
+		if (status >= 500)
+			return "server_error";
+		if (status >= 400)
+			return "client_error";
+		return SUCCESS;
+	}
+	
+}
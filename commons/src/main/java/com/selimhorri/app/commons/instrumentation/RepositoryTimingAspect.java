@@ -0,0 +1,60 @@
+package com.selimhorri.app.commons.instrumentation;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Times every Spring Data repository call, tagged with the application's repository interface.
+ */
+@Aspect
+public class RepositoryTimingAspect {
+	
+	private final MethodTimers methodTimers;
+	private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+	
+	public RepositoryTimingAspect(final MethodTimers methodTimers) {
+		this.methodTimers = methodTimers;
+	}
+	
+	@Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+	public Object timeRepositoryMethod(final ProceedingJoinPoint joinPoint) throws Throwable {
+		final var service = this.repositoryName(joinPoint);
+		final var method = joinPoint.getSignature().getName();
+		final var start = System.nanoTime();
+		try {
+			final var result = joinPoint.proceed();
+			this.methodTimers.record(MethodTimers.REPOSITORY_CALLS, service, method, MethodTimers.SUCCESS, null, System.nanoTime() - start);
+			return result;
+		}
+		catch (Throwable e) {
+			this.methodTimers.record(MethodTimers.REPOSITORY_CALLS, service, method, MethodTimers.ERROR, e, System.nanoTime() - start);
+			throw e;
+		}
+	}
+	
+	/**
+	 * Inherited methods such as {@code findAll} are declared on CrudRepository, so name the repository interface
+	 * the proxy implements instead.
+	 */
+	private String repositoryName(final ProceedingJoinPoint joinPoint) {
+		final var proxy = joinPoint.getThis();
+		final var declaringType = joinPoint.getSignature().getDeclaringType().getSimpleName();
+		if (proxy == null)
+			return declaringType;
+		return this.repositoryNames.computeIfAbsent(proxy.getClass(), type -> Arrays
+				.stream(AopProxyUtils.proxiedUserInterfaces(proxy))
+				.filter(Repository.class::isAssignableFrom)
+				.filter(ifc -> ifc.getName().startsWith("com.selimhorri.app"))
+				.map(Class::getSimpleName)
+				.findFirst()
+				.orElse(declaringType));
+	}
+	
+}
@@ -0,0 +1,35 @@
+package com.selimhorri.app.commons.instrumentation;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Times every public {@code *ServiceImpl} method.
+ */
+@Aspect
+public class ServiceTimingAspect {
+	
+	private final MethodTimers methodTimers;
+	
+	public ServiceTimingAspect(final MethodTimers methodTimers) {
+		this.methodTimers = methodTimers;
+	}
+	
+	@Around("execution(public * com.selimhorri.app..*ServiceImpl.*(..))")
+	public Object timeServiceMethod(final ProceedingJoinPoint joinPoint) throws Throwable {
+		final var service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+		final var method = joinPoint.getSignature().getName();
+		final var start = System.nanoTime();
+		try {
+			final var result = joinPoint.proceed();
+			this.methodTimers.record(MethodTimers.SERVICE_CALLS, service, method, MethodTimers.SUCCESS, null, System.nanoTime() - start);
+			return result;
+		}
+		catch (Throwable e) {
+			this.methodTimers.record(MethodTimers.SERVICE_CALLS, service, method, MethodTimers.ERROR, e, System.nanoTime() - start);
+			throw e;
+		}
+	}
+	
+}
@@ -0,0 +1,126 @@
+package com.selimhorri.app.commons.instrumentation;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.util.UriTemplateHandler;
+
+/**
+ * Times outbound RestTemplate calls. It sits in front of the load balancer interceptor, so the host of the
+ * request is still the logical service id. The method tag is the path of the URI template the call was made
+ * with, when the template handler from {@link #capturing(UriTemplateHandler)} saw it; otherwise the raw path.
+ * Either way numeric ids and id lists become {id} and the segment after a known key such as
+ * {@code username} becomes {key}, so login names and id lists cannot each register their own timer.
+ */
+public class TimingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+	
+	private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(,\\d+)*(?=/|$)");
+	private static final Pattern SCHEME_AND_AUTHORITY = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*://[^/?#]*");
+	private static final ThreadLocal<Expansion> LAST_EXPANSION = new ThreadLocal<>();
+	
+	private final MethodTimers methodTimers;
+	private final Set<String> keySegments;
+	
+	public TimingClientHttpRequestInterceptor(final MethodTimers methodTimers, final Collection<String> keySegments) {
+		this.methodTimers = methodTimers;
+		this.keySegments = keySegments.stream()
+				.map(segment -> segment.toLowerCase(Locale.ROOT))
+				.collect(Collectors.toUnmodifiableSet());
+	}
+	
+	/**
+	 * Wraps a RestTemplate's template handler so the template behind each expanded URI is remembered for the
+	 * request that follows on the same thread.
+	 */
+	public static UriTemplateHandler capturing(final UriTemplateHandler delegate) {
+		return new UriTemplateHandler() {
+			
+			@Override
+			public URI expand(final String uriTemplate, final Map<String, ?> uriVariables) {
+				return remember(uriTemplate, delegate.expand(uriTemplate, uriVariables));
+			}
+			
+			@Override
+			public URI expand(final String uriTemplate, final Object... uriVariables) {
+				return remember(uriTemplate, delegate.expand(uriTemplate, uriVariables));
+			}
+			
+		};
+	}
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		final var service = String.valueOf(request.getURI().getHost());
+		final var method = request.getMethodValue() + " " + this.normalize(pathOf(request.getURI()));
+		final var start = System.nanoTime();
+		try {
+			final var response = execution.execute(request, body);
+			this.methodTimers.recordClientCall(service, method, response.getRawStatusCode(), System.nanoTime() - start);
+			return response;
+		}
+		catch (IOException | RuntimeException e) {
+			this.methodTimers.recordClientCall(service, method, e, System.nanoTime() - start);
+			throw e;
+		}
+	}
+	
+	String normalize(final String path) {
+		if (path == null || path.isEmpty())
+			return "/";
+		final var segments = ID_SEGMENT.matcher(path).replaceAll("/{id}").split("/", -1);
+		for (int i = 1; i < segments.length; i++)
+			if (!segments[i].startsWith("{") && this.keySegments.contains(segments[i - 1].toLowerCase(Locale.ROOT)))
+				segments[i] = "{" + segments[i - 1] + "}";
+		return String.join("/", segments);
+	}
+	
+	/**
+	 * The template's path if the remembered expansion is the one being sent, the request's own path otherwise
+	 * (e.g. a URI passed in directly, or a hedged attempt already rewritten to an instance address).
+	 */
+	private static String pathOf(final URI uri) {
+		final var expansion = LAST_EXPANSION.get();
+		LAST_EXPANSION.remove();
+		if (expansion == null || !expansion.uri.equals(uri))
+			return uri.getPath();
+		final var path = SCHEME_AND_AUTHORITY.matcher(expansion.template).replaceFirst("");
+		final var end = indexOfAny(path, '?', '#');
+		return end < 0 ? path : path.substring(0, end);
+	}
+	
+	private static URI remember(final String template, final URI uri) {
+		LAST_EXPANSION.set(new Expansion(template, uri));
+		return uri;
+	}
+	
+	private static int indexOfAny(final String value, final char a, final char b) {
+		for (int i = 0; i < value.length(); i++)
+			if (value.charAt(i) == a || value.charAt(i) == b)
+				return i;
+		return -1;
+	}
+	
+	private static final class Expansion {
+		
+		private final String template;
+		private final URI uri;
+		
+		private Expansion(final String template, final URI uri) {
+			this.template = template;
+			this.uri = uri;
+		}
+		
+	}
+	
+}
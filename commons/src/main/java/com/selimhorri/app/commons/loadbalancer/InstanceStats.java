@@ -0,0 +1,69 @@
+package com.selimhorri.app.commons.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Peak-EWMA latency plus in-flight count for one service instance. Slower observations are taken at once,
+ * faster ones are blended in with a time based decay, so a pausing replica is penalised immediately.
+ */
+public class InstanceStats {
+	
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private double ewmaNanos;
+	private long observedAtNanos;
+	
+	public InstanceStats(final long initialLatencyNanos, final long nowNanos) {
+		this.ewmaNanos = initialLatencyNanos;
+		this.observedAtNanos = nowNanos;
+	}
+	
+	public void start() {
+		this.outstanding.incrementAndGet();
+	}
+	
+	public void release() {
+		this.outstanding.updateAndGet(current -> Math.max(0, current - 1));
+	}
+	
+	public void complete(final long latencyNanos, final long nowNanos, final long decayNanos) {
+		this.release();
+		if (latencyNanos >= 0)
+			this.observe(latencyNanos, nowNanos, decayNanos);
+	}
+	
+	public synchronized void observe(final long latencyNanos, final long nowNanos, final long decayNanos) {
+		if (latencyNanos > this.ewmaNanos)
+			this.ewmaNanos = latencyNanos;
+		else {
+			final var weight = Math.exp(-Math.max(0, nowNanos - this.observedAtNanos) / (double) decayNanos);
+			this.ewmaNanos = this.ewmaNanos * weight + latencyNanos * (1 - weight);
+		}
+		this.observedAtNanos = nowNanos;
+	}
+	
+	/**
+	 * Idle instances drift back towards zero so they get probed again instead of being starved forever.
+	 */
+	public synchronized double latencyNanos(final long nowNanos, final long decayNanos) {
+		return this.ewmaNanos * Math.exp(-Math.max(0, nowNanos - this.observedAtNanos) / (double) decayNanos);
+	}
+	
+	public double cost(final long nowNanos, final long decayNanos) {
+		return this.latencyNanos(nowNanos, decayNanos) * (this.outstanding() + 1);
+	}
+	
+	public int outstanding() {
+		return this.outstanding.get();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
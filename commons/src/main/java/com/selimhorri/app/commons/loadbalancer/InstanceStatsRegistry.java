@@ -0,0 +1,60 @@
+package com.selimhorri.app.commons.loadbalancer;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class InstanceStatsRegistry {
+	
+	private final LatencyAwareLoadBalancerProperties latencyAwareLoadBalancerProperties;
+	private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+	
+	public InstanceStats get(final ServiceInstance serviceInstance) {
+		return this.stats.computeIfAbsent(key(serviceInstance), key -> new InstanceStats(
+				this.latencyAwareLoadBalancerProperties.forService(serviceInstance.getServiceId()).getInitialLatencyNanos(),
+				System.nanoTime()));
+	}
+	
+	/**
+	 * Cheapest of the given instances under each one's strategy, for callers that want the least loaded
+	 * instance outright rather than a balanced pick, such as a hedged request.
+	 */
+	public Optional<ServiceInstance> leastLoaded(final List<ServiceInstance> serviceInstances) {
+		final var now = System.nanoTime();
+		return serviceInstances.stream()
+				.min(Comparator.comparingDouble(instance -> {
+					final var settings = this.latencyAwareLoadBalancerProperties.forService(instance.getServiceId());
+					return settings.getStrategy() == LoadBalancingStrategy.LEAST_OUTSTANDING
+							? this.get(instance).outstanding()
+							: this.get(instance).cost(now, settings.getDecayNanos());
+				}));
+	}
+	
+	public Map<String, InstanceStats> snapshot() {
+		return Map.copyOf(this.stats);
+	}
+	
+	public static String key(final ServiceInstance serviceInstance) {
+		return String.format("%s@%s:%d", serviceInstance.getServiceId().toUpperCase(Locale.ROOT),
+				serviceInstance.getHost(), serviceInstance.getPort());
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,97 @@
+package com.selimhorri.app.commons.loadbalancer;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Power-of-two-choices balancer: two random candidates are compared on peak-EWMA cost (or in-flight count)
+ * and the cheaper one wins, which keeps load off slow replicas without herding onto a single fast one.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+	
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+	private final String serviceId;
+	private final LatencyAwareLoadBalancerProperties.Settings settings;
+	private final InstanceStatsRegistry instanceStatsRegistry;
+	private final AtomicInteger position = new AtomicInteger(ThreadLocalRandom.current().nextInt(1000));
+	
+	public LatencyAwareLoadBalancer(final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			final String serviceId, final LatencyAwareLoadBalancerProperties.Settings settings,
+			final InstanceStatsRegistry instanceStatsRegistry) {
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.serviceId = serviceId;
+		this.settings = settings;
+		this.instanceStatsRegistry = instanceStatsRegistry;
+	}
+	
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Mono<Response<ServiceInstance>> choose(final Request request) {
+		final var supplier = this.serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		return supplier.get(request)
+				.next()
+				.map(this::select);
+	}
+	
+	Response<ServiceInstance> select(final List<ServiceInstance> serviceInstances) {
+		
+		if (serviceInstances.isEmpty()) {
+			log.warn("No servers available for service: {}", this.serviceId);
+			return new EmptyResponse();
+		}
+		if (serviceInstances.size() == 1)
+			return new DefaultResponse(serviceInstances.get(0));
+		
+		switch (this.settings.getStrategy()) {
+			case ROUND_ROBIN:
+				return new DefaultResponse(serviceInstances
+						.get((this.position.incrementAndGet() & Integer.MAX_VALUE) % serviceInstances.size()));
+			case LEAST_OUTSTANDING:
+				return new DefaultResponse(this.pickTwo(serviceInstances, Comparator
+						.comparingInt((ServiceInstance instance) -> this.instanceStatsRegistry.get(instance).outstanding())));
+			case PEAK_EWMA:
+			default:
+				final var now = System.nanoTime();
+				return new DefaultResponse(this.pickTwo(serviceInstances, Comparator
+						.comparingDouble(instance -> this.instanceStatsRegistry.get(instance).cost(now, this.settings.getDecayNanos()))));
+		}
+	}
+	
+	private ServiceInstance pickTwo(final List<ServiceInstance> serviceInstances, final Comparator<ServiceInstance> cheapestFirst) {
+		final var random = ThreadLocalRandom.current();
+		final var first = random.nextInt(serviceInstances.size());
+		var second = random.nextInt(serviceInstances.size() - 1);
+		if (second >= first)
+			second++;
+		final var a = serviceInstances.get(first);
+		final var b = serviceInstances.get(second);
+		return cheapestFirst.compare(a, b) <= 0 ? a : b;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,37 @@
+package com.selimhorri.app.commons.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-client configuration applied to every load-balanced service id; deliberately not a @Configuration
+ * so component scanning does not register it in the application context.
+ */
+public class LatencyAwareLoadBalancerClientConfiguration {
+	
+	@Bean
+	public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(final Environment environment,
+			final LoadBalancerClientFactory loadBalancerClientFactory,
+			final LatencyAwareLoadBalancerProperties latencyAwareLoadBalancerProperties,
+			final InstanceStatsRegistry instanceStatsRegistry) {
+		final var serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		return new LatencyAwareLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+				serviceId, latencyAwareLoadBalancerProperties.forService(serviceId), instanceStatsRegistry);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,36 @@
+package com.selimhorri.app.commons.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.loadbalancer.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(LatencyAwareLoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerClientConfiguration.class)
+public class LatencyAwareLoadBalancerConfig {
+	
+	@Bean
+	public InstanceStatsRegistry instanceStatsRegistry(final LatencyAwareLoadBalancerProperties latencyAwareLoadBalancerProperties) {
+		return new InstanceStatsRegistry(latencyAwareLoadBalancerProperties);
+	}
+	
+	@Bean
+	public LatencyRecordingLoadBalancerLifecycle latencyRecordingLoadBalancerLifecycle(final InstanceStatsRegistry instanceStatsRegistry,
+			final LatencyAwareLoadBalancerProperties latencyAwareLoadBalancerProperties) {
+		return new LatencyRecordingLoadBalancerLifecycle(instanceStatsRegistry, latencyAwareLoadBalancerProperties);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
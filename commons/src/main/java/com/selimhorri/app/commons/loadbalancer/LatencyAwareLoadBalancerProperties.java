@@ -0,0 +1,67 @@
+package com.selimhorri.app.commons.loadbalancer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+import lombok.Value;
+
+@Data
+@ConfigurationProperties(prefix = "app.loadbalancer")
+public class LatencyAwareLoadBalancerProperties {
+	
+	private boolean enabled = true;
+	private LoadBalancingStrategy strategy = LoadBalancingStrategy.PEAK_EWMA;
+	private Duration decay = Duration.ofSeconds(10);
+	private Duration initialLatency = Duration.ofMillis(50);
+	private Duration failurePenalty = Duration.ofSeconds(1);
+	private Map<String, Service> services = new HashMap<>();
+	
+	public Settings forService(final String serviceId) {
+		final var overrides = this.services.entrySet().stream()
+				.filter(entry -> entry.getKey().equalsIgnoreCase(serviceId))
+				.map(Map.Entry::getValue)
+				.findFirst()
+				.orElseGet(Service::new);
+		return new Settings(
+				Optional.ofNullable(overrides.getStrategy()).orElse(this.strategy),
+				Optional.ofNullable(overrides.getDecay()).orElse(this.decay).toNanos(),
+				Optional.ofNullable(overrides.getInitialLatency()).orElse(this.initialLatency).toNanos(),
+				Optional.ofNullable(overrides.getFailurePenalty()).orElse(this.failurePenalty).toNanos());
+	}
+	
+	@Data
+	public static class Service {
+		
+		private LoadBalancingStrategy strategy;
+		private Duration decay;
+		private Duration initialLatency;
+		private Duration failurePenalty;
+		
+	}
+	
+	@Value
+	public static class Settings {
+		
+		LoadBalancingStrategy strategy;
+		long decayNanos;
+		long initialLatencyNanos;
+		long failurePenaltyNanos;
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
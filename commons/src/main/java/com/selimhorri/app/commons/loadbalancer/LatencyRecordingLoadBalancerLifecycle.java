@@ -0,0 +1,85 @@
+package com.selimhorri.app.commons.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Feeds observed round trips back into {@link InstanceStatsRegistry}; picked up by the gateway filter,
+ * the blocking client behind @LoadBalanced RestTemplates and the Feign load-balancer client alike.
+ */
+@RequiredArgsConstructor
+public class LatencyRecordingLoadBalancerLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+	
+	private final InstanceStatsRegistry instanceStatsRegistry;
+	private final LatencyAwareLoadBalancerProperties latencyAwareLoadBalancerProperties;
+	
+	@Override
+	public boolean supports(final Class requestContextClass, final Class responseClass, final Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+	
+	@Override
+	public void onStart(final Request<Object> request) {
+	}
+	
+	@Override
+	public void onStartRequest(final Request<Object> request, final Response<ServiceInstance> lbResponse) {
+		if (request.getContext() instanceof TimedRequestContext)
+			((TimedRequestContext) request.getContext()).setRequestStartTime(System.nanoTime());
+		if (lbResponse != null && lbResponse.hasServer())
+			this.instanceStatsRegistry.get(lbResponse.getServer()).start();
+	}
+	
+	@Override
+	public void onComplete(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		
+		final var lbResponse = completionContext.getLoadBalancerResponse();
+		if (lbResponse == null || !lbResponse.hasServer())
+			return;
+		
+		final var instanceStats = this.instanceStatsRegistry.get(lbResponse.getServer());
+		if (completionContext.status() == CompletionContext.Status.DISCARD) {
+			instanceStats.release();
+			return;
+		}
+		
+		final var now = System.nanoTime();
+		final var settings = this.latencyAwareLoadBalancerProperties.forService(lbResponse.getServer().getServiceId());
+		final var context = completionContext.getLoadBalancerRequest() == null
+				? null
+				: completionContext.getLoadBalancerRequest().getContext();
+		final var startedAt = context instanceof TimedRequestContext ? ((TimedRequestContext) context).getRequestStartTime() : 0L;
+		final var latency = startedAt > 0 ? now - startedAt : -1L;
+		
+		instanceStats.complete(this.isFailure(completionContext)
+				? Math.max(latency, settings.getFailurePenaltyNanos())
+				: latency, now, settings.getDecayNanos());
+	}
+	
+	private boolean isFailure(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		if (completionContext.status() == CompletionContext.Status.FAILED)
+			return true;
+		final var clientResponse = completionContext.getClientResponse();
+		return clientResponse instanceof ResponseData
+				&& ((ResponseData) clientResponse).getHttpStatus() != null
+				&& ((ResponseData) clientResponse).getHttpStatus().is5xxServerError();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
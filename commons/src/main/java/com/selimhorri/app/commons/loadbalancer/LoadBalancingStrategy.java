@@ -0,0 +1,19 @@
+package com.selimhorri.app.commons.loadbalancer;
+
+public enum LoadBalancingStrategy {
+	
+	PEAK_EWMA,
+	LEAST_OUTSTANDING,
+	ROUND_ROBIN;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,90 @@
+package com.selimhorri.app.commons.negotiation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Smile is Jackson's binary JSON: same data model and annotations, no text encode/decode, and repeated
+ * property names in a collection are written once and back-referenced afterwards.
+ */
+public final class BinaryMediaTypes {
+	
+	public static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+	/**
+	 * Accept header for internal calls: Smile first, JSON as the fallback for services that do not speak it.
+	 */
+	public static final String PREFER_SMILE = SMILE + ", " + MediaType.APPLICATION_JSON + ";q=0.9";
+	
+	private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+	private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+	
+	private BinaryMediaTypes() {
+		
+	}
+	
+	/**
+	 * Moves Smile to the front of an Accept list and lowers the quality of the rest, as long as the caller
+	 * already listed Smile, i.e. has a converter able to read it.
+	 */
+	public static List<MediaType> preferSmile(final List<MediaType> accept) {
+		if (accept.stream().noneMatch(SMILE::equalsTypeAndSubtype))
+			return accept;
+		final List<MediaType> preferred = new ArrayList<>();
+		preferred.add(SMILE);
+		accept.stream()
+				.filter(mediaType -> !SMILE.equalsTypeAndSubtype(mediaType))
+				.map(mediaType -> new MediaType(mediaType, withQuality(mediaType.getParameters())))
+				.forEach(preferred::add);
+		return preferred;
+	}
+	
+	public static boolean isSmile(final byte[] body) {
+		return body != null && body.length >= SMILE_HEADER.length
+				&& body[0] == SMILE_HEADER[0] && body[1] == SMILE_HEADER[1] && body[2] == SMILE_HEADER[2];
+	}
+	
+	/**
+	 * Renders a body for logs and error messages, translating Smile back to JSON text.
+	 */
+	public static String toText(final byte[] body) {
+		if (body == null)
+			return "";
+		if (!isSmile(body))
+			return new String(body, StandardCharsets.UTF_8);
+		try {
+			return SMILE_MAPPER.readTree(body).toString();
+		}
+		catch (IOException e) {
+			return "<unreadable smile body of " + body.length + " bytes>";
+		}
+	}
+	
+	private static Map<String, String> withQuality(final Map<String, String> parameters) {
+		final var copy = parameters.entrySet().stream()
+				.filter(entry -> !"q".equals(entry.getKey()))
+				.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+		copy.put("q", "0.9");
+		return copy;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
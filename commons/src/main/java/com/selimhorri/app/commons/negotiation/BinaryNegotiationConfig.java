@@ -0,0 +1,55 @@
+package com.selimhorri.app.commons.negotiation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Services answer Smile to clients that ask for it (Spring MVC registers the Smile converter once
+ * jackson-dataformat-smile is on the classpath) and JSON to everyone else, browsers included. This makes the
+ * services' own RestTemplates ask for it.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnClass(name = "com.fasterxml.jackson.dataformat.smile.SmileFactory")
+@ConditionalOnProperty(name = "app.negotiation.binary.enabled", havingValue = "true", matchIfMissing = true)
+public class BinaryNegotiationConfig {
+	
+	@Bean
+	public static BeanPostProcessor preferSmileRestTemplatePostProcessor() {
+		return new BeanPostProcessor() {
+			
+			@Override
+			public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+				if (bean instanceof RestTemplate) {
+					final var restTemplate = (RestTemplate) bean;
+					final List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>(restTemplate.getInterceptors());
+					interceptors.add(0, new PreferSmileClientHttpRequestInterceptor());
+					restTemplate.setInterceptors(interceptors);
+				}
+				return bean;
+			}
+			
+		};
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
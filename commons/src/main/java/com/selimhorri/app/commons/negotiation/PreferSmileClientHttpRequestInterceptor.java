@@ -0,0 +1,29 @@
+package com.selimhorri.app.commons.negotiation;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+public class PreferSmileClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		request.getHeaders().setAccept(BinaryMediaTypes.preferSmile(request.getHeaders().getAccept()));
+		return execution.execute(request, body);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,93 @@
+package com.selimhorri.app.commons.notification;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Best-effort, fire-and-forget change notifications to other services. A notification is only sent once the
+ * surrounding transaction has committed, runs off the request thread through the {@link RemoteCallExecutor}
+ * guards registered under its name, and is dropped (and counted) rather than retried when the queue is full or
+ * the call fails.
+ */
+@Slf4j
+public class AfterCommitNotifier implements DisposableBean {
+	
+	private final RemoteCallExecutor remoteCallExecutor;
+	private final MeterRegistry meterRegistry;
+	private final ThreadPoolExecutor notificationExecutor;
+	
+	public AfterCommitNotifier(final RemoteCallExecutor remoteCallExecutor, final MeterRegistry meterRegistry,
+			final NotificationProperties notificationProperties) {
+		this.remoteCallExecutor = remoteCallExecutor;
+		this.meterRegistry = meterRegistry;
+		final var threadFactory = new CustomizableThreadFactory("notification-");
+		threadFactory.setDaemon(true);
+		this.notificationExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, notificationProperties.getQueueCapacity())), threadFactory);
+		this.notificationExecutor.allowCoreThreadTimeOut(true);
+	}
+	
+	public void notifyAfterCommit(final String name, final Runnable notification) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.submit(name, notification);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				submit(name, notification);
+			}
+		});
+	}
+	
+	private void submit(final String name, final Runnable notification) {
+		try {
+			this.notificationExecutor.execute(() -> {
+				boolean sent;
+				try {
+					sent = this.remoteCallExecutor.call(name, () -> {
+						notification.run();
+						return true;
+					}, e -> false);
+				}
+				catch (RuntimeException e) {
+					log.warn("*** Notification {} rejected: {} *", name, e.toString());
+					sent = false;
+				}
+				this.meterRegistry.counter("notifications", "name", name, "outcome", sent ? "sent" : "failed").increment();
+			});
+		}
+		catch (RejectedExecutionException e) {
+			log.warn("*** Notification {} dropped, queue full *", name);
+			this.meterRegistry.counter("notifications", "name", name, "outcome", "dropped").increment();
+		}
+	}
+	
+	@Override
+	public void destroy() {
+		this.notificationExecutor.shutdown();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,36 @@
+package com.selimhorri.app.commons.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnClass(name = "org.springframework.transaction.support.TransactionSynchronizationManager")
+@EnableConfigurationProperties(NotificationProperties.class)
+public class NotificationConfig {
+	
+	@Bean
+	public AfterCommitNotifier afterCommitNotifier(final RemoteCallExecutor remoteCallExecutor,
+			final MeterRegistry meterRegistry, final NotificationProperties notificationProperties) {
+		return new AfterCommitNotifier(remoteCallExecutor, meterRegistry, notificationProperties);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,26 @@
+package com.selimhorri.app.commons.notification;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.notification")
+public class NotificationProperties {
+	
+	/**
+	 * Notifications waiting to be sent; further ones are dropped while the queue is full.
+	 */
+	private int queueCapacity = 1024;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,85 @@
+package com.selimhorri.app.commons.persistence;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Purges rows through a bounded delete ({@code DELETE ... WHERE <indexed range> LIMIT :batchSize}), one short
+ * transaction per batch, until a batch comes back short or the per-run batch budget is spent. Batches are paced
+ * to stay under {@link SweepProperties#getMaxRowsPerSecond()}.
+ */
+@Slf4j
+public class BatchSweeper {
+	
+	private final String name;
+	private final SweepProperties sweepProperties;
+	private final Counter purgedRows;
+	private final Timer sweepTimer;
+	
+	public BatchSweeper(final String name, final SweepProperties sweepProperties, final MeterRegistry meterRegistry) {
+		this.name = name;
+		this.sweepProperties = sweepProperties;
+		this.purgedRows = Counter.builder("sweeper.rows.purged")
+				.tag("sweeper", name)
+				.register(meterRegistry);
+		this.sweepTimer = Timer.builder("sweeper.duration")
+				.tag("sweeper", name)
+				.register(meterRegistry);
+	}
+	
+	/**
+	 * @param deleteBatch deletes at most the given number of rows and returns how many it deleted
+	 * @return rows purged by this run
+	 */
+	public long sweep(final IntUnaryOperator deleteBatch) {
+		final var batchSize = Math.max(1, this.sweepProperties.getBatchSize());
+		final var maxRowsPerSecond = Math.max(1, this.sweepProperties.getMaxRowsPerSecond());
+		final var startNanos = System.nanoTime();
+		long purged = 0;
+		int batches = 0;
+		try {
+			while (true) {
+				final var deleted = deleteBatch.applyAsInt(batchSize);
+				batches++;
+				purged += deleted;
+				this.purgedRows.increment(deleted);
+				if (deleted < batchSize || batches >= this.sweepProperties.getMaxBatchesPerRun())
+					break;
+				
+				final var earliestNextNanos = startNanos + TimeUnit.SECONDS.toNanos(purged) / maxRowsPerSecond;
+				final var waitNanos = earliestNextNanos - System.nanoTime();
+				if (waitNanos > 0)
+					this.pause(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			this.sweepTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+		}
+		if (purged > 0)
+			log.info("*** Sweeper {} purged {} rows in {} batches *", this.name, purged, batches);
+		return purged;
+	}
+	
+	protected void pause(final long millis) throws InterruptedException {
+		Thread.sleep(millis);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
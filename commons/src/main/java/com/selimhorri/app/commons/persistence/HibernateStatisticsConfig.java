@@ -0,0 +1,55 @@
+package com.selimhorri.app.commons.persistence;
+
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnClass(name = "org.hibernate.SessionFactory")
+@ConditionalOnProperty(name = "app.persistence.statistics.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(HibernateStatisticsProperties.class)
+public class HibernateStatisticsConfig {
+	
+	@Bean
+	public HibernatePropertiesCustomizer statisticsHibernatePropertiesCustomizer() {
+		return (final Map<String, Object> hibernateProperties) -> hibernateProperties.put("hibernate.generate_statistics", true);
+	}
+	
+	@Bean
+	public SlowQueryLog slowQueryLog(final HibernateStatisticsProperties hibernateStatisticsProperties, final MeterRegistry meterRegistry) {
+		return new SlowQueryLog(hibernateStatisticsProperties, meterRegistry);
+	}
+	
+	@Bean
+	public static BeanPostProcessor slowQueryDataSourcePostProcessor(final ObjectProvider<SlowQueryLog> slowQueryLog) {
+		return new BeanPostProcessor() {
+			
+			@Override
+			public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+				if (bean instanceof DataSource)
+					return SlowQueryDataSource.wrap((DataSource) bean, slowQueryLog.getObject());
+				return bean;
+			}
+			
+		};
+	}
+	
+	@Bean
+	public HibernateStatisticsEndpoint hibernateStatisticsEndpoint(final ObjectProvider<EntityManagerFactory> entityManagerFactory,
+			final SlowQueryLog slowQueryLog) {
+		return new HibernateStatisticsEndpoint(entityManagerFactory, slowQueryLog);
+	}
+	
+}
@@ -0,0 +1,132 @@
+package com.selimhorri.app.commons.persistence;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /actuator/hibernate}: Hibernate statistics plus the slowest statements recorded by the
+ * {@link SlowQueryLog}. A DELETE resets both, which makes before/after comparisons of one request easy.
+ */
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+	
+	private static final int TOP_QUERIES = 10;
+	
+	private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+	private final SlowQueryLog slowQueryLog;
+	
+	public HibernateStatisticsEndpoint(final ObjectProvider<EntityManagerFactory> entityManagerFactory, final SlowQueryLog slowQueryLog) {
+		this.entityManagerFactory = entityManagerFactory;
+		this.slowQueryLog = slowQueryLog;
+	}
+	
+	@ReadOperation
+	public Map<String, Object> statistics() {
+		final var statistics = this.statisticsOf();
+		final Map<String, Object> body = new LinkedHashMap<>();
+		body.put("enabled", statistics.isStatisticsEnabled());
+		body.put("since", Instant.ofEpochMilli(statistics.getStartTime()));
+		body.put("sessions", Map.of(
+				"opened", statistics.getSessionOpenCount(),
+				"closed", statistics.getSessionCloseCount()));
+		body.put("statements", Map.of(
+				"prepared", statistics.getPrepareStatementCount(),
+				"closed", statistics.getCloseStatementCount()));
+		body.put("queries", this.queries(statistics));
+		body.put("entities", this.entities(statistics));
+		body.put("collections", Map.of(
+				"loaded", statistics.getCollectionLoadCount(),
+				"fetched", statistics.getCollectionFetchCount()));
+		body.put("secondLevelCache", this.secondLevelCache(statistics));
+		body.put("slowQueries", this.slowQueryLog.slowest());
+		return body;
+	}
+	
+	@DeleteOperation
+	public void reset() {
+		this.statisticsOf().clear();
+		this.slowQueryLog.clear();
+	}
+	
+	private Map<String, Object> queries(final Statistics statistics) {
+		final Map<String, Object> queries = new LinkedHashMap<>();
+		queries.put("executed", statistics.getQueryExecutionCount());
+		queries.put("maxTimeMs", statistics.getQueryExecutionMaxTime());
+		queries.put("slowest", Arrays.stream(statistics.getQueries())
+				.map(query -> Map.entry(query, statistics.getQueryStatistics(query)))
+				.sorted(Comparator.comparingLong((Map.Entry<String, QueryStatistics> entry) -> entry
+						.getValue().getExecutionMaxTime()).reversed())
+				.limit(TOP_QUERIES)
+				.map(entry -> Map.of(
+						"query", entry.getKey(),
+						"count", entry.getValue().getExecutionCount(),
+						"avgTimeMs", entry.getValue().getExecutionAvgTime(),
+						"maxTimeMs", entry.getValue().getExecutionMaxTime(),
+						"rows", entry.getValue().getExecutionRowCount()))
+				.collect(Collectors.toUnmodifiableList()));
+		return queries;
+	}
+	
+	/**
+	 * Fetches (as opposed to loads) per entity are what an N+1 looks like, so they are listed per entity.
+	 */
+	private Map<String, Object> entities(final Statistics statistics) {
+		final Map<String, Object> entities = new LinkedHashMap<>();
+		entities.put("loaded", statistics.getEntityLoadCount());
+		entities.put("fetched", statistics.getEntityFetchCount());
+		entities.put("inserted", statistics.getEntityInsertCount());
+		entities.put("updated", statistics.getEntityUpdateCount());
+		entities.put("deleted", statistics.getEntityDeleteCount());
+		entities.put("byEntity", Arrays.stream(statistics.getEntityNames())
+				.sorted()
+				.collect(Collectors.toMap(name -> name.substring(name.lastIndexOf('.') + 1), name -> Map.of(
+						"loaded", statistics.getEntityStatistics(name).getLoadCount(),
+						"fetched", statistics.getEntityStatistics(name).getFetchCount()),
+						(first, second) -> first, LinkedHashMap::new)));
+		return entities;
+	}
+	
+	private Map<String, Object> secondLevelCache(final Statistics statistics) {
+		final Map<String, Object> cache = new LinkedHashMap<>();
+		cache.put("hits", statistics.getSecondLevelCacheHitCount());
+		cache.put("misses", statistics.getSecondLevelCacheMissCount());
+		cache.put("puts", statistics.getSecondLevelCachePutCount());
+		cache.put("queryCacheHits", statistics.getQueryCacheHitCount());
+		cache.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+		cache.put("naturalIdCacheHits", statistics.getNaturalIdCacheHitCount());
+		cache.put("naturalIdCacheMisses", statistics.getNaturalIdCacheMissCount());
+		cache.put("regions", Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+				.sorted()
+				.map(region -> Map.entry(region, Optional.ofNullable(statistics.getCacheRegionStatistics(region))))
+				.filter(entry -> entry.getValue().isPresent())
+				.collect(Collectors.toMap(Map.Entry::getKey, entry -> {
+					final var regionStatistics = entry.getValue().get();
+					return Map.of(
+							"hits", regionStatistics.getHitCount(),
+							"misses", regionStatistics.getMissCount(),
+							"puts", regionStatistics.getPutCount(),
+							"elementsInMemory", regionStatistics.getElementCountInMemory());
+				}, (first, second) -> first, LinkedHashMap::new)));
+		return cache;
+	}
+	
+	private Statistics statisticsOf() {
+		return this.entityManagerFactory.getObject().unwrap(SessionFactory.class).getStatistics();
+	}
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.commons.persistence;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.persistence.statistics")
+public class HibernateStatisticsProperties {
+	
+	private boolean enabled = true;
+	
+	/**
+	 * Statements running longer than this are logged and counted; everything else is only timed.
+	 */
+	private Duration slowQueryThreshold = Duration.ofMillis(200);
+	
+	/**
+	 * How many distinct slow statements the endpoint keeps.
+	 */
+	private int slowQueryCapacity = 20;
+	
+}
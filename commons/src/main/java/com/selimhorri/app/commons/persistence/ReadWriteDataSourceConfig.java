@@ -0,0 +1,68 @@
+package com.selimhorri.app.commons.persistence;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Active once {@code app.datasource.replica.url} is set: the primary pool is built from the usual
+ * {@code spring.datasource.*} properties and the replica pool from {@code app.datasource.replica.*}
+ * (pool settings under {@code .hikari}, as for the primary).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnClass(name = "org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource")
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReadWriteDataSourceConfig {
+	
+	static final String CONNECTION_HANDLING = "hibernate.connection.handling_mode";
+	static final String RELEASE_AFTER_TRANSACTION = "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION";
+	
+	@Bean
+	public ReadWriteRoutingDataSource dataSource(final DataSourceProperties dataSourceProperties, final Environment environment) {
+		final var binder = Binder.get(environment);
+		final var replicaProperties = binder.bind("app.datasource.replica", DataSourceProperties.class)
+				.orElseThrow(() -> new IllegalStateException("app.datasource.replica is not configured"));
+		final var primary = pool(binder, dataSourceProperties, "spring.datasource.hikari");
+		final var replica = pool(binder, replicaProperties, "app.datasource.replica.hikari");
+		log.info("*** Routing read-only transactions to replica {} *", replicaProperties.getUrl());
+		return new ReadWriteRoutingDataSource(primary, replica);
+	}
+	
+	/**
+	 * The routing decision is taken when a connection is fetched. Hibernate's default handling holds the first
+	 * connection for the life of the Session, which with open-in-view is the whole request, so a read-only call
+	 * followed by a write would send the write to the replica; releasing after each transaction routes every
+	 * transaction on its own.
+	 */
+	@Configuration
+	@ConditionalOnClass(name = "org.hibernate.SessionFactory")
+	static class HibernateConnectionReleaseConfig {
+		
+		@Bean
+		public HibernatePropertiesCustomizer connectionReleaseHibernatePropertiesCustomizer() {
+			return (final Map<String, Object> hibernateProperties) -> hibernateProperties
+					.put(CONNECTION_HANDLING, RELEASE_AFTER_TRANSACTION);
+		}
+		
+	}
+	
+	private static DataSource pool(final Binder binder, final DataSourceProperties properties, final String poolPrefix) {
+		final var dataSource = properties.initializeDataSourceBuilder().build();
+		binder.bind(poolPrefix, Bindable.ofInstance(dataSource));
+		return dataSource;
+	}
+	
+}
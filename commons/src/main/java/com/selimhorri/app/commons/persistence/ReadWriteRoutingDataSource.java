@@ -0,0 +1,55 @@
+package com.selimhorri.app.commons.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary. The lazy proxy defers
+ * fetching the physical connection to the first statement, by which time the transaction's read-only flag is
+ * known; work outside a transaction (Flyway, schema validation) always hits the primary.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+	
+	public static final String PRIMARY = "primary";
+	public static final String REPLICA = "replica";
+	
+	private final DataSource primary;
+	private final DataSource replica;
+	
+	public ReadWriteRoutingDataSource(final DataSource primary, final DataSource replica) {
+		this.primary = primary;
+		this.replica = replica;
+		final var router = new AbstractRoutingDataSource() {
+			
+			@Override
+			protected Object determineCurrentLookupKey() {
+				return currentLookupKey();
+			}
+			
+		};
+		router.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+		router.setDefaultTargetDataSource(primary);
+		router.afterPropertiesSet();
+		this.setTargetDataSource(router);
+		this.afterPropertiesSet();
+	}
+	
+	public static String currentLookupKey() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		for (final var pool : new DataSource[] { this.replica, this.primary })
+			if (pool instanceof Closeable)
+				((Closeable) pool).close();
+	}
+	
+}
@@ -0,0 +1,110 @@
+package com.selimhorri.app.commons.persistence;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Thin JDBC proxy that times statement executions and reports the slow ones to the {@link SlowQueryLog}.
+ * Only the elapsed time is measured per call; SQL text is touched only when a statement is over the threshold.
+ */
+public final class SlowQueryDataSource {
+	
+	private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+			"executeLargeUpdate", "executeBatch", "executeLargeBatch");
+	
+	private SlowQueryDataSource() {
+	}
+	
+	/**
+	 * The returned proxy stays {@link Closeable} when the pool is, so Spring still closes it on shutdown. It is a
+	 * Spring AOP proxy rather than a plain JDK one so the pool behind it can be found: a refresh leaves the
+	 * never-refreshable pool alone instead of rebinding the proxy, and pool metrics still see the real pool.
+	 */
+	public static DataSource wrap(final DataSource dataSource, final SlowQueryLog slowQueryLog) {
+		final var proxyFactory = new ProxyFactory();
+		proxyFactory.setTarget(dataSource);
+		proxyFactory.addInterface(DataSource.class);
+		if (dataSource instanceof Closeable)
+			proxyFactory.addInterface(Closeable.class);
+		proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+			final var result = invocation.proceed();
+			if (result instanceof Connection)
+				return wrapConnection((Connection) result, slowQueryLog);
+			return result;
+		});
+		return (DataSource) proxyFactory.getProxy(SlowQueryDataSource.class.getClassLoader());
+	}
+	
+	private static Connection wrapConnection(final Connection connection, final SlowQueryLog slowQueryLog) {
+		return proxy(Connection.class, connection, (target, method, args) -> {
+			final var result = invoke(target, method, args);
+			if (result instanceof CallableStatement)
+				return wrapStatement(CallableStatement.class, (CallableStatement) result, (String) args[0], slowQueryLog);
+			if (result instanceof PreparedStatement)
+				return wrapStatement(PreparedStatement.class, (PreparedStatement) result, (String) args[0], slowQueryLog);
+			if (result instanceof Statement)
+				return wrapStatement(Statement.class, (Statement) result, null, slowQueryLog);
+			return result;
+		});
+	}
+	
+	private static <S extends Statement> S wrapStatement(final Class<S> type, final S statement, final String preparedSql,
+			final SlowQueryLog slowQueryLog) {
+		return proxy(type, statement, (target, method, args) -> {
+			if (!EXECUTE_METHODS.contains(method.getName()))
+				return invoke(target, method, args);
+			final var start = System.nanoTime();
+			try {
+				return invoke(target, method, args);
+			}
+			finally {
+				final var elapsed = System.nanoTime() - start;
+				if (slowQueryLog.isSlow(elapsed)) {
+					final var sql = preparedSql != null ? preparedSql
+							: args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : "<batch>";
+					slowQueryLog.record(sql, elapsed);
+				}
+			}
+		});
+	}
+	
+	private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(final Class<T> type, final T target, final TargetHandler handler) {
+		final InvocationHandler invocationHandler = (proxy, method, args) -> {
+			if ("equals".equals(method.getName()) && method.getParameterCount() == 1)
+				return proxy == args[0];
+			if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0)
+				return System.identityHashCode(proxy);
+			return handler.invoke(target, method, args);
+		};
+		return (T) Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), new Class<?>[] { type }, invocationHandler);
+	}
+	
+	@FunctionalInterface
+	private interface TargetHandler {
+		Object invoke(Object target, Method method, Object[] args) throws Throwable;
+	}
+	
+}
@@ -0,0 +1,108 @@
+package com.selimhorri.app.commons.persistence;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the slowest distinct statements (prepared SQL, so no bind values) seen since start or the last reset.
+ */
+@Slf4j
+public class SlowQueryLog {
+	
+	private final long thresholdNanos;
+	private final int capacity;
+	private final Counter slowQueries;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	
+	public SlowQueryLog(final HibernateStatisticsProperties properties, final MeterRegistry meterRegistry) {
+		this.thresholdNanos = properties.getSlowQueryThreshold().toNanos();
+		this.capacity = Math.max(1, properties.getSlowQueryCapacity());
+		this.slowQueries = meterRegistry.counter("hibernate.statements.slow");
+	}
+	
+	public boolean isSlow(final long elapsedNanos) {
+		return elapsedNanos >= this.thresholdNanos;
+	}
+	
+	public void record(final String sql, final long elapsedNanos) {
+		if (!this.isSlow(elapsedNanos))
+			return;
+		this.slowQueries.increment();
+		log.warn("*** Slow query, {} ms: {} *", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql);
+		this.entries.computeIfAbsent(sql, Entry::new).record(elapsedNanos);
+		if (this.entries.size() > this.capacity)
+			this.evictFastest();
+	}
+	
+	public List<SlowQuery> slowest() {
+		return this.entries.values().stream()
+				.map(Entry::snapshot)
+				.sorted(Comparator.comparingLong(SlowQuery::getMaxTimeMs).reversed())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public void clear() {
+		this.entries.clear();
+	}
+	
+	private void evictFastest() {
+		this.entries.values().stream()
+				.min(Comparator.comparingLong(entry -> entry.maxNanos.get()))
+				.ifPresent(entry -> this.entries.remove(entry.sql, entry));
+	}
+	
+	private static final class Entry {
+		
+		private final String sql;
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong totalNanos = new AtomicLong();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private volatile Instant lastSeen;
+		
+		private Entry(final String sql) {
+			this.sql = sql;
+		}
+		
+		private void record(final long elapsedNanos) {
+			this.count.incrementAndGet();
+			this.totalNanos.addAndGet(elapsedNanos);
+			this.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+			this.lastSeen = Instant.now();
+		}
+		
+		private SlowQuery snapshot() {
+			final var executions = this.count.get();
+			return SlowQuery.builder()
+					.sql(this.sql)
+					.count(executions)
+					.maxTimeMs(TimeUnit.NANOSECONDS.toMillis(this.maxNanos.get()))
+					.avgTimeMs(executions == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(this.totalNanos.get() / executions))
+					.lastSeen(this.lastSeen)
+					.build();
+		}
+		
+	}
+	
+	@Value
+	@Builder
+	public static class SlowQuery {
+		String sql;
+		long count;
+		long maxTimeMs;
+		long avgTimeMs;
+		Instant lastSeen;
+	}
+	
+}
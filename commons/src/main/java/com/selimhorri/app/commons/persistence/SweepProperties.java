@@ -0,0 +1,37 @@
+package com.selimhorri.app.commons.persistence;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * Settings of one {@link BatchSweeper}; each service binds its own instance under {@code app.sweeper.<name>}.
+ */
+@Data
+public class SweepProperties {
+	
+	private boolean enabled = true;
+	private Duration initialDelay = Duration.ofMinutes(5);
+	private Duration interval = Duration.ofHours(1);
+	/**
+	 * How old a row must be before it is swept, for sweepers that purge by age.
+	 */
+	private Duration retention = Duration.ofDays(30);
+	private int batchSize = 500;
+	/**
+	 * Upper bound on the delete rate, so a large backlog is drained gradually instead of competing with requests.
+	 */
+	private int maxRowsPerSecond = 2000;
+	private int maxBatchesPerRun = 200;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,27 @@
+package com.selimhorri.app.commons.resilience;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@EnableConfigurationProperties(RemoteCallProperties.class)
+public class RemoteCallConfig {
+	
+	@Bean
+	public RemoteCallExecutor remoteCallExecutor(final CircuitBreakerRegistry circuitBreakerRegistry,
+			final BulkheadRegistry bulkheadRegistry, final TimeLimiterRegistry timeLimiterRegistry,
+			final MeterRegistry meterRegistry, final RemoteCallProperties remoteCallProperties) {
+		return new RemoteCallExecutor(circuitBreakerRegistry, bulkheadRegistry, timeLimiterRegistry,
+				meterRegistry, remoteCallProperties);
+	}
+	
+}
@@ -0,0 +1,98 @@
+package com.selimhorri.app.commons.resilience;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs an outbound call behind the semaphore bulkhead, circuit breaker and time limiter registered under
+ * {@code name} (configured through the usual {@code resilience4j.*} properties) and falls back instead of
+ * letting a slow downstream hold request threads. Exceptions the circuit breaker is configured to ignore (e.g. a
+ * 4xx answer) say nothing about the downstream's health and are rethrown rather than masked by the fallback.
+ */
+@Slf4j
+public class RemoteCallExecutor implements DisposableBean {
+	
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final BulkheadRegistry bulkheadRegistry;
+	private final TimeLimiterRegistry timeLimiterRegistry;
+	private final MeterRegistry meterRegistry;
+	private final ExecutorService remoteCallExecutor;
+	
+	public RemoteCallExecutor(final CircuitBreakerRegistry circuitBreakerRegistry, final BulkheadRegistry bulkheadRegistry,
+			final TimeLimiterRegistry timeLimiterRegistry, final MeterRegistry meterRegistry,
+			final RemoteCallProperties remoteCallProperties) {
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+		this.bulkheadRegistry = bulkheadRegistry;
+		this.timeLimiterRegistry = timeLimiterRegistry;
+		this.meterRegistry = meterRegistry;
+		final var threadFactory = new CustomizableThreadFactory("remote-call-");
+		threadFactory.setDaemon(true);
+		this.remoteCallExecutor = new ThreadPoolExecutor(0, Math.max(1, remoteCallProperties.getMaxThreads()),
+				60L, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
+	}
+	
+	public <T> T call(final String name, final Supplier<T> call, final Function<Throwable, T> fallback) {
+		final TimeLimiter timeLimiter = this.timeLimiterRegistry.timeLimiter(name);
+		final Callable<T> timeLimited = TimeLimiter.decorateFutureSupplier(timeLimiter,
+				() -> CompletableFuture.supplyAsync(call, this.remoteCallExecutor));
+		final CircuitBreaker circuitBreaker = this.circuitBreakerRegistry.circuitBreaker(name);
+		final Callable<T> guarded = Bulkhead.decorateCallable(this.bulkheadRegistry.bulkhead(name),
+				CircuitBreaker.decorateCallable(circuitBreaker, timeLimited));
+		try {
+			return guarded.call();
+		}
+		catch (RuntimeException e) {
+			if (circuitBreaker.getCircuitBreakerConfig().getIgnoreExceptionPredicate().test(e))
+				throw e;
+			return this.fallback(name, e, fallback);
+		}
+		catch (Exception e) {
+			return this.fallback(name, e, fallback);
+		}
+	}
+	
+	private <T> T fallback(final String name, final Exception e, final Function<Throwable, T> fallback) {
+		final var reason = reasonOf(e);
+		log.warn("*** Remote call {} degraded ({}): {} *", name, reason, e.toString());
+		this.meterRegistry.counter("remote.calls.fallback", "name", name, "reason", reason).increment();
+		return fallback.apply(e);
+	}
+	
+	private static String reasonOf(final Throwable throwable) {
+		if (throwable instanceof CallNotPermittedException)
+			return "circuit_open";
+		if (throwable instanceof BulkheadFullException || throwable instanceof RejectedExecutionException)
+			return "bulkhead_full";
+		if (throwable instanceof TimeoutException)
+			return "timeout";
+		return "error";
+	}
+	
+	@Override
+	public void destroy() {
+		this.remoteCallExecutor.shutdown();
+	}
+	
+}
@@ -0,0 +1,17 @@
+package com.selimhorri.app.commons.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.remote-call")
+public class RemoteCallProperties {
+	
+	/**
+	 * Upper bound for threads running time-limited remote calls; per-downstream concurrency is capped by the
+	 * resilience4j bulkhead of the same name.
+	 */
+	private int maxThreads = 64;
+	
+}
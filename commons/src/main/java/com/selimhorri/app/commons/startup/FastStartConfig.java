@@ -0,0 +1,49 @@
+package com.selimhorri.app.commons.startup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Under the fast-start profile everything is lazy except the persistence bootstrap: the DataSource, Flyway and
+ * the EntityManagerFactory still start eagerly (the latter on a background thread thanks to deferred repository
+ * bootstrap), so the first request does not pay for Hibernate.
+ */
+@Configuration
+@Profile("fast-start")
+public class FastStartConfig {
+	
+	private static final Set<String> EAGER_BEAN_NAMES = Set.of("dataSource", "flywayInitializer", "entityManagerFactory");
+	private static final List<String> EAGER_BEAN_TYPES = List.of(
+			"javax.sql.DataSource",
+			"javax.persistence.EntityManagerFactory",
+			"org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer");
+	
+	@Bean
+	public static LazyInitializationExcludeFilter persistenceLazyInitializationExcludeFilter() {
+		final var classLoader = FastStartConfig.class.getClassLoader();
+		final List<Class<?>> eagerTypes = EAGER_BEAN_TYPES.stream()
+				.filter(type -> ClassUtils.isPresent(type, classLoader))
+				.map(type -> ClassUtils.resolveClassName(type, classLoader))
+				.collect(Collectors.toUnmodifiableList());
+		return (beanName, beanDefinition, beanType) -> EAGER_BEAN_NAMES.contains(beanName)
+				|| (beanType != null && eagerTypes.stream().anyMatch(type -> type.isAssignableFrom(beanType)));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
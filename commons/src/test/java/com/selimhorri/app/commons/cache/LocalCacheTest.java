@@ -0,0 +1,85 @@
+package com.selimhorri.app.commons.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LocalCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LocalCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        LocalCacheProperties properties = new LocalCacheProperties();
+        properties.setMaxSize(2);
+        properties.setTtl(Duration.ofSeconds(60));
+        properties.setNegativeTtl(Duration.ofSeconds(5));
+        this.cache = new LocalCache<>("tokens", properties, this.meterRegistry, this.now::get);
+    }
+
+    private Optional<String> load(String key) {
+        this.loads.incrementAndGet();
+        return key.startsWith("known") ? Optional.of(key.toUpperCase()) : Optional.empty();
+    }
+
+    @Test
+    void cachesHitsAndMisses() {
+        assertEquals(Optional.of("KNOWN-1"), this.cache.get("known-1", this::load));
+        assertEquals(Optional.of("KNOWN-1"), this.cache.get("known-1", this::load));
+        assertFalse(this.cache.get("unknown", this::load).isPresent());
+        assertFalse(this.cache.get("unknown", this::load).isPresent());
+
+        assertEquals(2, this.loads.get());
+        assertEquals(2.0, this.meterRegistry.get("cache.gets").tag("result", "hit").counter().count());
+        assertEquals(2.0, this.meterRegistry.get("cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void negativeEntriesExpireBeforePositiveOnes() {
+        this.cache.get("known-1", this::load);
+        this.cache.get("unknown", this::load);
+
+        this.now.addAndGet(Duration.ofSeconds(10).toNanos());
+        this.cache.get("known-1", this::load);
+        this.cache.get("unknown", this::load);
+
+        assertEquals(3, this.loads.get());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxSize() {
+        this.cache.get("known-1", this::load);
+        this.cache.get("known-2", this::load);
+        this.cache.get("known-1", this::load);
+        this.cache.get("known-3", this::load);
+
+        assertEquals(2, this.cache.size());
+        this.cache.get("known-1", this::load);
+        assertEquals(3, this.loads.get());
+        this.cache.get("known-2", this::load);
+        assertEquals(4, this.loads.get());
+    }
+
+    @Test
+    void invalidateIfDropsMatchingValues() {
+        this.cache.get("known-1", this::load);
+        this.cache.get("known-2", this::load);
+
+        this.cache.invalidateIf("KNOWN-1"::equals);
+        this.cache.invalidate("known-2");
+
+        assertEquals(0, this.cache.size());
+    }
+}
@@ -0,0 +1,187 @@
+package com.selimhorri.app.commons.compression;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CompressionFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CompressionFilter filter = new CompressionFilter(new CompressionProperties(), this.meterRegistry);
+
+    private static byte[] json(int size) {
+        StringBuilder builder = new StringBuilder("[");
+        while (builder.length() < size)
+            builder.append("{\"productId\":1,\"productTitle\":\"asus\"},");
+        builder.setLength(builder.length() - 1);
+        return builder.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static FilterChain writing(byte[] body, String contentType) {
+        return (request, response) -> {
+            response.setContentType(contentType);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            response.getOutputStream().flush();
+        };
+    }
+
+    private MockHttpServletResponse run(String acceptEncoding, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        if (acceptEncoding != null)
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void compressesLargeJsonForGzipClients() throws Exception {
+        byte[] body = json(20_000);
+
+        MockHttpServletResponse response = run("gzip, deflate, br", writing(body, "application/json"));
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertNull(response.getHeader("Content-Length"));
+        assertArrayEquals(body, gunzip(response.getContentAsByteArray()));
+        assertTrue(response.getContentAsByteArray().length < body.length / 4);
+        assertEquals(body.length, this.meterRegistry.get("http.server.compression.bytes").tag("stage", "original").counter().count());
+        assertEquals(1, this.meterRegistry.get("http.server.compression.ratio").summary().count());
+    }
+
+    @Test
+    void leavesSmallBodiesUncompressed() throws Exception {
+        byte[] body = json(200);
+
+        MockHttpServletResponse response = run("gzip", writing(body, "application/json"));
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(body.length, response.getContentLength());
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void skipsClientsWithoutGzipAndBinaryContent() throws Exception {
+        byte[] body = json(20_000);
+
+        MockHttpServletResponse identity = run("gzip;q=0, identity", writing(body, "application/json"));
+        MockHttpServletResponse binary = run("gzip", writing(body, "image/png"));
+
+        assertNull(identity.getHeader("Content-Encoding"));
+        assertArrayEquals(body, identity.getContentAsByteArray());
+        assertNull(binary.getHeader("Content-Encoding"));
+        assertEquals(body.length, binary.getContentLength());
+    }
+
+    @Test
+    void relaysAlreadyEncodedBodies() throws Exception {
+        byte[] body = json(20_000);
+
+        MockHttpServletResponse response = run("gzip", (request, servletResponse) -> {
+            ((HttpServletResponse) servletResponse).setHeader("Content-Encoding", "gzip");
+            writing(body, "application/json").doFilter(request, servletResponse);
+        });
+
+        assertArrayEquals(body, response.getContentAsByteArray());
+        assertFalse(this.meterRegistry.find("http.server.compression.ratio").summary().count() > 0);
+    }
+
+    @Test
+    void delegatesNonBlockingWritesToTheContainerStream() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ContainerOutputStream container = new ContainerOutputStream(response);
+        HttpServletResponse containerResponse = new HttpServletResponseWrapper(response) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return container;
+            }
+        };
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Accept-Encoding", "gzip");
+        boolean[] ready = new boolean[1];
+
+        this.filter.doFilter(request, containerResponse, (servletRequest, servletResponse) -> {
+            servletResponse.setContentType("application/json");
+            ServletOutputStream out = servletResponse.getOutputStream();
+            out.setWriteListener(listener);
+            container.ready = false;
+            ready[0] = out.isReady();
+            out.write(json(20_000));
+        });
+
+        assertSame(listener, container.listener);
+        assertFalse(ready[0]);
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+    }
+
+    @Test
+    void parsesAcceptEncoding() {
+        assertTrue(AcceptEncoding.acceptsGzip("deflate, gzip;q=0.8"));
+        assertTrue(AcceptEncoding.acceptsGzip("*"));
+        assertFalse(AcceptEncoding.acceptsGzip("br"));
+        assertFalse(AcceptEncoding.acceptsGzip("gzip;q=0"));
+        assertFalse(AcceptEncoding.acceptsGzip(null));
+    }
+
+    private static final class ContainerOutputStream extends ServletOutputStream {
+
+        private final MockHttpServletResponse response;
+        private boolean ready = true;
+        private WriteListener listener;
+
+        private ContainerOutputStream(MockHttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.response.getOutputStream().write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return this.ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            this.listener = writeListener;
+        }
+    }
+}
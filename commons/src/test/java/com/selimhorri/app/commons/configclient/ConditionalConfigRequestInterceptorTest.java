@@ -0,0 +1,87 @@
+package com.selimhorri.app.commons.configclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+class ConditionalConfigRequestInterceptorTest {
+
+    private static final String URL = "http://localhost:9296/product-service/dev";
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        this.restTemplate = new RestTemplate();
+        this.restTemplate.getInterceptors().add(new ConditionalConfigRequestInterceptor());
+        this.server = MockRestServiceServer.bindTo(this.restTemplate).build();
+    }
+
+    private static HttpHeaders etag(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        return headers;
+    }
+
+    @Test
+    void replaysCachedBodyWhenServerAnswersNotModified() {
+        this.server.expect(requestTo(URL)).andExpect(headerDoesNotExist("If-None-Match"))
+                .andRespond(withSuccess("{\"name\":\"product-service\"}", MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+        this.server.expect(requestTo(URL)).andExpect(header("If-None-Match", "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        this.restTemplate.getForEntity(URL, String.class);
+        ResponseEntity<String> response = this.restTemplate.getForEntity(URL, String.class);
+
+        this.server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"name\":\"product-service\"}", response.getBody());
+    }
+
+    @Test
+    void replacesCachedBodyWhenServerSendsANewOne() {
+        this.server.expect(requestTo(URL))
+                .andRespond(withSuccess("{\"version\":1}", MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+        this.server.expect(requestTo(URL)).andExpect(header("If-None-Match", "\"v1\""))
+                .andRespond(withSuccess("{\"version\":2}", MediaType.APPLICATION_JSON).headers(etag("\"v2\"")));
+        this.server.expect(requestTo(URL)).andExpect(header("If-None-Match", "\"v2\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        this.restTemplate.getForEntity(URL, String.class);
+        this.restTemplate.getForEntity(URL, String.class);
+        ResponseEntity<String> response = this.restTemplate.getForEntity(URL, String.class);
+
+        this.server.verify();
+        assertEquals("{\"version\":2}", response.getBody());
+    }
+
+    @Test
+    void sendsNoConditionAfterAnUntaggedResponse() {
+        this.server.expect(requestTo(URL))
+                .andRespond(withSuccess("{\"version\":1}", MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+        this.server.expect(requestTo(URL)).andExpect(header("If-None-Match", "\"v1\""))
+                .andRespond(withSuccess("{\"version\":2}", MediaType.APPLICATION_JSON));
+        this.server.expect(requestTo(URL)).andExpect(headerDoesNotExist("If-None-Match"))
+                .andRespond(withSuccess("{\"version\":2}", MediaType.APPLICATION_JSON));
+
+        this.restTemplate.getForEntity(URL, String.class);
+        this.restTemplate.getForEntity(URL, String.class);
+        this.restTemplate.getForEntity(URL, String.class);
+
+        this.server.verify();
+    }
+
+}
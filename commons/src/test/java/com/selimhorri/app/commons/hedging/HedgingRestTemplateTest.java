@@ -0,0 +1,224 @@
+package com.selimhorri.app.commons.hedging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerInterceptor;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerRequest;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.commons.loadbalancer.InstanceStatsRegistry;
+import com.selimhorri.app.commons.loadbalancer.LatencyAwareLoadBalancerProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class HedgingRestTemplateTest {
+
+    private static final String URL = "http://PRODUCT-SERVICE/product-service/api/products/1";
+    private static final URI SLOW_URI = URI.create("http://10.0.0.1:8500/product-service/api/products/1");
+    private static final URI FAST_URI = URI.create("http://10.0.0.2:8500/product-service/api/products/1");
+    private static final URI IDLE_URI = URI.create("http://10.0.0.3:8500/product-service/api/products/1");
+
+    @Mock
+    private RestTemplate directRestTemplate;
+
+    @Mock
+    private LoadBalancerClient loadBalancerClient;
+
+    @Mock
+    private DiscoveryClient discoveryClient;
+
+    private final ServiceInstance slow = new DefaultServiceInstance("slow", "PRODUCT-SERVICE", "10.0.0.1", 8500, false);
+    private final ServiceInstance fast = new DefaultServiceInstance("fast", "PRODUCT-SERVICE", "10.0.0.2", 8500, false);
+    private final ServiceInstance idle = new DefaultServiceInstance("idle", "PRODUCT-SERVICE", "10.0.0.3", 8500, false);
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private HedgingProperties properties;
+    private InstanceStatsRegistry instanceStatsRegistry;
+
+    @BeforeEach
+    void setUp() {
+        this.executor = Executors.newCachedThreadPool();
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.properties = new HedgingProperties();
+        this.properties.setServices(Set.of("PRODUCT-SERVICE"));
+        this.properties.setInitialDelay(Duration.ofMillis(20));
+        this.properties.setBudgetPercent(100);
+        this.instanceStatsRegistry = new InstanceStatsRegistry(new LatencyAwareLoadBalancerProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedToAnotherInstanceAndHedgeWins() throws Exception {
+        runAttemptsThroughLoadBalancer();
+        when(this.loadBalancerClient.choose("PRODUCT-SERVICE")).thenReturn(this.slow);
+        when(this.loadBalancerClient.reconstructURI(eq(this.slow), any(URI.class))).thenReturn(SLOW_URI);
+        when(this.loadBalancerClient.reconstructURI(eq(this.fast), any(URI.class))).thenReturn(FAST_URI);
+        when(this.discoveryClient.getInstances("PRODUCT-SERVICE")).thenReturn(List.of(this.slow, this.fast));
+        when(this.directRestTemplate.getForObject(SLOW_URI, String.class)).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return "slow";
+        });
+        when(this.directRestTemplate.getForObject(FAST_URI, String.class)).thenReturn("fast");
+
+        String result = hedgingRestTemplate().getForObject(URL, String.class);
+
+        assertEquals("fast", result);
+        assertEquals(1.0, this.meterRegistry.counter("http.client.hedging.fired", "service", "PRODUCT-SERVICE").count());
+        // the winner is counted after it completes the caller's future
+        assertEquals(1.0, awaitCount(this.meterRegistry.counter("http.client.hedging.won", "service", "PRODUCT-SERVICE")));
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() throws Exception {
+        runAttemptsThroughLoadBalancer();
+        when(this.loadBalancerClient.choose("PRODUCT-SERVICE")).thenReturn(this.fast);
+        when(this.loadBalancerClient.reconstructURI(eq(this.fast), any(URI.class))).thenReturn(FAST_URI);
+        when(this.directRestTemplate.getForObject(FAST_URI, String.class)).thenReturn("fast");
+
+        assertEquals("fast", hedgingRestTemplate().getForObject(URL, String.class));
+        assertEquals(0.0, this.meterRegistry.counter("http.client.hedging.fired", "service", "PRODUCT-SERVICE").count());
+        verify(this.discoveryClient, never()).getInstances(any());
+    }
+
+    @Test
+    void hedgeGoesToTheLeastLoadedOtherInstance() throws Exception {
+        runAttemptsThroughLoadBalancer();
+        this.instanceStatsRegistry.get(this.fast).start();
+        this.instanceStatsRegistry.get(this.fast).start();
+        when(this.loadBalancerClient.choose("PRODUCT-SERVICE")).thenReturn(this.slow);
+        when(this.loadBalancerClient.reconstructURI(eq(this.slow), any(URI.class))).thenReturn(SLOW_URI);
+        when(this.loadBalancerClient.reconstructURI(eq(this.idle), any(URI.class))).thenReturn(IDLE_URI);
+        when(this.discoveryClient.getInstances("PRODUCT-SERVICE")).thenReturn(List.of(this.slow, this.fast, this.idle));
+        when(this.directRestTemplate.getForObject(SLOW_URI, String.class)).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return "slow";
+        });
+        when(this.directRestTemplate.getForObject(IDLE_URI, String.class)).thenReturn("idle");
+
+        assertEquals("idle", hedgingRestTemplate().getForObject(URI.create(URL), String.class));
+        verify(this.directRestTemplate, never()).getForObject(FAST_URI, String.class);
+    }
+
+    @Test
+    void saturatedExecutorRunsThePrimaryOnTheCallerThread() throws Exception {
+        runAttemptsThroughLoadBalancer();
+        this.executor.shutdownNow();
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS, new SynchronousQueue<>());
+        this.executor.shutdown();
+        when(this.loadBalancerClient.choose("PRODUCT-SERVICE")).thenReturn(this.fast);
+        when(this.loadBalancerClient.reconstructURI(eq(this.fast), any(URI.class))).thenReturn(FAST_URI);
+        when(this.directRestTemplate.getForObject(FAST_URI, String.class)).thenReturn("fast");
+
+        assertEquals("fast", hedgingRestTemplate().getForObject(URL, String.class));
+        assertEquals(1.0, this.meterRegistry.counter("http.client.hedging.caller.runs", "service", "PRODUCT-SERVICE").count());
+    }
+
+    @Test
+    void callerStopsWaitingWhenBothAttemptsStall() throws Exception {
+        runAttemptsThroughLoadBalancer();
+        this.properties.setConnectTimeout(Duration.ofMillis(50));
+        this.properties.setReadTimeout(Duration.ofMillis(50));
+        when(this.loadBalancerClient.choose("PRODUCT-SERVICE")).thenReturn(this.slow);
+        when(this.loadBalancerClient.reconstructURI(eq(this.slow), any(URI.class))).thenReturn(SLOW_URI);
+        when(this.loadBalancerClient.reconstructURI(eq(this.fast), any(URI.class))).thenReturn(FAST_URI);
+        when(this.discoveryClient.getInstances("PRODUCT-SERVICE")).thenReturn(List.of(this.slow, this.fast));
+        when(this.directRestTemplate.getForObject(any(URI.class), eq(String.class))).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return "stalled";
+        });
+
+        long startedAt = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> hedgingRestTemplate().getForObject(URL, String.class));
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void attemptsGoThroughTheSameInterceptorsExceptTheLoadBalancer() {
+        ClientHttpRequestInterceptor accept = (request, body, execution) -> execution.execute(request, body);
+        LoadBalancerInterceptor loadBalancer = new LoadBalancerInterceptor(this.loadBalancerClient);
+
+        hedgingRestTemplate().setInterceptors(List.of(accept, loadBalancer));
+
+        verify(this.directRestTemplate).setInterceptors(List.of(accept));
+    }
+
+    @Test
+    void hedgeBudgetCapsExtraLoad() {
+        HedgeBudget budget = new HedgeBudget(5.0, 1);
+
+        for (int i = 0; i < 19; i++)
+            budget.deposit();
+        assertFalse(budget.tryWithdraw());
+
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void latencyTrackerReportsPercentileOfWindow() {
+        LatencyTracker tracker = new LatencyTracker(100, 0.95);
+        for (int i = 1; i <= 100; i++)
+            tracker.record(i);
+
+        assertEquals(95L, tracker.percentileNanos());
+    }
+
+    private static double awaitCount(Counter counter) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (counter.count() == 0.0 && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        return counter.count();
+    }
+
+    /**
+     * Attempts must go through {@link LoadBalancerClient#execute} so the balancer's lifecycle sees them.
+     */
+    private void runAttemptsThroughLoadBalancer() throws Exception {
+        when(this.loadBalancerClient.execute(eq("PRODUCT-SERVICE"), any(ServiceInstance.class), any()))
+                .thenAnswer(invocation -> invocation.<LoadBalancerRequest<?>>getArgument(2)
+                        .apply(invocation.getArgument(1)));
+    }
+
+    private HedgingRestTemplate hedgingRestTemplate() {
+        return new HedgingRestTemplate(this.directRestTemplate, this.loadBalancerClient, this.discoveryClient,
+                this.instanceStatsRegistry, this.properties, this.meterRegistry, this.executor);
+    }
+}
@@ -0,0 +1,120 @@
+package com.selimhorri.app.commons.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TimingClientHttpRequestInterceptorTest {
+
+    private static final String PRODUCT_URL = "http://PRODUCT-SERVICE/product-service/api/products/12";
+
+    private SimpleMeterRegistry meterRegistry;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.restTemplate = new RestTemplate();
+        this.restTemplate.setInterceptors(List.of(interceptor()));
+        this.restTemplate.setUriTemplateHandler(
+                TimingClientHttpRequestInterceptor.capturing(this.restTemplate.getUriTemplateHandler()));
+        this.server = MockRestServiceServer.bindTo(this.restTemplate).build();
+    }
+
+    @Test
+    void interceptRecordsTimerPerServiceAndNormalizedPath() {
+        this.server.expect(requestTo(PRODUCT_URL)).andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        this.restTemplate.getForObject(PRODUCT_URL, String.class);
+
+        final Timer timer = this.meterRegistry.find(MethodTimers.CLIENT_CALLS)
+                .tags("service", "PRODUCT-SERVICE", "method", "GET /product-service/api/products/{id}", "status", "200", "outcome", "success")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void interceptTagsServerErrors() {
+        this.server.expect(requestTo(PRODUCT_URL)).andRespond(withServerError());
+
+        assertThrows(HttpServerErrorException.class, () -> this.restTemplate.getForObject(PRODUCT_URL, String.class));
+
+        assertNotNull(this.meterRegistry.find(MethodTimers.CLIENT_CALLS).tags("status", "500", "outcome", "server_error").timer());
+    }
+
+    @Test
+    void interceptTagsTheUriTemplateRatherThanTheExpandedPath() {
+        this.server.expect(requestTo("http://USER-SERVICE/user-service/api/credentials/username/alice?full=true"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        this.server.expect(requestTo("http://USER-SERVICE/user-service/api/credentials/username/bob"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        this.restTemplate.getForObject("http://USER-SERVICE/user-service/api/credentials/username/{username}?full={full}",
+                String.class, "alice", true);
+        this.restTemplate.getForObject("http://USER-SERVICE/user-service/api/credentials/username/{user}",
+                String.class, Map.of("user", "bob"));
+
+        assertEquals(2, this.meterRegistry.find(MethodTimers.CLIENT_CALLS).timers().size());
+        assertNotNull(this.meterRegistry.find(MethodTimers.CLIENT_CALLS)
+                .tags("method", "GET /user-service/api/credentials/username/{username}").timer());
+        assertNotNull(this.meterRegistry.find(MethodTimers.CLIENT_CALLS)
+                .tags("method", "GET /user-service/api/credentials/username/{user}").timer());
+    }
+
+    @Test
+    void normalizeFoldsIdsIdListsAndValuesAfterKeySegments() {
+        TimingClientHttpRequestInterceptor interceptor = interceptor();
+
+        assertEquals("/order-service/api/carts/{id}/orders/{id}",
+                interceptor.normalize("/order-service/api/carts/7/orders/42"));
+        assertEquals("/shipping-service/api/shippings/orders/{id}",
+                interceptor.normalize("/shipping-service/api/shippings/orders/1,2,3"));
+        assertEquals("/user-service/api/credentials/username/{username}",
+                interceptor.normalize("/user-service/api/credentials/username/john"));
+        assertEquals("/user-service/api/credentials/username/{username}",
+                interceptor.normalize("/user-service/api/credentials/username/{username}"));
+    }
+
+    @Test
+    void methodTagsAreCappedByTheMeterFilter() {
+        this.meterRegistry.config().meterFilter(new InstrumentationConfig().clientCallsMethodLimit(properties(2)));
+        String url = "http://PRODUCT-SERVICE/product-service/api/route";
+        for (int i = 0; i < 5; i++)
+            this.server.expect(requestTo(url + i)).andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        for (int i = 0; i < 5; i++)
+            this.restTemplate.getForObject(url + i, String.class);
+
+        assertEquals(2, this.meterRegistry.find(MethodTimers.CLIENT_CALLS).timers().size());
+    }
+
+    private TimingClientHttpRequestInterceptor interceptor() {
+        return new TimingClientHttpRequestInterceptor(new MethodTimers(this.meterRegistry, new InstrumentationProperties()),
+                new InstrumentationProperties().getClientKeySegments());
+    }
+
+    private static InstrumentationProperties properties(int maxClientMethods) {
+        InstrumentationProperties properties = new InstrumentationProperties();
+        properties.setMaxClientMethods(maxClientMethods);
+        return properties;
+    }
+
+}
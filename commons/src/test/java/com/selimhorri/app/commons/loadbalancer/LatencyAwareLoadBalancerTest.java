@@ -0,0 +1,92 @@
+package com.selimhorri.app.commons.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+class LatencyAwareLoadBalancerTest {
+
+    private LatencyAwareLoadBalancerProperties properties;
+    private InstanceStatsRegistry registry;
+    private ServiceInstance fast;
+    private ServiceInstance slow;
+
+    @BeforeEach
+    void setUp() {
+        this.properties = new LatencyAwareLoadBalancerProperties();
+        this.registry = new InstanceStatsRegistry(this.properties);
+        this.fast = new DefaultServiceInstance("fast", "PRODUCT-SERVICE", "10.0.0.1", 8500, false);
+        this.slow = new DefaultServiceInstance("slow", "PRODUCT-SERVICE", "10.0.0.2", 8500, false);
+    }
+
+    @Test
+    void peakEwmaAlwaysPrefersTheFasterOfTwoInstances() {
+        long now = System.nanoTime();
+        long decay = this.properties.getDecay().toNanos();
+        this.registry.get(this.fast).observe(TimeUnit.MILLISECONDS.toNanos(5), now, decay);
+        this.registry.get(this.slow).observe(TimeUnit.MILLISECONDS.toNanos(900), now, decay);
+        LatencyAwareLoadBalancer loadBalancer = loadBalancer(LoadBalancingStrategy.PEAK_EWMA);
+
+        for (int i = 0; i < 50; i++)
+            assertSame(this.fast, loadBalancer.select(List.of(this.fast, this.slow)).getServer());
+    }
+
+    @Test
+    void leastOutstandingPrefersTheLessBusyInstance() {
+        this.registry.get(this.fast).start();
+        this.registry.get(this.fast).start();
+        this.registry.get(this.slow).start();
+        LatencyAwareLoadBalancer loadBalancer = loadBalancer(LoadBalancingStrategy.LEAST_OUTSTANDING);
+
+        assertSame(this.slow, loadBalancer.select(List.of(this.fast, this.slow)).getServer());
+    }
+
+    @Test
+    void selectReturnsEmptyResponseWithoutInstances() {
+        assertFalse(loadBalancer(LoadBalancingStrategy.PEAK_EWMA).select(List.of()).hasServer());
+    }
+
+    @Test
+    void peakIsTakenImmediatelyAndRecoveryIsGradual() {
+        long decay = TimeUnit.SECONDS.toNanos(10);
+        InstanceStats stats = new InstanceStats(TimeUnit.MILLISECONDS.toNanos(10), 0);
+
+        stats.observe(TimeUnit.MILLISECONDS.toNanos(500), 0, decay);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), stats.latencyNanos(0, decay), 1);
+
+        stats.observe(TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.SECONDS.toNanos(1), decay);
+        double recovered = stats.latencyNanos(TimeUnit.SECONDS.toNanos(1), decay);
+        assertTrue(recovered < TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(recovered > TimeUnit.MILLISECONDS.toNanos(400));
+    }
+
+    @Test
+    void perServiceOverridesFallBackToDefaults() {
+        LatencyAwareLoadBalancerProperties.Service override = new LatencyAwareLoadBalancerProperties.Service();
+        override.setStrategy(LoadBalancingStrategy.ROUND_ROBIN);
+        this.properties.getServices().put("product-service", override);
+        this.properties.setDecay(Duration.ofSeconds(3));
+
+        LatencyAwareLoadBalancerProperties.Settings settings = this.properties.forService("PRODUCT-SERVICE");
+
+        assertEquals(LoadBalancingStrategy.ROUND_ROBIN, settings.getStrategy());
+        assertEquals(Duration.ofSeconds(3).toNanos(), settings.getDecayNanos());
+        assertEquals(LoadBalancingStrategy.PEAK_EWMA, this.properties.forService("USER-SERVICE").getStrategy());
+    }
+
+    private LatencyAwareLoadBalancer loadBalancer(LoadBalancingStrategy strategy) {
+        this.properties.setStrategy(strategy);
+        return new LatencyAwareLoadBalancer(null, "PRODUCT-SERVICE", this.properties.forService("PRODUCT-SERVICE"),
+                this.registry);
+    }
+}
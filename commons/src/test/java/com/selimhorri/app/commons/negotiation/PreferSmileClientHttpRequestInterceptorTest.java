@@ -0,0 +1,60 @@
+package com.selimhorri.app.commons.negotiation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+class PreferSmileClientHttpRequestInterceptorTest {
+
+    @Test
+    void asksForSmileFirstAndDecodesIt() throws Exception {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new PreferSmileClientHttpRequestInterceptor());
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(Map.of("productId", 1));
+
+        server.expect(requestTo("http://PRODUCT-SERVICE/product-service/api/products/1"))
+                .andExpect(request -> {
+                    List<MediaType> accept = request.getHeaders().getAccept();
+                    assertEquals(BinaryMediaTypes.SMILE, accept.get(0));
+                    assertTrue(accept.stream().skip(1).allMatch(mediaType -> mediaType.getQualityValue() < 1.0));
+                })
+                .andRespond(withSuccess(smile, BinaryMediaTypes.SMILE));
+
+        Map<?, ?> body = restTemplate.getForObject("http://PRODUCT-SERVICE/product-service/api/products/1", Map.class);
+
+        assertEquals(1, body.get("productId"));
+        server.verify();
+    }
+
+    @Test
+    void leavesAcceptAloneWhenSmileCannotBeRead() {
+        List<MediaType> accept = List.of(MediaType.TEXT_PLAIN, MediaType.ALL);
+
+        assertEquals(accept, BinaryMediaTypes.preferSmile(accept));
+    }
+
+    @Test
+    void rendersSmileBodiesAsJsonText() throws Exception {
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(Map.of("msg", "not found"));
+
+        assertTrue(BinaryMediaTypes.isSmile(smile));
+        assertEquals("{\"msg\":\"not found\"}", BinaryMediaTypes.toText(smile));
+        assertFalse(BinaryMediaTypes.isSmile("{}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("{}", BinaryMediaTypes.toText("{}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.selimhorri.app.commons.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AfterCommitNotifierTest {
+
+    @Mock
+    private RemoteCallExecutor remoteCallExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AfterCommitNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.notifier = new AfterCommitNotifier(this.remoteCallExecutor, this.meterRegistry, new NotificationProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.notifier.destroy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void callThrough() {
+        when(this.remoteCallExecutor.call(eq("orderSummary"), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<Boolean>) invocation.getArgument(1)).get());
+    }
+
+    private void awaitOutcome(String outcome, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (count(outcome) < expected && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        assertEquals(expected, count(outcome));
+    }
+
+    private double count(String outcome) {
+        return this.meterRegistry.counter("notifications", "name", "orderSummary", "outcome", outcome).count();
+    }
+
+    @Test
+    void notifyAfterCommitSendsOnlyOnceTheTransactionCommits() throws InterruptedException {
+        callThrough();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            this.notifier.notifyAfterCommit("orderSummary", () -> { });
+
+            verifyNoInteractions(this.remoteCallExecutor);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        awaitOutcome("sent", 1.0);
+    }
+
+    @Test
+    void notifyAfterCommitCountsRethrownFailuresAndKeepsSending() throws InterruptedException {
+        callThrough();
+        this.notifier.notifyAfterCommit("orderSummary", () -> {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        });
+        this.notifier.notifyAfterCommit("orderSummary", () -> { });
+
+        awaitOutcome("failed", 1.0);
+        awaitOutcome("sent", 1.0);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.selimhorri.app.commons.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BatchSweeperTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void sweepStopsOnShortBatchAndRecordsMetrics() {
+        SweepProperties properties = new SweepProperties();
+        properties.setBatchSize(10);
+        properties.setMaxRowsPerSecond(Integer.MAX_VALUE);
+        AtomicInteger remaining = new AtomicInteger(25);
+        List<Integer> requested = new ArrayList<>();
+
+        long purged = new BatchSweeper("tokens", properties, this.meterRegistry).sweep(limit -> {
+            requested.add(limit);
+            int deleted = Math.min(limit, remaining.get());
+            remaining.addAndGet(-deleted);
+            return deleted;
+        });
+
+        assertEquals(25, purged);
+        assertEquals(List.of(10, 10, 10), requested);
+        assertEquals(25.0, this.meterRegistry.get("sweeper.rows.purged").tag("sweeper", "tokens").counter().count());
+        assertEquals(1, this.meterRegistry.get("sweeper.duration").tag("sweeper", "tokens").timer().count());
+    }
+
+    @Test
+    void sweepRespectsBatchBudget() {
+        SweepProperties properties = new SweepProperties();
+        properties.setBatchSize(5);
+        properties.setMaxRowsPerSecond(Integer.MAX_VALUE);
+        properties.setMaxBatchesPerRun(3);
+
+        long purged = new BatchSweeper("carts", properties, this.meterRegistry).sweep(limit -> limit);
+
+        assertEquals(15, purged);
+    }
+
+    @Test
+    void sweepPacesBatchesToTheConfiguredRate() {
+        SweepProperties properties = new SweepProperties();
+        properties.setBatchSize(100);
+        properties.setMaxRowsPerSecond(100);
+        properties.setMaxBatchesPerRun(3);
+        List<Long> pauses = new ArrayList<>();
+
+        new BatchSweeper("paced", properties, this.meterRegistry) {
+            @Override
+            protected void pause(long millis) {
+                pauses.add(millis);
+            }
+        }.sweep(limit -> limit);
+
+        assertEquals(2, pauses.size());
+        assertTrue(pauses.get(0) > 900, "first pause should keep the rate near 100 rows/s but was " + pauses.get(0));
+    }
+}
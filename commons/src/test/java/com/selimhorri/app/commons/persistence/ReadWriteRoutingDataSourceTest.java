@@ -0,0 +1,125 @@
+package com.selimhorri.app.commons.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        this.dataSource = new ReadWriteRoutingDataSource(h2("routing_primary"), h2("routing_replica"));
+        this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        this.dataSource.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        this.transactionTemplate.setReadOnly(true);
+
+        assertEquals("routing_replica", this.transactionTemplate.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readWriteTransactionsGoToPrimary() {
+        assertEquals("routing_primary", this.transactionTemplate.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void workOutsideTransactionsGoesToPrimary() {
+        assertEquals("routing_primary", currentDatabase());
+    }
+
+    @Test
+    void writesAreNotVisibleOnReplica() {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.jdbcTemplate.execute("create table marker (id int)");
+            this.jdbcTemplate.update("insert into marker values (1)");
+        });
+
+        this.transactionTemplate.setReadOnly(true);
+        final Integer replicaTables = this.transactionTemplate.execute(status -> this.jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.tables where table_name = 'MARKER'", Integer.class));
+
+        assertEquals(0, replicaTables);
+    }
+
+    /**
+     * Open-in-view keeps one EntityManager for the whole request; the write after a read-only call must still
+     * reach the primary.
+     */
+    @Test
+    void writeAfterReadOnlyCallInTheSameSessionGoesToPrimary() {
+        final Map<String, Object> hibernateProperties = new HashMap<>();
+        new ReadWriteDataSourceConfig.HibernateConnectionReleaseConfig().connectionReleaseHibernatePropertiesCustomizer()
+                .customize(hibernateProperties);
+        final var entityManagerFactory = entityManagerFactory(hibernateProperties);
+        final var entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            final var readOnly = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+            readOnly.setReadOnly(true);
+            final var readWrite = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+
+            assertEquals("routing_replica", readOnly.execute(status -> currentDatabase(entityManager)));
+            assertEquals("routing_primary", readWrite.execute(status -> currentDatabase(entityManager)));
+        }
+        finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+            entityManagerFactory.close();
+        }
+    }
+
+    private EntityManagerFactory entityManagerFactory(final Map<String, Object> hibernateProperties) {
+        final var factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(this.dataSource);
+        factoryBean.setPackagesToScan(getClass().getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(hibernateProperties);
+        factoryBean.afterPropertiesSet();
+        return factoryBean.getObject();
+    }
+
+    private static String currentDatabase(final EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("select lower(database()) from dual").getSingleResult();
+    }
+
+    private String currentDatabase() {
+        return this.jdbcTemplate.queryForObject("select lower(database()) from dual", String.class);
+    }
+
+    private static JdbcDataSource h2(final String name) {
+        final var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+
+}
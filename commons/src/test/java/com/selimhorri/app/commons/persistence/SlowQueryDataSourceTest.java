@@ -0,0 +1,111 @@
+package com.selimhorri.app.commons.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class SlowQueryDataSourceTest {
+
+    private static final String SQL = "select * from products where product_id = ?";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Test
+    void wrapRecordsStatementsOverThreshold() throws Exception {
+        final var meterRegistry = new SimpleMeterRegistry();
+        final var slowQueryLog = new SlowQueryLog(properties(Duration.ZERO, 5), meterRegistry);
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.prepareStatement(SQL)).thenReturn(this.statement);
+        when(this.statement.executeQuery()).thenReturn(this.resultSet);
+
+        final var wrapped = SlowQueryDataSource.wrap(this.dataSource, slowQueryLog);
+        try (Connection connection = wrapped.getConnection();
+                PreparedStatement statement = connection.prepareStatement(SQL)) {
+            statement.setInt(1, 42);
+            assertSame(this.resultSet, statement.executeQuery());
+        }
+
+        verify(this.statement).setInt(1, 42);
+        assertEquals(1, slowQueryLog.slowest().size());
+        assertEquals(SQL, slowQueryLog.slowest().get(0).getSql());
+        assertEquals(1.0, meterRegistry.counter("hibernate.statements.slow").count());
+    }
+
+    @Test
+    void wrapIgnoresFastStatements() throws Exception {
+        final var slowQueryLog = new SlowQueryLog(properties(Duration.ofMinutes(1), 5), new SimpleMeterRegistry());
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.prepareStatement(SQL)).thenReturn(this.statement);
+
+        final var wrapped = SlowQueryDataSource.wrap(this.dataSource, slowQueryLog);
+        wrapped.getConnection().prepareStatement(SQL).executeQuery();
+
+        assertTrue(slowQueryLog.slowest().isEmpty());
+    }
+
+    @Test
+    void wrapExposesThePoolBehindTheProxy() throws Exception {
+        final var pool = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+        final var slowQueryLog = new SlowQueryLog(properties(Duration.ZERO, 5), new SimpleMeterRegistry());
+
+        final var wrapped = SlowQueryDataSource.wrap(pool, slowQueryLog);
+        ((Closeable) wrapped).close();
+
+        assertTrue(AopUtils.isAopProxy(wrapped));
+        assertSame(pool, AopProxyUtils.getSingletonTarget(wrapped));
+        verify((Closeable) pool).close();
+    }
+
+    @Test
+    void slowQueryLogKeepsOnlyTheSlowestStatements() {
+        final var slowQueryLog = new SlowQueryLog(properties(Duration.ZERO, 2), new SimpleMeterRegistry());
+
+        slowQueryLog.record("select 1", Duration.ofMillis(300).toNanos());
+        slowQueryLog.record("select 2", Duration.ofMillis(100).toNanos());
+        slowQueryLog.record("select 3", Duration.ofMillis(500).toNanos());
+
+        assertEquals(2, slowQueryLog.slowest().size());
+        assertEquals("select 3", slowQueryLog.slowest().get(0).getSql());
+        assertEquals("select 1", slowQueryLog.slowest().get(1).getSql());
+    }
+
+    private static HibernateStatisticsProperties properties(final Duration threshold, final int capacity) {
+        final var properties = new HibernateStatisticsProperties();
+        properties.setSlowQueryThreshold(threshold);
+        properties.setSlowQueryCapacity(capacity);
+        return properties;
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.selimhorri.app.commons.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RemoteCallExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RemoteCallExecutor remoteCallExecutor;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.remoteCallExecutor = new RemoteCallExecutor(
+                CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                        .slidingWindowSize(4)
+                        .minimumNumberOfCalls(4)
+                        .failureRateThreshold(50)
+                        .waitDurationInOpenState(Duration.ofMinutes(1))
+                        .ignoreExceptions(HttpClientErrorException.class)
+                        .build()),
+                BulkheadRegistry.of(BulkheadConfig.custom()
+                        .maxConcurrentCalls(1)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build()),
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                        .timeoutDuration(Duration.ofMillis(500))
+                        .build()),
+                this.meterRegistry, new RemoteCallProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.remoteCallExecutor.destroy();
+    }
+
+    @Test
+    void callReturnsRemoteResult() {
+        assertEquals("user", this.remoteCallExecutor.call("userService", () -> "user", e -> "fallback"));
+    }
+
+    @Test
+    void callFallsBackWhenRemoteIsTooSlow() {
+        final long start = System.nanoTime();
+
+        final String result = this.remoteCallExecutor.call("userService", () -> {
+            sleep(2_000);
+            return "user";
+        }, e -> "fallback");
+
+        assertEquals("fallback", result);
+        assertEquals(true, System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1_500));
+        assertEquals(1.0, fallbacks("userService", "timeout"));
+    }
+
+    @Test
+    void callStopsInvokingRemoteOnceCircuitOpens() {
+        final AtomicInteger invocations = new AtomicInteger();
+        for (int i = 0; i < 6; i++) {
+            this.remoteCallExecutor.call("orderService", () -> {
+                invocations.incrementAndGet();
+                throw new IllegalStateException("boom");
+            }, e -> null);
+        }
+
+        assertEquals(4, invocations.get());
+        assertEquals(4.0, fallbacks("orderService", "error"));
+        assertEquals(2.0, fallbacks("orderService", "circuit_open"));
+    }
+
+    @Test
+    void callRethrowsIgnoredExceptionsInsteadOfFallingBack() {
+        for (int i = 0; i < 6; i++) {
+            assertThrows(HttpClientErrorException.NotFound.class, () -> this.remoteCallExecutor.call("userService", () -> {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+            }, e -> "fallback"));
+        }
+
+        assertEquals("user", this.remoteCallExecutor.call("userService", () -> "user", e -> "fallback"));
+        assertEquals(0.0, fallbacks("userService", "error"));
+    }
+
+    @Test
+    void callRejectsImmediatelyWhenBulkheadIsFull() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final var background = Executors.newSingleThreadExecutor();
+        try {
+            background.submit(() -> this.remoteCallExecutor.call("productService", () -> {
+                started.countDown();
+                await(release);
+                return "slow";
+            }, e -> "fallback"));
+            started.await(1, TimeUnit.SECONDS);
+
+            assertEquals("fallback", this.remoteCallExecutor.call("productService", () -> "fast", e -> "fallback"));
+            assertEquals(1.0, fallbacks("productService", "bulkhead_full"));
+        }
+        finally {
+            release.countDown();
+            background.shutdownNow();
+        }
+    }
+
+    private double fallbacks(final String name, final String reason) {
+        return this.meterRegistry.counter("remote.calls.fallback", "name", name, "reason", reason).count();
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -5,13 +5,15 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.commons.hedging.HedgingRestTemplateFactory;
+
 @Configuration
 public class ClientConfig {
 	
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate restTemplateBean(final HedgingRestTemplateFactory hedgingRestTemplateFactory) {
+		return hedgingRestTemplateFactory.create();
 	}
 	
 	
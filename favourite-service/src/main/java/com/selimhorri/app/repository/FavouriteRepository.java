@@ -7,6 +7,9 @@ import com.selimhorri.app.domain.id.FavouriteId;
 
 public interface FavouriteRepository extends JpaRepository<Favourite, FavouriteId> {
 	
+	long countByProductId(final Integer productId);
+	boolean existsByUserIdAndProductId(final Integer userId, final Integer productId);
+	
 	
 	
 }
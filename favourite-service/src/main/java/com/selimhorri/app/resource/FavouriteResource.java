@@ -14,11 +14,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.FavouriteSummaryDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.FavouriteService;
 
@@ -77,6 +79,15 @@ public class FavouriteResource {
 		return ResponseEntity.ok(this.favouriteService.update(favouriteDto));
 	}
 	
+	@GetMapping("/products/{productId}/summary")
+	public ResponseEntity<FavouriteSummaryDto> summarizeByProductId(
+			@PathVariable("productId") final String productId, 
+			@RequestParam(name = "userId", required = false) final String userId) {
+		log.info("*** FavouriteSummaryDto, resource; summarize favourites by productId *");
+		return ResponseEntity.ok(this.favouriteService.summarizeByProductId(Integer.parseInt(productId), 
+				userId == null ? null : Integer.valueOf(userId)));
+	}
+	
 	@DeleteMapping("/{userId}/{productId}/{likeDate}")
 	public ResponseEntity<Boolean> deleteById(
 			@PathVariable("userId") final String userId, 
@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.FavouriteSummaryDto;
 
 public interface FavouriteService {
 	
@@ -12,5 +13,6 @@ public interface FavouriteService {
 	FavouriteDto save(final FavouriteDto favouriteDto);
 	FavouriteDto update(final FavouriteDto favouriteDto);
 	void deleteById(final FavouriteId favouriteId);
+	FavouriteSummaryDto summarizeByProductId(final Integer productId, final Integer userId);
 	
 }
@@ -3,14 +3,15 @@ package com.selimhorri.app.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.FavouriteSummaryDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
@@ -29,40 +30,27 @@ public class FavouriteServiceImpl implements FavouriteService {
 	
 	private final FavouriteRepository favouriteRepository;
 	private final RestTemplate restTemplate;
+	private final RemoteCallExecutor remoteCallExecutor;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
 		return this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
+					.map(this::enrich)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public FavouriteDto findById(final FavouriteId favouriteId) {
 		log.info("*** FavouriteDto, service; fetch favourite by id *");
 		return this.favouriteRepository.findById(favouriteId)
 				.map(FavouriteMappingHelper::map)
-				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-					return f;
-				})
+				.map(this::enrich)
 				.orElseThrow(() -> new FavouriteNotFoundException(
 						String.format("Favourite with id: [%s] not found!", favouriteId)));
 	}
@@ -84,6 +72,35 @@ public class FavouriteServiceImpl implements FavouriteService {
 		this.favouriteRepository.deleteById(favouriteId);
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public FavouriteSummaryDto summarizeByProductId(final Integer productId, final Integer userId) {
+		log.info("*** FavouriteSummaryDto, service; summarize favourites by productId *");
+		return FavouriteSummaryDto.builder()
+				.productId(productId)
+				.favouriteCount(this.favouriteRepository.countByProductId(productId))
+				.likedByUser(userId == null ? null : this.favouriteRepository.existsByUserIdAndProductId(userId, productId))
+				.build();
+	}
+	
+	private FavouriteDto enrich(final FavouriteDto favouriteDto) {
+		favouriteDto.setUserDto(this.remoteCallExecutor.call("userService",
+				() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.USER_SERVICE_API_URL + "/" + favouriteDto.getUserId(), UserDto.class),
+				e -> {
+					favouriteDto.setDegraded(true);
+					return UserDto.builder().userId(favouriteDto.getUserId()).build();
+				}));
+		favouriteDto.setProductDto(this.remoteCallExecutor.call("productService",
+				() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.PRODUCT_SERVICE_API_URL + "/" + favouriteDto.getProductId(), ProductDto.class),
+				e -> {
+					favouriteDto.setDegraded(true);
+					return ProductDto.builder().productId(favouriteDto.getProductId()).build();
+				}));
+		return favouriteDto;
+	}
+	
 	
 	
 }
@@ -1,10 +1,14 @@
 package com.selimhorri.app.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,17 +22,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+import com.selimhorri.app.commons.resilience.RemoteCallProperties;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.FavouriteSummaryDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.repository.FavouriteRepository;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class FavouriteServiceImplTest {
 
@@ -47,7 +60,9 @@ class FavouriteServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        this.favouriteService = new FavouriteServiceImpl(this.favouriteRepository, this.restTemplate);
+        this.favouriteService = new FavouriteServiceImpl(this.favouriteRepository, this.restTemplate,
+                new RemoteCallExecutor(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                        TimeLimiterRegistry.ofDefaults(), new SimpleMeterRegistry(), new RemoteCallProperties()));
 
         LocalDateTime likeDate = LocalDateTime.of(2024, 1, 1, 10, 15);
         this.favourite = Favourite.builder()
@@ -116,6 +131,26 @@ class FavouriteServiceImplTest {
         assertSame(this.productDto, result.getProductDto());
     }
 
+    @Test
+    void findByIdReturnsPartialUserWhenUserServiceFails() {
+        when(this.favouriteRepository.findById(this.favouriteId)).thenReturn(Optional.of(this.favourite));
+        when(this.restTemplate.getForObject(
+                AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/" + this.favourite.getUserId(),
+                UserDto.class))
+                .thenThrow(new ResourceAccessException("connect timed out"));
+        when(this.restTemplate.getForObject(
+                AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" + this.favourite.getProductId(),
+                ProductDto.class))
+                .thenReturn(this.productDto);
+
+        FavouriteDto result = this.favouriteService.findById(this.favouriteId);
+
+        assertTrue(result.getDegraded());
+        assertEquals(this.favourite.getUserId(), result.getUserDto().getUserId());
+        assertNull(result.getUserDto().getFirstName());
+        assertSame(this.productDto, result.getProductDto());
+    }
+
     @Test
     void findByIdThrowsWhenFavouriteMissing() {
         when(this.favouriteRepository.findById(this.favouriteId)).thenReturn(Optional.empty());
@@ -186,4 +221,27 @@ class FavouriteServiceImplTest {
 
         verify(this.favouriteRepository).deleteById(this.favouriteId);
     }
+
+    @Test
+    void summarizeByProductIdCountsFavouritesAndChecksUser() {
+        when(this.favouriteRepository.countByProductId(7)).thenReturn(3L);
+        when(this.favouriteRepository.existsByUserIdAndProductId(5, 7)).thenReturn(true);
+
+        FavouriteSummaryDto result = this.favouriteService.summarizeByProductId(7, 5);
+
+        assertEquals(7, result.getProductId());
+        assertEquals(3L, result.getFavouriteCount());
+        assertTrue(result.getLikedByUser());
+    }
+
+    @Test
+    void summarizeByProductIdSkipsUserLookupForAnonymousCaller() {
+        when(this.favouriteRepository.countByProductId(7)).thenReturn(0L);
+
+        FavouriteSummaryDto result = this.favouriteService.summarizeByProductId(7, null);
+
+        assertEquals(0L, result.getFavouriteCount());
+        assertNull(result.getLikedByUser());
+        verify(this.favouriteRepository, never()).existsByUserIdAndProductId(anyInt(), anyInt());
+    }
 }
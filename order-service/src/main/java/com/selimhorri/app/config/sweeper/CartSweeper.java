@@ -0,0 +1,46 @@
+package com.selimhorri.app.config.sweeper;
+
+import java.time.LocalDateTime;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.selimhorri.app.commons.persistence.BatchSweeper;
+import com.selimhorri.app.commons.persistence.SweepProperties;
+import com.selimhorri.app.repository.CartRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Purges carts older than the configured retention that have no orders, through the created_at index.
+ */
+public class CartSweeper {
+	
+	private final CartRepository cartRepository;
+	private final SweepProperties sweepProperties;
+	private final BatchSweeper batchSweeper;
+	
+	public CartSweeper(final CartRepository cartRepository, final SweepProperties sweepProperties,
+			final MeterRegistry meterRegistry) {
+		this.cartRepository = cartRepository;
+		this.sweepProperties = sweepProperties;
+		this.batchSweeper = new BatchSweeper("carts", sweepProperties, meterRegistry);
+	}
+	
+	@Scheduled(initialDelayString = "${app.sweeper.carts.initial-delay:PT5M}",
+			fixedDelayString = "${app.sweeper.carts.interval:PT1H}")
+	public long sweep() {
+		final var cutoff = LocalDateTime.now().minus(this.sweepProperties.getRetention());
+		return this.batchSweeper.sweep(limit -> this.cartRepository.deleteAbandonedBatch(cutoff, limit));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
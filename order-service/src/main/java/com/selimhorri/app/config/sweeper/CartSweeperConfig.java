@@ -0,0 +1,40 @@
+package com.selimhorri.app.config.sweeper;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.selimhorri.app.commons.persistence.SweepProperties;
+import com.selimhorri.app.repository.CartRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.sweeper.carts", name = "enabled", matchIfMissing = true)
+public class CartSweeperConfig {
+	
+	@Bean
+	@ConfigurationProperties(prefix = "app.sweeper.carts")
+	public SweepProperties cartSweepProperties() {
+		return new SweepProperties();
+	}
+	
+	@Bean
+	public CartSweeper cartSweeper(final CartRepository cartRepository, final MeterRegistry meterRegistry) {
+		return new CartSweeper(cartRepository, this.cartSweepProperties(), meterRegistry);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,81 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.selimhorri.app.dto.OrderSummaryItem;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalised read model of an order: order and cart owner are copied on every local write, payment and
+ * items are applied from the change events published by payment-service and shipping-service.
+ */
+@Entity
+@Table(name = "order_summaries")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class OrderSummary extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
+	private Integer orderId;
+	
+	@Column(name = "order_date")
+	private LocalDateTime orderDate;
+	
+	@Column(name = "order_desc")
+	private String orderDesc;
+	
+	@Column(name = "order_fee", columnDefinition = "decimal")
+	private Double orderFee;
+	
+	@Column(name = "cart_id")
+	private Integer cartId;
+	
+	@Column(name = "user_id")
+	private Integer userId;
+	
+	@Column(name = "payment_id")
+	private Integer paymentId;
+	
+	@Column(name = "is_payed")
+	private Boolean isPayed;
+	
+	@Column(name = "payment_status")
+	private String paymentStatus;
+	
+	@Column(name = "payment_changed_at")
+	private Long paymentChangedAt;
+	
+	@Convert(converter = OrderSummaryItemsConverter.class)
+	@Column(name = "items", columnDefinition = "clob")
+	private List<OrderSummaryItem> items;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,56 @@
+package com.selimhorri.app.domain;
+
+import java.util.List;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.dto.OrderSummaryItem;
+
+/**
+ * Stores a summary's items as one JSON column so the whole summary is a single-row read.
+ */
+@Converter
+public class OrderSummaryItemsConverter implements AttributeConverter<List<OrderSummaryItem>, String> {
+	
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+	private static final TypeReference<List<OrderSummaryItem>> ITEMS_TYPE = new TypeReference<>() {};
+	
+	@Override
+	public String convertToDatabaseColumn(final List<OrderSummaryItem> items) {
+		if (items == null || items.isEmpty())
+			return null;
+		try {
+			return OBJECT_MAPPER.writeValueAsString(items);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unable to serialize order summary items", e);
+		}
+	}
+	
+	@Override
+	public List<OrderSummaryItem> convertToEntityAttribute(final String json) {
+		if (json == null || json.isBlank())
+			return List.of();
+		try {
+			return OBJECT_MAPPER.readValue(json, ITEMS_TYPE);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unable to deserialize order summary items", e);
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,34 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderSummaryItem implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer productId;
+	private String productTitle;
+	private Double priceUnit;
+	private Integer orderedQuantity;
+	private Long changedAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,36 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class OrderSummaryNotFoundException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public OrderSummaryNotFoundException() {
+		super();
+	}
+	
+	public OrderSummaryNotFoundException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public OrderSummaryNotFoundException(String message) {
+		super(message);
+	}
+	
+	public OrderSummaryNotFoundException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,49 @@
+package com.selimhorri.app.helper;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.selimhorri.app.domain.OrderSummary;
+import com.selimhorri.app.dto.OrderSummaryDto;
+import com.selimhorri.app.dto.OrderSummaryItem;
+
+public interface OrderSummaryMappingHelper {
+	
+	public static OrderSummaryDto map(final OrderSummary orderSummary) {
+		final List<OrderSummaryItem> items = (orderSummary.getItems() == null) ? List.of() : orderSummary.getItems();
+		return OrderSummaryDto.builder()
+				.orderId(orderSummary.getOrderId())
+				.orderDate(orderSummary.getOrderDate())
+				.orderDesc(orderSummary.getOrderDesc())
+				.orderFee(orderSummary.getOrderFee())
+				.cartId(orderSummary.getCartId())
+				.userId(orderSummary.getUserId())
+				.paymentId(orderSummary.getPaymentId())
+				.isPayed(orderSummary.getIsPayed())
+				.paymentStatus(orderSummary.getPaymentStatus())
+				.items(items)
+				.totalQuantity(items.stream()
+						.map(OrderSummaryItem::getOrderedQuantity)
+						.filter(Objects::nonNull)
+						.mapToInt(Integer::intValue)
+						.sum())
+				.itemsTotal(items.stream()
+						.filter(item -> item.getPriceUnit() != null && item.getOrderedQuantity() != null)
+						.mapToDouble(item -> item.getPriceUnit() * item.getOrderedQuantity())
+						.sum())
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,11 +1,34 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDateTime;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.domain.Cart;
 
 public interface CartRepository extends JpaRepository<Cart, Integer> {
 	
-	
+	/**
+	 * Deletes up to {@code limit} carts created before the cutoff that never led to an order.
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = "DELETE FROM carts WHERE created_at < :cutoff "
+			+ "AND NOT EXISTS (SELECT 1 FROM orders o WHERE o.cart_id = carts.cart_id) LIMIT :limit", nativeQuery = true)
+	int deleteAbandonedBatch(@Param("cutoff") final LocalDateTime cutoff, @Param("limit") final int limit);
 	
 }
+
+
+
+
+
+
+
+
+
+
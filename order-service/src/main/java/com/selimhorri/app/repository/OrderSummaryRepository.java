@@ -0,0 +1,36 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OrderSummary;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Integer> {
+	
+	List<OrderSummary> findAllByUserIdOrderByOrderDateDesc(final Integer userId);
+	
+	/**
+	 * Serialises concurrent events for the same order, which would otherwise overwrite each other's items.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM OrderSummary s WHERE s.orderId = :orderId")
+	Optional<OrderSummary> findForUpdate(@Param("orderId") final Integer orderId);
+	
+}
+
+
+
+
+
+
+
+
+
+
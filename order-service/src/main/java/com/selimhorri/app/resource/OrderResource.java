@@ -1,9 +1,13 @@
 package com.selimhorri.app.resource;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,9 +16,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.OrderHistoryResponse;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.OrderService;
 
@@ -35,6 +42,12 @@ public class OrderResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
 	}
 	
+	@GetMapping(params = "ids")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAllByIds(@RequestParam("ids") final Set<Integer> orderIds) {
+		log.info("*** OrderDto List, resource; fetch orders by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAllByIds(orderIds)));
+	}
+	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") 
@@ -44,6 +57,19 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.findById(Integer.parseInt(orderId)));
 	}
 	
+	@GetMapping("/users/{userId}")
+	public ResponseEntity<OrderHistoryResponse> findAllByUserId(
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String userId,
+			@RequestParam(name = "beforeDate", required = false)
+			@DateTimeFormat(pattern = AppConstant.LOCAL_DATE_TIME_FORMAT) final LocalDateTime beforeDate,
+			@RequestParam(name = "beforeId", required = false) final Integer beforeId,
+			@RequestParam(name = "size", defaultValue = "20") final int size) {
+		log.info("*** OrderHistoryResponse, resource; fetch order history by userId *");
+		return ResponseEntity.ok(this.orderService.findAllByUserId(Integer.parseInt(userId), beforeDate, beforeId, size));
+	}
+	
 	@PostMapping
 	public ResponseEntity<OrderDto> save(
 			@RequestBody 
@@ -0,0 +1,80 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.OrderSummaryDto;
+import com.selimhorri.app.dto.event.OrderItemChangedEvent;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.OrderSummaryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/order-summaries")
+@Slf4j
+@RequiredArgsConstructor
+public class OrderSummaryResource {
+	
+	private final OrderSummaryService orderSummaryService;
+	
+	@GetMapping("/{orderId}")
+	public ResponseEntity<OrderSummaryDto> findById(
+			@PathVariable("orderId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String orderId) {
+		log.info("*** OrderSummaryDto, resource; fetch order summary by id *");
+		return ResponseEntity.ok(this.orderSummaryService.findById(Integer.parseInt(orderId)));
+	}
+	
+	@GetMapping("/users/{userId}")
+	public ResponseEntity<DtoCollectionResponse<OrderSummaryDto>> findAllByUserId(
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String userId) {
+		log.info("*** OrderSummaryDto List, resource; fetch order summaries by userId *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderSummaryService.findAllByUserId(Integer.parseInt(userId))));
+	}
+	
+	@PostMapping("/events/payments")
+	public ResponseEntity<Boolean> onPaymentChanged(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final PaymentChangedEvent paymentChangedEvent) {
+		log.info("*** Boolean, resource; apply payment change *");
+		this.orderSummaryService.apply(paymentChangedEvent);
+		return ResponseEntity.ok(true);
+	}
+	
+	@PostMapping("/events/order-items")
+	public ResponseEntity<Boolean> onOrderItemChanged(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final OrderItemChangedEvent orderItemChangedEvent) {
+		log.info("*** Boolean, resource; apply order item change *");
+		this.orderSummaryService.apply(orderItemChangedEvent);
+		return ResponseEntity.ok(true);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,13 +1,18 @@
 package com.selimhorri.app.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.OrderHistoryResponse;
 
 public interface OrderService {
 	
 	List<OrderDto> findAll();
 	OrderDto findById(final Integer orderId);
+	List<OrderDto> findAllByIds(final Collection<Integer> orderIds);
+	OrderHistoryResponse findAllByUserId(final Integer userId, final LocalDateTime beforeDate, final Integer beforeId, final int size);
 	OrderDto save(final OrderDto orderDto);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
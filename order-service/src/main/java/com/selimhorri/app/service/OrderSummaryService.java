@@ -0,0 +1,29 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderSummaryDto;
+import com.selimhorri.app.dto.event.OrderItemChangedEvent;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
+
+public interface OrderSummaryService {
+	
+	OrderSummaryDto findById(final Integer orderId);
+	List<OrderSummaryDto> findAllByUserId(final Integer userId);
+	void refreshOrder(final Order order);
+	void deleteOrder(final Integer orderId);
+	void apply(final PaymentChangedEvent paymentChangedEvent);
+	void apply(final OrderItemChangedEvent orderItemChangedEvent);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,17 +1,21 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.OrderHistoryResponse;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.service.OrderSummaryService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,9 +26,13 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 	
+	static final int MAX_HISTORY_PAGE_SIZE = 100;
+	
 	private final OrderRepository orderRepository;
+	private final OrderSummaryService orderSummaryService;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderDto> findAll() {
 		log.info("*** OrderDto List, service; fetch all orders *");
 		return this.orderRepository.findAll()
@@ -35,6 +43,7 @@ public class OrderServiceImpl implements OrderService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
 		return this.orderRepository.findById(orderId)
@@ -43,31 +52,74 @@ public class OrderServiceImpl implements OrderService {
 						.format("Order with id: %d not found", orderId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderDto> findAllByIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch orders by ids *");
+		return this.orderRepository.findAllById(orderIds)
+				.stream()
+					.map(OrderMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public OrderHistoryResponse findAllByUserId(final Integer userId, final LocalDateTime beforeDate,
+			final Integer beforeId, final int size) {
+		log.info("*** OrderHistoryResponse, service; fetch order history by userId *");
+		final int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+		// one extra row tells whether another page exists without a count query
+		final var limit = PageRequest.of(0, pageSize + 1);
+		final var orders = (beforeDate == null)
+				? this.orderRepository.findLatestByUserId(userId, limit)
+				: this.orderRepository.findByUserIdBefore(userId, beforeDate,
+						(beforeId == null) ? Integer.MAX_VALUE : beforeId, limit);
+		
+		final boolean hasNext = orders.size() > pageSize;
+		final List<OrderDto> page = orders.stream()
+				.limit(pageSize)
+				.map(OrderMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+		final var last = hasNext ? page.get(page.size() - 1) : null;
+		
+		return OrderHistoryResponse.builder()
+				.collection(page)
+				.hasNext(hasNext)
+				.nextOrderDate(hasNext ? last.getOrderDate() : null)
+				.nextOrderId(hasNext ? last.getOrderId() : null)
+				.build();
+	}
+	
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(orderDto)));
+		final var savedOrder = this.orderRepository.save(OrderMappingHelper.map(orderDto));
+		this.orderSummaryService.refreshOrder(savedOrder);
+		return OrderMappingHelper.map(savedOrder);
 	}
 	
 	@Override
 	public OrderDto update(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(orderDto)));
+		final var savedOrder = this.orderRepository.save(OrderMappingHelper.map(orderDto));
+		this.orderSummaryService.refreshOrder(savedOrder);
+		return OrderMappingHelper.map(savedOrder);
 	}
 	
 	@Override
 	public OrderDto update(final Integer orderId, final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order with orderId *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(this.findById(orderId))));
+		final var savedOrder = this.orderRepository.save(OrderMappingHelper.map(this.findById(orderId)));
+		this.orderSummaryService.refreshOrder(savedOrder);
+		return OrderMappingHelper.map(savedOrder);
 	}
 	
 	@Override
 	public void deleteById(final Integer orderId) {
 		log.info("*** Void, service; delete order by id *");
 		this.orderRepository.delete(OrderMappingHelper.map(this.findById(orderId)));
+		this.orderSummaryService.deleteOrder(orderId);
 	}
 	
 	
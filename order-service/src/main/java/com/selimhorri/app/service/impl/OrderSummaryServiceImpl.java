@@ -0,0 +1,205 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OrderSummary;
+import com.selimhorri.app.dto.OrderSummaryDto;
+import com.selimhorri.app.dto.OrderSummaryItem;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.event.OrderItemChangedEvent;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
+import com.selimhorri.app.exception.wrapper.OrderSummaryNotFoundException;
+import com.selimhorri.app.helper.OrderSummaryMappingHelper;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.OrderSummaryRepository;
+import com.selimhorri.app.service.OrderSummaryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class OrderSummaryServiceImpl implements OrderSummaryService {
+	
+	private final OrderSummaryRepository orderSummaryRepository;
+	private final CartRepository cartRepository;
+	private final RestTemplate restTemplate;
+	private final RemoteCallExecutor remoteCallExecutor;
+	private final TransactionTemplate transactionTemplate;
+	
+	@Override
+	@Transactional(readOnly = true)
+	public OrderSummaryDto findById(final Integer orderId) {
+		log.info("*** OrderSummaryDto, service; fetch order summary by id *");
+		return this.orderSummaryRepository.findById(orderId)
+				.map(OrderSummaryMappingHelper::map)
+				.orElseThrow(() -> new OrderSummaryNotFoundException(String
+						.format("Order summary with id: %d not found", orderId)));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderSummaryDto> findAllByUserId(final Integer userId) {
+		log.info("*** OrderSummaryDto List, service; fetch order summaries by userId *");
+		return this.orderSummaryRepository.findAllByUserIdOrderByOrderDateDesc(userId)
+				.stream()
+					.map(OrderSummaryMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public void refreshOrder(final Order order) {
+		log.info("*** Void, service; refresh order summary *");
+		final var orderSummary = this.orderSummaryRepository.findForUpdate(order.getOrderId())
+				.orElseGet(() -> OrderSummary.builder()
+						.orderId(order.getOrderId())
+						.build());
+		final var cartId = (order.getCart() == null) ? null : order.getCart().getCartId();
+		orderSummary.setOrderDate(order.getOrderDate());
+		orderSummary.setOrderDesc(order.getOrderDesc());
+		orderSummary.setOrderFee(order.getOrderFee());
+		orderSummary.setCartId(cartId);
+		orderSummary.setUserId(Optional.ofNullable(cartId)
+				.flatMap(this.cartRepository::findById)
+				.map(Cart::getUserId)
+				.orElse(null));
+		orderSummary.setUpdatedAt(Instant.now());
+		this.orderSummaryRepository.save(orderSummary);
+	}
+	
+	@Override
+	public void deleteOrder(final Integer orderId) {
+		log.info("*** Void, service; delete order summary *");
+		if (this.orderSummaryRepository.existsById(orderId))
+			this.orderSummaryRepository.deleteById(orderId);
+	}
+	
+	@Override
+	public void apply(final PaymentChangedEvent event) {
+		log.info("*** Void, service; apply payment change to order summary *");
+		final var orderSummary = this.orderSummaryRepository.findForUpdate(event.getOrderId()).orElse(null);
+		if (orderSummary == null) {
+			log.warn("*** Payment change for unknown order {} ignored *", event.getOrderId());
+			return;
+		}
+		if (orderSummary.getPaymentChangedAt() != null && event.getOccurredAt() < orderSummary.getPaymentChangedAt())
+			return;
+		
+		if (!event.isDeleted()) {
+			orderSummary.setPaymentId(event.getPaymentId());
+			orderSummary.setIsPayed(event.getIsPayed());
+			orderSummary.setPaymentStatus(event.getPaymentStatus());
+		}
+		else if (event.getPaymentId() != null && event.getPaymentId().equals(orderSummary.getPaymentId())) {
+			orderSummary.setPaymentId(null);
+			orderSummary.setIsPayed(null);
+			orderSummary.setPaymentStatus(null);
+		}
+		orderSummary.setPaymentChangedAt(event.getOccurredAt());
+		orderSummary.setUpdatedAt(Instant.now());
+	}
+	
+	/**
+	 * Product details for a new item are resolved before the summary row is locked, and outside any transaction,
+	 * so concurrent item events for the same order never queue on the lock, or hold a pooled connection, while
+	 * product-service answers.
+	 */
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void apply(final OrderItemChangedEvent event) {
+		log.info("*** Void, service; apply order item change to order summary *");
+		final var current = this.orderSummaryRepository.findById(event.getOrderId()).orElse(null);
+		if (current == null) {
+			log.warn("*** Order item change for unknown order {} ignored *", event.getOrderId());
+			return;
+		}
+		// product details are fetched once, when the item first shows up, not on every quantity change
+		final var product = event.isDeleted()
+				? null
+				: findItem(current, event.getProductId())
+						.map(OrderSummaryServiceImpl::productOf)
+						.orElseGet(() -> this.fetchProduct(event.getProductId()));
+		this.transactionTemplate.executeWithoutResult(status -> this.applyLocked(event, product));
+	}
+	
+	private void applyLocked(final OrderItemChangedEvent event, final ProductDto product) {
+		final var orderSummary = this.orderSummaryRepository.findForUpdate(event.getOrderId()).orElse(null);
+		if (orderSummary == null) {
+			log.warn("*** Order item change for unknown order {} ignored *", event.getOrderId());
+			return;
+		}
+		final List<OrderSummaryItem> items = new ArrayList<>(
+				(orderSummary.getItems() == null) ? List.of() : orderSummary.getItems());
+		final var existing = findItem(orderSummary, event.getProductId());
+		if (existing.isPresent() && existing.get().getChangedAt() != null
+				&& event.getOccurredAt() < existing.get().getChangedAt())
+			return;
+		
+		existing.ifPresent(items::remove);
+		if (!event.isDeleted()) {
+			// a fresh item instance keeps Hibernate's snapshot of the converted column intact for dirty checking
+			final var details = existing.map(OrderSummaryServiceImpl::productOf).orElse(product);
+			items.add(OrderSummaryItem.builder()
+					.productId(event.getProductId())
+					.productTitle(details.getProductTitle())
+					.priceUnit(details.getPriceUnit())
+					.orderedQuantity(event.getOrderedQuantity())
+					.changedAt(event.getOccurredAt())
+					.build());
+		}
+		orderSummary.setItems(items);
+		orderSummary.setUpdatedAt(Instant.now());
+	}
+	
+	private static Optional<OrderSummaryItem> findItem(final OrderSummary orderSummary, final Integer productId) {
+		return Optional.ofNullable(orderSummary.getItems())
+				.stream()
+					.flatMap(List::stream)
+					.filter(item -> item.getProductId().equals(productId))
+					.findFirst();
+	}
+	
+	private static ProductDto productOf(final OrderSummaryItem item) {
+		return ProductDto.builder()
+				.productId(item.getProductId())
+				.productTitle(item.getProductTitle())
+				.priceUnit(item.getPriceUnit())
+				.build();
+	}
+	
+	private ProductDto fetchProduct(final Integer productId) {
+		return this.remoteCallExecutor.call("productService",
+				() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.PRODUCT_SERVICE_API_URL + "/" + productId, ProductDto.class),
+				e -> ProductDto.builder().productId(productId).build());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,24 @@
+
+CREATE TABLE order_summaries (
+	order_id INT(11) NOT NULL PRIMARY KEY,
+	order_date TIMESTAMP,
+	order_desc VARCHAR(255),
+	order_fee DECIMAL(7, 2),
+	cart_id INT(11),
+	user_id INT(11),
+	payment_id INT(11),
+	is_payed BOOLEAN,
+	payment_status VARCHAR(255),
+	payment_changed_at BIGINT,
+	items CLOB,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_order_summaries_user_id ON order_summaries (user_id, order_date);
+
+INSERT INTO order_summaries (order_id, order_date, order_desc, order_fee, cart_id, user_id)
+SELECT o.order_id, o.order_date, o.order_desc, o.order_fee, o.cart_id, c.user_id
+FROM orders o
+LEFT JOIN carts c ON c.cart_id = o.cart_id;
+
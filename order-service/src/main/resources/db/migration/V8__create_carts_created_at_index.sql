@@ -0,0 +1,3 @@
+
+CREATE INDEX idx_carts_created_at ON carts (created_at);
+
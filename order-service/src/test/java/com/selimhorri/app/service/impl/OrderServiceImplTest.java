@@ -1,8 +1,12 @@
 package com.selimhorri.app.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -10,6 +14,7 @@ import static org.mockito.Mockito.when;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,13 +22,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.OrderHistoryResponse;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.OrderSummaryService;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceImplTest {
@@ -31,6 +39,9 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderSummaryService orderSummaryService;
+
     private OrderServiceImpl orderService;
 
     private Order order;
@@ -38,7 +49,7 @@ class OrderServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        this.orderService = new OrderServiceImpl(this.orderRepository);
+        this.orderService = new OrderServiceImpl(this.orderRepository, this.orderSummaryService);
 
         Cart cart = Cart.builder()
                 .cartId(4)
@@ -77,6 +88,16 @@ class OrderServiceImplTest {
         assertEquals(this.order.getCart().getCartId(), dto.getCartDto().getCartId());
     }
 
+    @Test
+    void findAllByIdsLoadsOrdersInOneQuery() {
+        when(this.orderRepository.findAllById(Set.of(this.order.getOrderId()))).thenReturn(List.of(this.order));
+
+        List<OrderDto> result = this.orderService.findAllByIds(Set.of(this.order.getOrderId()));
+
+        assertEquals(1, result.size());
+        assertEquals(this.order.getOrderId(), result.get(0).getOrderId());
+    }
+
     @Test
     void findByIdReturnsOrderWhenPresent() {
         when(this.orderRepository.findById(this.order.getOrderId())).thenReturn(Optional.of(this.order));
@@ -108,6 +129,7 @@ class OrderServiceImplTest {
         Order saved = orderCaptor.getValue();
         assertEquals(this.orderDto.getOrderId(), saved.getOrderId());
         assertEquals(this.orderDto.getCartDto().getCartId(), saved.getCart().getCartId());
+        verify(this.orderSummaryService).refreshOrder(this.order);
     }
 
     @Test
@@ -147,5 +169,52 @@ class OrderServiceImplTest {
         Order deleted = orderCaptor.getValue();
         assertEquals(this.order.getOrderId(), deleted.getOrderId());
         assertEquals(this.order.getCart().getCartId(), deleted.getCart().getCartId());
+        verify(this.orderSummaryService).deleteOrder(this.order.getOrderId());
+    }
+
+    @Test
+    void findAllByUserIdReturnsCursorWhenMoreOrdersExist() {
+        Order older = Order.builder()
+                .orderId(11)
+                .orderDate(LocalDateTime.of(2024, 1, 5, 9, 0))
+                .orderDesc("older-order")
+                .orderFee(10.0)
+                .cart(this.order.getCart())
+                .build();
+        when(this.orderRepository.findLatestByUserId(9, PageRequest.of(0, 2)))
+                .thenReturn(List.of(this.order, older));
+
+        OrderHistoryResponse result = this.orderService.findAllByUserId(9, null, null, 1);
+
+        assertEquals(1, result.getCollection().size());
+        assertEquals(this.order.getOrderId(), result.getCollection().get(0).getOrderId());
+        assertTrue(result.isHasNext());
+        assertEquals(this.order.getOrderDate(), result.getNextOrderDate());
+        assertEquals(this.order.getOrderId(), result.getNextOrderId());
+    }
+
+    @Test
+    void findAllByUserIdContinuesFromCursor() {
+        LocalDateTime cursorDate = LocalDateTime.of(2024, 3, 1, 0, 0);
+        when(this.orderRepository.findByUserIdBefore(eq(9), eq(cursorDate), eq(20), any(PageRequest.class)))
+                .thenReturn(List.of(this.order));
+
+        OrderHistoryResponse result = this.orderService.findAllByUserId(9, cursorDate, 20, 10);
+
+        assertEquals(1, result.getCollection().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextOrderDate());
+        assertNull(result.getNextOrderId());
+    }
+
+    @Test
+    void findAllByUserIdCapsPageSize() {
+        when(this.orderRepository.findLatestByUserId(9, PageRequest.of(0, OrderServiceImpl.MAX_HISTORY_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        OrderHistoryResponse result = this.orderService.findAllByUserId(9, null, null, 10_000);
+
+        assertTrue(result.getCollection().isEmpty());
+        assertFalse(result.isHasNext());
     }
 }
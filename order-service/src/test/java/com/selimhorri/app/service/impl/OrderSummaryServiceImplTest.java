@@ -0,0 +1,215 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+import com.selimhorri.app.commons.resilience.RemoteCallProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OrderSummary;
+import com.selimhorri.app.dto.OrderSummaryDto;
+import com.selimhorri.app.dto.OrderSummaryItem;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.event.OrderItemChangedEvent;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
+import com.selimhorri.app.exception.wrapper.OrderSummaryNotFoundException;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.OrderSummaryRepository;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSummaryServiceImplTest {
+
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderSummaryServiceImpl orderSummaryService;
+
+    private OrderSummary orderSummary;
+
+    @BeforeEach
+    void setUp() {
+        this.orderSummaryService = new OrderSummaryServiceImpl(this.orderSummaryRepository, this.cartRepository,
+                this.restTemplate,
+                new RemoteCallExecutor(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                        TimeLimiterRegistry.ofDefaults(), new SimpleMeterRegistry(), new RemoteCallProperties()),
+                new TransactionTemplate(this.transactionManager));
+
+        this.orderSummary = OrderSummary.builder()
+                .orderId(15)
+                .orderDate(LocalDateTime.of(2024, 2, 12, 14, 30))
+                .orderFee(99.95)
+                .cartId(4)
+                .userId(9)
+                .build();
+    }
+
+    @Test
+    void refreshOrderCopiesOrderAndCartOwner() {
+        Order order = Order.builder()
+                .orderId(15)
+                .orderDate(LocalDateTime.of(2024, 2, 12, 14, 30))
+                .orderDesc("test-order")
+                .orderFee(99.95)
+                .cart(Cart.builder().cartId(4).build())
+                .build();
+        when(this.orderSummaryRepository.findForUpdate(15)).thenReturn(Optional.empty());
+        when(this.cartRepository.findById(4)).thenReturn(Optional.of(Cart.builder().cartId(4).userId(9).build()));
+
+        this.orderSummaryService.refreshOrder(order);
+
+        ArgumentCaptor<OrderSummary> captor = ArgumentCaptor.forClass(OrderSummary.class);
+        verify(this.orderSummaryRepository).save(captor.capture());
+        assertEquals(15, captor.getValue().getOrderId());
+        assertEquals("test-order", captor.getValue().getOrderDesc());
+        assertEquals(9, captor.getValue().getUserId());
+    }
+
+    @Test
+    void applyPaymentChangeUpdatesSummaryAndIgnoresStaleEvents() {
+        when(this.orderSummaryRepository.findForUpdate(15)).thenReturn(Optional.of(this.orderSummary));
+
+        this.orderSummaryService.apply(PaymentChangedEvent.builder()
+                .paymentId(42).orderId(15).isPayed(true).paymentStatus("COMPLETED").occurredAt(2000L).build());
+        this.orderSummaryService.apply(PaymentChangedEvent.builder()
+                .paymentId(42).orderId(15).isPayed(false).paymentStatus("IN_PROGRESS").occurredAt(1000L).build());
+
+        assertEquals(42, this.orderSummary.getPaymentId());
+        assertTrue(this.orderSummary.getIsPayed());
+        assertEquals("COMPLETED", this.orderSummary.getPaymentStatus());
+    }
+
+    @Test
+    void applyPaymentDeletionClearsPayment() {
+        this.orderSummary.setPaymentId(42);
+        this.orderSummary.setIsPayed(true);
+        this.orderSummary.setPaymentStatus("COMPLETED");
+        when(this.orderSummaryRepository.findForUpdate(15)).thenReturn(Optional.of(this.orderSummary));
+
+        this.orderSummaryService.apply(PaymentChangedEvent.builder()
+                .paymentId(42).orderId(15).deleted(true).occurredAt(3000L).build());
+
+        assertNull(this.orderSummary.getPaymentId());
+        assertNull(this.orderSummary.getPaymentStatus());
+    }
+
+    @Test
+    void applyOrderItemChangeFetchesProductOnlyForNewItems() {
+        when(this.orderSummaryRepository.findById(15)).thenReturn(Optional.of(this.orderSummary));
+        when(this.orderSummaryRepository.findForUpdate(15)).thenReturn(Optional.of(this.orderSummary));
+        when(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/21",
+                ProductDto.class))
+                .thenReturn(ProductDto.builder().productId(21).productTitle("keyboard").priceUnit(25.0).build());
+
+        this.orderSummaryService.apply(OrderItemChangedEvent.builder()
+                .orderId(15).productId(21).orderedQuantity(1).occurredAt(1000L).build());
+        this.orderSummaryService.apply(OrderItemChangedEvent.builder()
+                .orderId(15).productId(21).orderedQuantity(3).occurredAt(2000L).build());
+
+        verify(this.restTemplate).getForObject(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/21",
+                ProductDto.class);
+        List<OrderSummaryItem> items = this.orderSummary.getItems();
+        assertEquals(1, items.size());
+        assertEquals("keyboard", items.get(0).getProductTitle());
+        assertEquals(3, items.get(0).getOrderedQuantity());
+    }
+
+    @Test
+    void applyOrderItemChangeResolvesProductBeforeLockingTheSummary() {
+        when(this.orderSummaryRepository.findById(15)).thenReturn(Optional.of(this.orderSummary));
+        when(this.orderSummaryRepository.findForUpdate(15)).thenReturn(Optional.of(this.orderSummary));
+        when(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/21",
+                ProductDto.class))
+                .thenReturn(ProductDto.builder().productId(21).productTitle("keyboard").priceUnit(25.0).build());
+
+        this.orderSummaryService.apply(OrderItemChangedEvent.builder()
+                .orderId(15).productId(21).orderedQuantity(1).occurredAt(1000L).build());
+
+        InOrder inOrder = inOrder(this.restTemplate, this.transactionManager, this.orderSummaryRepository);
+        inOrder.verify(this.restTemplate).getForObject(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/21",
+                ProductDto.class);
+        inOrder.verify(this.transactionManager).getTransaction(any());
+        inOrder.verify(this.orderSummaryRepository).findForUpdate(15);
+    }
+
+    @Test
+    void applyOrderItemDeletionRemovesItem() {
+        this.orderSummary.setItems(List.of(OrderSummaryItem.builder()
+                .productId(21).productTitle("keyboard").priceUnit(25.0).orderedQuantity(2).changedAt(1000L).build()));
+        when(this.orderSummaryRepository.findById(15)).thenReturn(Optional.of(this.orderSummary));
+        when(this.orderSummaryRepository.findForUpdate(15)).thenReturn(Optional.of(this.orderSummary));
+
+        this.orderSummaryService.apply(OrderItemChangedEvent.builder()
+                .orderId(15).productId(21).deleted(true).occurredAt(2000L).build());
+
+        assertTrue(this.orderSummary.getItems().isEmpty());
+    }
+
+    @Test
+    void applyIgnoresEventsForUnknownOrders() {
+        when(this.orderSummaryRepository.findById(99)).thenReturn(Optional.empty());
+
+        this.orderSummaryService.apply(OrderItemChangedEvent.builder()
+                .orderId(99).productId(21).orderedQuantity(1).occurredAt(1000L).build());
+
+        verify(this.orderSummaryRepository, never()).save(any(OrderSummary.class));
+        verify(this.restTemplate, never()).getForObject(any(String.class), any());
+    }
+
+    @Test
+    void findByIdReturnsTotals() {
+        this.orderSummary.setItems(List.of(
+                OrderSummaryItem.builder().productId(21).priceUnit(25.0).orderedQuantity(2).build(),
+                OrderSummaryItem.builder().productId(22).priceUnit(10.0).orderedQuantity(1).build()));
+        when(this.orderSummaryRepository.findById(15)).thenReturn(Optional.of(this.orderSummary));
+
+        OrderSummaryDto result = this.orderSummaryService.findById(15);
+
+        assertEquals(3, result.getTotalQuantity());
+        assertEquals(60.0, result.getItemsTotal());
+    }
+
+    @Test
+    void findByIdThrowsWhenMissing() {
+        when(this.orderSummaryRepository.findById(15)).thenReturn(Optional.empty());
+
+        assertThrows(OrderSummaryNotFoundException.class, () -> this.orderSummaryService.findById(15));
+    }
+}
@@ -0,0 +1,50 @@
+package com.selimhorri.app.config.reconciliation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.selimhorri.app.service.PaymentReconciliationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@EnableConfigurationProperties(PaymentReconciliationProperties.class)
+public class PaymentReconciliationConfig {
+	
+	@Configuration
+	@EnableScheduling
+	@ConditionalOnProperty(prefix = "app.reconciliation", name = "enabled", matchIfMissing = true)
+	@Slf4j
+	@RequiredArgsConstructor
+	static class NightlyReconciliation {
+		
+		private final PaymentReconciliationService paymentReconciliationService;
+		
+		@Scheduled(cron = "${app.reconciliation.cron:0 0 2 * * *}")
+		public void reconcilePayments() {
+			log.info("*** Void, job; nightly payment reconciliation *");
+			try {
+				this.paymentReconciliationService.reconcile();
+			}
+			catch (IllegalStateException e) {
+				log.warn("*** Nightly payment reconciliation skipped: {} *", e.getMessage());
+			}
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,33 @@
+package com.selimhorri.app.config.reconciliation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.reconciliation")
+public class PaymentReconciliationProperties {
+	
+	private boolean enabled = true;
+	private String cron = "0 0 2 * * *";
+	/**
+	 * Payments read per chunk; the matching orders are fetched with one request per chunk.
+	 */
+	private int chunkSize = 200;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	/**
+	 * Mismatches kept in the run report; all of them are logged and counted.
+	 */
+	private int maxReportedFindings = 100;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,61 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a reconciliation run, saved after every chunk so an interrupted run resumes after the last
+ * checked payment instead of starting over.
+ */
+@Entity
+@Table(name = "reconciliation_checkpoints")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class ReconciliationCheckpoint extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "job_name", unique = true, nullable = false, updatable = false)
+	private String jobName;
+	
+	@Column(name = "last_payment_id", nullable = false)
+	private Integer lastPaymentId;
+	
+	@Column(name = "processed", nullable = false)
+	private Long processed;
+	
+	@Column(name = "mismatches", nullable = false)
+	private Long mismatches;
+	
+	@Column(name = "completed", nullable = false)
+	private Boolean completed;
+	
+	@Column(name = "started_at")
+	private Instant startedAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
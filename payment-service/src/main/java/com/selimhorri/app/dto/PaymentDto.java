@@ -28,6 +28,9 @@ public class PaymentDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private OrderDto orderDto;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Boolean degraded;
+	
 }
 
 
@@ -0,0 +1,40 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ReconciliationFinding implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public enum Type {
+		/** The payment references no order, or an order that order-service does not know. */
+		ORPHAN,
+		/** isPayed disagrees with paymentStatus: payed but not COMPLETED, or COMPLETED but not payed. */
+		STATUS_MISMATCH
+	}
+	
+	private Integer paymentId;
+	private Integer orderId;
+	private Type type;
+	private String detail;
+	
+}
+
+
+
+
+
+
+
+
+
+
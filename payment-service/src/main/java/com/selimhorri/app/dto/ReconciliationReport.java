@@ -0,0 +1,55 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ReconciliationReport implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public enum Status {
+		COMPLETED,
+		FAILED
+	}
+	
+	private Status status;
+	@JsonFormat(shape = Shape.STRING)
+	private Instant startedAt;
+	@JsonFormat(shape = Shape.STRING)
+	private Instant finishedAt;
+	/** Payment id the run resumed after; 0 for a fresh run. */
+	private Integer resumedAfterPaymentId;
+	private Integer lastPaymentId;
+	/** Rows checked by this run, and in total since the checkpoint was started. */
+	private long processed;
+	private long totalProcessed;
+	private Map<ReconciliationFinding.Type, Long> mismatches;
+	private List<ReconciliationFinding> findings;
+	private double rowsPerSecond;
+	private String error;
+	
+}
+
+
+
+
+
+
+
+
+
+
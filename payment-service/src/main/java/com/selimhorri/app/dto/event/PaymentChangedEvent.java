@@ -0,0 +1,35 @@
+package com.selimhorri.app.dto.event;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class PaymentChangedEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer paymentId;
+	private Integer orderId;
+	private Boolean isPayed;
+	private String paymentStatus;
+	private boolean deleted;
+	private long occurredAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
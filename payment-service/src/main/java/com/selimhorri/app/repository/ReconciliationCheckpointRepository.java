@@ -0,0 +1,21 @@
+package com.selimhorri.app.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.selimhorri.app.domain.ReconciliationCheckpoint;
+
+public interface ReconciliationCheckpointRepository extends JpaRepository<ReconciliationCheckpoint, String> {
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,49 @@
+package com.selimhorri.app.resource;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.ReconciliationReport;
+import com.selimhorri.app.service.PaymentReconciliationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/payments/reconciliation")
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentReconciliationResource {
+	
+	private final PaymentReconciliationService paymentReconciliationService;
+	
+	@GetMapping
+	public ResponseEntity<ReconciliationReport> findLastReport() {
+		log.info("*** ReconciliationReport, resource; fetch last reconciliation report *");
+		final var report = this.paymentReconciliationService.findLastReport();
+		return (report == null) ? ResponseEntity.noContent().build() : ResponseEntity.ok(report);
+	}
+	
+	@PostMapping
+	public ResponseEntity<Boolean> reconcile() {
+		log.info("*** Boolean, resource; trigger payment reconciliation *");
+		return this.paymentReconciliationService.reconcileAsync()
+				? ResponseEntity.status(HttpStatus.ACCEPTED).body(true)
+				: ResponseEntity.status(HttpStatus.CONFLICT).body(false);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,21 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.ReconciliationReport;
+
+public interface PaymentReconciliationService {
+	
+	ReconciliationReport reconcile();
+	boolean reconcileAsync();
+	ReconciliationReport findLastReport();
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,268 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+import com.selimhorri.app.config.reconciliation.PaymentReconciliationProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.domain.ReconciliationCheckpoint;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ReconciliationFinding;
+import com.selimhorri.app.dto.ReconciliationReport;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.repository.ReconciliationCheckpointRepository;
+import com.selimhorri.app.service.PaymentReconciliationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cross-checks payments against orders without loading the table or calling order-service per row: payments
+ * are read in id-ordered chunks, each chunk's orders are fetched with one bulk request and the rows are compared
+ * in parallel on a dedicated fork-join pool. Progress is checkpointed after every chunk.
+ */
+@Service
+@Slf4j
+public class PaymentReconciliationServiceImpl implements PaymentReconciliationService, DisposableBean {
+	
+	static final String JOB_NAME = "payment-reconciliation";
+	private static final ParameterizedTypeReference<DtoCollectionResponse<OrderDto>> ORDERS_TYPE =
+			new ParameterizedTypeReference<>() {};
+	
+	private final PaymentRepository paymentRepository;
+	private final ReconciliationCheckpointRepository reconciliationCheckpointRepository;
+	private final RestTemplate restTemplate;
+	private final RemoteCallExecutor remoteCallExecutor;
+	private final PaymentReconciliationProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final AtomicBoolean running = new AtomicBoolean();
+	private final ExecutorService triggerExecutor;
+	private volatile ReconciliationReport lastReport;
+	private volatile double lastRowsPerSecond;
+	
+	public PaymentReconciliationServiceImpl(final PaymentRepository paymentRepository,
+			final ReconciliationCheckpointRepository reconciliationCheckpointRepository, final RestTemplate restTemplate,
+			final RemoteCallExecutor remoteCallExecutor, final PaymentReconciliationProperties properties,
+			final MeterRegistry meterRegistry) {
+		this.paymentRepository = paymentRepository;
+		this.reconciliationCheckpointRepository = reconciliationCheckpointRepository;
+		this.restTemplate = restTemplate;
+		this.remoteCallExecutor = remoteCallExecutor;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.triggerExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("reconciliation-"));
+		meterRegistry.gauge("payment.reconciliation.throughput", this, service -> service.lastRowsPerSecond);
+	}
+	
+	@Override
+	public ReconciliationReport reconcile() {
+		if (!this.running.compareAndSet(false, true))
+			throw new IllegalStateException("Payment reconciliation is already running");
+		try {
+			final var report = this.runReconciliation();
+			this.lastReport = report;
+			return report;
+		}
+		finally {
+			this.running.set(false);
+		}
+	}
+	
+	@Override
+	public boolean reconcileAsync() {
+		if (!this.running.compareAndSet(false, true))
+			return false;
+		this.triggerExecutor.execute(() -> {
+			try {
+				this.lastReport = this.runReconciliation();
+			}
+			finally {
+				this.running.set(false);
+			}
+		});
+		return true;
+	}
+	
+	@Override
+	public ReconciliationReport findLastReport() {
+		return this.lastReport;
+	}
+	
+	private ReconciliationReport runReconciliation() {
+		log.info("*** ReconciliationReport, service; reconcile payments against orders *");
+		final var startedAt = Instant.now();
+		final var checkpoint = this.reconciliationCheckpointRepository.findById(JOB_NAME)
+				.filter(existing -> !Boolean.TRUE.equals(existing.getCompleted()))
+				.orElseGet(() -> ReconciliationCheckpoint.builder()
+						.jobName(JOB_NAME)
+						.lastPaymentId(0)
+						.processed(0L)
+						.mismatches(0L)
+						.completed(false)
+						.startedAt(startedAt)
+						.build());
+		final var resumedAfter = checkpoint.getLastPaymentId();
+		if (resumedAfter > 0)
+			log.info("*** Resuming payment reconciliation after payment {} *", resumedAfter);
+		
+		final Map<ReconciliationFinding.Type, Long> mismatches = new EnumMap<>(ReconciliationFinding.Type.class);
+		final List<ReconciliationFinding> reported = new ArrayList<>();
+		final var chunkSize = Math.max(1, this.properties.getChunkSize());
+		final var pool = new ForkJoinPool(Math.max(1, this.properties.getParallelism()));
+		final var startNanos = System.nanoTime();
+		long processed = 0;
+		String error = null;
+		try {
+			while (true) {
+				final var chunk = this.paymentRepository.findByPaymentIdGreaterThanOrderByPaymentIdAsc(
+						checkpoint.getLastPaymentId(), PageRequest.of(0, chunkSize));
+				if (chunk.isEmpty())
+					break;
+				
+				final var orders = this.fetchOrders(chunk);
+				final List<ReconciliationFinding> findings = pool.submit(() -> chunk.parallelStream()
+							.map(payment -> check(payment, orders))
+							.flatMap(Optional::stream)
+							.collect(Collectors.toList()))
+						.get();
+				findings.forEach(finding -> {
+					log.warn("*** Payment reconciliation {}: payment {} order {} ({}) *", finding.getType(),
+							finding.getPaymentId(), finding.getOrderId(), finding.getDetail());
+					this.meterRegistry.counter("payment.reconciliation.mismatches", "type", finding.getType().name()).increment();
+					mismatches.merge(finding.getType(), 1L, Long::sum);
+					if (reported.size() < this.properties.getMaxReportedFindings())
+						reported.add(finding);
+				});
+				
+				processed += chunk.size();
+				this.meterRegistry.counter("payment.reconciliation.rows").increment(chunk.size());
+				checkpoint.setLastPaymentId(chunk.get(chunk.size() - 1).getPaymentId());
+				checkpoint.setProcessed(checkpoint.getProcessed() + chunk.size());
+				checkpoint.setMismatches(checkpoint.getMismatches() + findings.size());
+				checkpoint.setUpdatedAt(Instant.now());
+				this.reconciliationCheckpointRepository.save(checkpoint);
+				
+				if (chunk.size() < chunkSize)
+					break;
+			}
+			checkpoint.setCompleted(true);
+			checkpoint.setUpdatedAt(Instant.now());
+			this.reconciliationCheckpointRepository.save(checkpoint);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			error = "interrupted";
+		}
+		catch (ExecutionException | RuntimeException e) {
+			log.error("*** Payment reconciliation stopped after payment {}, will resume from there: {} *",
+					checkpoint.getLastPaymentId(), e.toString());
+			error = e.toString();
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		final var elapsedSeconds = Math.max(1L, System.nanoTime() - startNanos) / 1_000_000_000.0;
+		this.lastRowsPerSecond = processed / elapsedSeconds;
+		log.info("*** Payment reconciliation checked {} payments in {}s ({} rows/s), {} mismatches *",
+				processed, String.format("%.2f", elapsedSeconds), String.format("%.1f", this.lastRowsPerSecond),
+				mismatches.values().stream().mapToLong(Long::longValue).sum());
+		return ReconciliationReport.builder()
+				.status((error == null) ? ReconciliationReport.Status.COMPLETED : ReconciliationReport.Status.FAILED)
+				.startedAt(startedAt)
+				.finishedAt(Instant.now())
+				.resumedAfterPaymentId(resumedAfter)
+				.lastPaymentId(checkpoint.getLastPaymentId())
+				.processed(processed)
+				.totalProcessed(checkpoint.getProcessed())
+				.mismatches(mismatches)
+				.findings(reported)
+				.rowsPerSecond(this.lastRowsPerSecond)
+				.error(error)
+				.build();
+	}
+	
+	/**
+	 * A failed bulk fetch aborts the run rather than reporting every payment in the chunk as an orphan.
+	 */
+	private Map<Integer, OrderDto> fetchOrders(final List<Payment> chunk) {
+		final var orderIds = chunk.stream()
+				.map(Payment::getOrderId)
+				.filter(orderId -> orderId != null)
+				.distinct()
+				.map(String::valueOf)
+				.collect(Collectors.joining(","));
+		if (orderIds.isEmpty())
+			return Map.of();
+		return this.remoteCallExecutor.call("orderService",
+				() -> this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi
+						.ORDER_SERVICE_API_URL + "?ids=" + orderIds, HttpMethod.GET, null, ORDERS_TYPE)
+						.getBody()
+						.getCollection()
+						.stream()
+							.collect(Collectors.toUnmodifiableMap(OrderDto::getOrderId, Function.identity())),
+				e -> {
+					throw new IllegalStateException("Unable to fetch orders for reconciliation", e);
+				});
+	}
+	
+	static Optional<ReconciliationFinding> check(final Payment payment, final Map<Integer, OrderDto> orders) {
+		if (payment.getOrderId() == null || !orders.containsKey(payment.getOrderId()))
+			return Optional.of(ReconciliationFinding.builder()
+					.paymentId(payment.getPaymentId())
+					.orderId(payment.getOrderId())
+					.type(ReconciliationFinding.Type.ORPHAN)
+					.detail("order not found")
+					.build());
+		
+		final boolean payed = Boolean.TRUE.equals(payment.getIsPayed());
+		final boolean completed = payment.getPaymentStatus() == PaymentStatus.COMPLETED;
+		if (payed != completed)
+			return Optional.of(ReconciliationFinding.builder()
+					.paymentId(payment.getPaymentId())
+					.orderId(payment.getOrderId())
+					.type(ReconciliationFinding.Type.STATUS_MISMATCH)
+					.detail(String.format("isPayed=%s, paymentStatus=%s", payment.getIsPayed(), payment.getPaymentStatus()))
+					.build());
+		return Optional.empty();
+	}
+	
+	@Override
+	public void destroy() {
+		this.triggerExecutor.shutdownNow();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
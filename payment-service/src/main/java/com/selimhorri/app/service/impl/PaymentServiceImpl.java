@@ -1,16 +1,20 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.commons.notification.AfterCommitNotifier;
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
@@ -27,55 +31,81 @@ public class PaymentServiceImpl implements PaymentService {
 	
 	private final PaymentRepository paymentRepository;
 	private final RestTemplate restTemplate;
+	private final RemoteCallExecutor remoteCallExecutor;
+	private final AfterCommitNotifier afterCommitNotifier;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<PaymentDto> findAll() {
 		log.info("*** PaymentDto List, service; fetch all payments *");
 		return this.paymentRepository.findAll()
 				.stream()
 					.map(PaymentMappingHelper::map)
-					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-						return p;
-					})
+					.map(this::enrich)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public PaymentDto findById(final Integer paymentId) {
 		log.info("*** PaymentDto, service; fetch payment by id *");
 		return this.paymentRepository.findById(paymentId)
 				.map(PaymentMappingHelper::map)
-				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-					return p;
-				})
+				.map(this::enrich)
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
 	}
 	
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; save payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		final var savedPayment = this.paymentRepository.save(PaymentMappingHelper.map(paymentDto));
+		this.publishChange(savedPayment, false);
+		return PaymentMappingHelper.map(savedPayment);
 	}
 	
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; update payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		final var savedPayment = this.paymentRepository.save(PaymentMappingHelper.map(paymentDto));
+		this.publishChange(savedPayment, false);
+		return PaymentMappingHelper.map(savedPayment);
 	}
 	
 	@Override
 	public void deleteById(final Integer paymentId) {
 		log.info("*** Void, service; delete payment by id *");
+		this.paymentRepository.findById(paymentId)
+				.ifPresent(payment -> this.publishChange(payment, true));
 		this.paymentRepository.deleteById(paymentId);
 	}
 	
+	private void publishChange(final Payment payment, final boolean deleted) {
+		final var event = PaymentChangedEvent.builder()
+				.paymentId(payment.getPaymentId())
+				.orderId(payment.getOrderId())
+				.isPayed(payment.getIsPayed())
+				.paymentStatus((payment.getPaymentStatus() == null) ? null : payment.getPaymentStatus().name())
+				.deleted(deleted)
+				.occurredAt(Instant.now().toEpochMilli())
+				.build();
+		this.afterCommitNotifier.notifyAfterCommit("orderSummary", () -> this.restTemplate
+				.postForEntity(AppConstant.DiscoveredDomainsApi.ORDER_SUMMARY_SERVICE_API_URL + "/events/payments",
+						event, Boolean.class));
+	}
+	
+	private PaymentDto enrich(final PaymentDto paymentDto) {
+		final var orderId = paymentDto.getOrderDto().getOrderId();
+		paymentDto.setOrderDto(this.remoteCallExecutor.call("orderService",
+				() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.ORDER_SERVICE_API_URL + "/" + orderId, OrderDto.class),
+				e -> {
+					paymentDto.setDegraded(true);
+					return OrderDto.builder().orderId(orderId).build();
+				}));
+		return paymentDto;
+	}
+	
 	
 	
 }
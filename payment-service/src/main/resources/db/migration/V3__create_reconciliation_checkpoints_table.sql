@@ -0,0 +1,12 @@
+
+CREATE TABLE reconciliation_checkpoints (
+	job_name VARCHAR(255) NOT NULL PRIMARY KEY,
+	last_payment_id INT(11) NOT NULL,
+	processed BIGINT NOT NULL,
+	mismatches BIGINT NOT NULL,
+	completed BOOLEAN NOT NULL,
+	started_at TIMESTAMP,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
@@ -0,0 +1,176 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+import com.selimhorri.app.commons.resilience.RemoteCallProperties;
+import com.selimhorri.app.config.reconciliation.PaymentReconciliationProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.domain.ReconciliationCheckpoint;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ReconciliationFinding;
+import com.selimhorri.app.dto.ReconciliationReport;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.repository.ReconciliationCheckpointRepository;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentReconciliationServiceImplTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ReconciliationCheckpointRepository reconciliationCheckpointRepository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private PaymentReconciliationServiceImpl reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        PaymentReconciliationProperties properties = new PaymentReconciliationProperties();
+        properties.setChunkSize(2);
+        properties.setParallelism(2);
+        this.reconciliationService = new PaymentReconciliationServiceImpl(this.paymentRepository,
+                this.reconciliationCheckpointRepository, this.restTemplate,
+                new RemoteCallExecutor(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                        TimeLimiterRegistry.ofDefaults(), new SimpleMeterRegistry(), new RemoteCallProperties()),
+                properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void reconcileWalksChunksAndReportsMismatches() {
+        when(this.reconciliationCheckpointRepository.findById(PaymentReconciliationServiceImpl.JOB_NAME))
+                .thenReturn(Optional.empty());
+        when(this.paymentRepository.findByPaymentIdGreaterThanOrderByPaymentIdAsc(0, PageRequest.of(0, 2)))
+                .thenReturn(List.of(payment(1, 101, true, PaymentStatus.COMPLETED),
+                        payment(2, 102, true, PaymentStatus.IN_PROGRESS)));
+        when(this.paymentRepository.findByPaymentIdGreaterThanOrderByPaymentIdAsc(2, PageRequest.of(0, 2)))
+                .thenReturn(List.of(payment(3, 999, false, PaymentStatus.NOT_STARTED)));
+        stubOrders("101,102", List.of(order(101), order(102)));
+        stubOrders("999", List.of());
+
+        ReconciliationReport report = this.reconciliationService.reconcile();
+
+        assertEquals(ReconciliationReport.Status.COMPLETED, report.getStatus());
+        assertEquals(3, report.getProcessed());
+        assertEquals(3, report.getLastPaymentId());
+        assertEquals(1L, report.getMismatches().get(ReconciliationFinding.Type.STATUS_MISMATCH));
+        assertEquals(1L, report.getMismatches().get(ReconciliationFinding.Type.ORPHAN));
+        assertEquals(2, report.getFindings().size());
+
+        ArgumentCaptor<ReconciliationCheckpoint> captor = ArgumentCaptor.forClass(ReconciliationCheckpoint.class);
+        verify(this.reconciliationCheckpointRepository, times(3)).save(captor.capture());
+        assertTrue(captor.getValue().getCompleted());
+        assertEquals(3L, captor.getValue().getProcessed());
+    }
+
+    @Test
+    void reconcileResumesFromUnfinishedCheckpoint() {
+        ReconciliationCheckpoint checkpoint = ReconciliationCheckpoint.builder()
+                .jobName(PaymentReconciliationServiceImpl.JOB_NAME)
+                .lastPaymentId(2)
+                .processed(2L)
+                .mismatches(0L)
+                .completed(false)
+                .build();
+        when(this.reconciliationCheckpointRepository.findById(PaymentReconciliationServiceImpl.JOB_NAME))
+                .thenReturn(Optional.of(checkpoint));
+        when(this.paymentRepository.findByPaymentIdGreaterThanOrderByPaymentIdAsc(2, PageRequest.of(0, 2)))
+                .thenReturn(List.of(payment(3, 103, false, PaymentStatus.IN_PROGRESS)));
+        stubOrders("103", List.of(order(103)));
+
+        ReconciliationReport report = this.reconciliationService.reconcile();
+
+        assertEquals(2, report.getResumedAfterPaymentId());
+        assertEquals(1, report.getProcessed());
+        assertEquals(3, report.getTotalProcessed());
+        assertTrue(report.getFindings().isEmpty());
+        verify(this.paymentRepository, never()).findByPaymentIdGreaterThanOrderByPaymentIdAsc(0, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void reconcileStopsWithoutOrphansWhenOrderServiceFails() {
+        when(this.reconciliationCheckpointRepository.findById(PaymentReconciliationServiceImpl.JOB_NAME))
+                .thenReturn(Optional.empty());
+        when(this.paymentRepository.findByPaymentIdGreaterThanOrderByPaymentIdAsc(0, PageRequest.of(0, 2)))
+                .thenReturn(List.of(payment(1, 101, true, PaymentStatus.COMPLETED)));
+        when(this.restTemplate.exchange(any(String.class), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new ResourceAccessException("order-service down"));
+
+        ReconciliationReport report = this.reconciliationService.reconcile();
+
+        assertEquals(ReconciliationReport.Status.FAILED, report.getStatus());
+        assertEquals(0, report.getProcessed());
+        assertTrue(report.getFindings().isEmpty());
+        verify(this.reconciliationCheckpointRepository, never()).save(any(ReconciliationCheckpoint.class));
+    }
+
+    @Test
+    void checkAcceptsConsistentPayments() {
+        Map<Integer, OrderDto> orders = Map.of(101, order(101));
+
+        assertFalse(PaymentReconciliationServiceImpl.check(payment(1, 101, true, PaymentStatus.COMPLETED), orders).isPresent());
+        assertFalse(PaymentReconciliationServiceImpl.check(payment(2, 101, false, PaymentStatus.IN_PROGRESS), orders).isPresent());
+        assertEquals(ReconciliationFinding.Type.STATUS_MISMATCH,
+                PaymentReconciliationServiceImpl.check(payment(3, 101, false, PaymentStatus.COMPLETED), orders).get().getType());
+        assertEquals(ReconciliationFinding.Type.ORPHAN,
+                PaymentReconciliationServiceImpl.check(payment(4, null, true, PaymentStatus.COMPLETED), orders).get().getType());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubOrders(String ids, List<OrderDto> orders) {
+        when(this.restTemplate.exchange(eq(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "?ids=" + ids),
+                eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(orders)));
+    }
+
+    private static Payment payment(Integer paymentId, Integer orderId, boolean payed, PaymentStatus status) {
+        return Payment.builder()
+                .paymentId(paymentId)
+                .orderId(orderId)
+                .isPayed(payed)
+                .paymentStatus(status)
+                .build();
+    }
+
+    private static OrderDto order(Integer orderId) {
+        return OrderDto.builder()
+                .orderId(orderId)
+                .build();
+    }
+}
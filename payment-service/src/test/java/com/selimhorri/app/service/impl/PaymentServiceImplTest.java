@@ -1,8 +1,10 @@
 package com.selimhorri.app.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
@@ -18,8 +20,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.commons.notification.AfterCommitNotifier;
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+import com.selimhorri.app.commons.resilience.RemoteCallProperties;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.domain.PaymentStatus;
@@ -28,6 +34,11 @@ import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.repository.PaymentRepository;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceImplTest {
 
@@ -37,6 +48,9 @@ class PaymentServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private AfterCommitNotifier afterCommitNotifier;
+
     private PaymentServiceImpl paymentService;
 
     private Payment payment;
@@ -44,7 +58,10 @@ class PaymentServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        this.paymentService = new PaymentServiceImpl(this.paymentRepository, this.restTemplate);
+        this.paymentService = new PaymentServiceImpl(this.paymentRepository, this.restTemplate,
+                new RemoteCallExecutor(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                        TimeLimiterRegistry.ofDefaults(), new SimpleMeterRegistry(), new RemoteCallProperties()),
+                this.afterCommitNotifier);
 
         this.payment = Payment.builder()
                 .paymentId(42)
@@ -96,6 +113,21 @@ class PaymentServiceImplTest {
         assertSame(this.orderDto, result.getOrderDto());
     }
 
+    @Test
+    void findByIdReturnsPartialOrderWhenOrderServiceFails() {
+        when(this.paymentRepository.findById(this.payment.getPaymentId())).thenReturn(Optional.of(this.payment));
+        when(this.restTemplate.getForObject(
+                AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + this.payment.getOrderId(),
+                OrderDto.class))
+                .thenThrow(new ResourceAccessException("connect timed out"));
+
+        PaymentDto result = this.paymentService.findById(this.payment.getPaymentId());
+
+        assertTrue(result.getDegraded());
+        assertEquals(this.payment.getOrderId(), result.getOrderDto().getOrderId());
+        assertNull(result.getOrderDto().getOrderDesc());
+    }
+
     @Test
     void findByIdThrowsWhenNotFound() {
         when(this.paymentRepository.findById(this.payment.getPaymentId())).thenReturn(Optional.empty());
@@ -121,6 +153,7 @@ class PaymentServiceImplTest {
 
         ArgumentCaptor<Payment> paymentCaptor = ArgumentCaptor.forClass(Payment.class);
         verify(this.paymentRepository).save(paymentCaptor.capture());
+        verify(this.afterCommitNotifier).notifyAfterCommit(eq("orderSummary"), any(Runnable.class));
         Payment saved = paymentCaptor.getValue();
         assertEquals(input.getPaymentId(), saved.getPaymentId());
         assertEquals(input.getOrderDto().getOrderId(), saved.getOrderId());
@@ -152,6 +185,7 @@ class PaymentServiceImplTest {
 
         ArgumentCaptor<Payment> paymentCaptor = ArgumentCaptor.forClass(Payment.class);
         verify(this.paymentRepository).save(paymentCaptor.capture());
+        verify(this.afterCommitNotifier).notifyAfterCommit(eq("orderSummary"), any(Runnable.class));
         Payment saved = paymentCaptor.getValue();
         assertEquals(input.getPaymentId(), saved.getPaymentId());
         assertEquals(input.getOrderDto().getOrderId(), saved.getOrderId());
@@ -160,10 +194,12 @@ class PaymentServiceImplTest {
 
     @Test
     void deleteByIdDelegatesToRepository() {
+        when(this.paymentRepository.findById(this.payment.getPaymentId())).thenReturn(Optional.of(this.payment));
         doNothing().when(this.paymentRepository).deleteById(eq(this.payment.getPaymentId()));
 
         this.paymentService.deleteById(this.payment.getPaymentId());
 
         verify(this.paymentRepository).deleteById(this.payment.getPaymentId());
+        verify(this.afterCommitNotifier).notifyAfterCommit(eq("orderSummary"), any(Runnable.class));
     }
 }
@@ -0,0 +1,52 @@
+package com.selimhorri.app.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Grows the Flyway seed catalogue (a handful of products) to a realistic size, so the catalogue step serialises a
+ * list of the size production returns. Products go through the gateway like any client write.
+ */
+final class DatasetSeeder {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int SEEDED_CATEGORY_ID = 1;
+
+    private final HttpClient httpClient;
+    private final URI gatewayUri;
+
+    DatasetSeeder(HttpClient httpClient, URI gatewayUri) {
+        this.httpClient = httpClient;
+        this.gatewayUri = gatewayUri;
+    }
+
+    void seedProducts(int count) throws IOException, InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < count; i++) {
+            ObjectNode product = OBJECT_MAPPER.createObjectNode()
+                    .put("productTitle", "Perf product " + i)
+                    .put("imageUrl", "https://img/perf-" + i + ".png")
+                    .put("sku", "PERF-" + runId + "-" + i)
+                    .put("priceUnit", 9.99 + i % 100)
+                    .put("quantity", 50 + i % 50);
+            product.putObject("category").put("categoryId", SEEDED_CATEGORY_ID);
+            HttpRequest request = HttpRequest.newBuilder(this.gatewayUri.resolve("/product-service/api/products"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(product)))
+                    .build();
+            int status = this.httpClient.send(request, BodyHandlers.discarding()).statusCode();
+            if (status < 200 || status >= 300) {
+                throw new IllegalStateException("Seeding product " + i + " failed with status " + status);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.selimhorri.app.perf;
+
+/**
+ * The steps of {@code MarketplaceJourney} in load-testing/locustfile.py, labelled with the same request names so
+ * results can be compared with a Locust run.
+ */
+enum JourneyStep {
+
+    BROWSE_PRODUCT_CATALOGUE("GET /product-service/api/products", "/product-service/api/products"),
+    VIEW_PRODUCT_DETAILS("GET /product-service/api/products/{id}", "/product-service/api/products"),
+    REVIEW_FAVOURITES("GET /favourite-service/api/favourites", "/favourite-service/api/favourites"),
+    INSPECT_SHIPPING_SUMMARY("GET /shipping-service/api/shippings", "/shipping-service/api/shippings"),
+    CHECK_PAYMENT_STATUS("GET /payment-service/api/payments", "/payment-service/api/payments");
+
+    private final String label;
+    private final String readinessPath;
+
+    JourneyStep(String label, String readinessPath) {
+        this.label = label;
+        this.readinessPath = readinessPath;
+    }
+
+    String getLabel() {
+        return this.label;
+    }
+
+    String getReadinessPath() {
+        return this.readinessPath;
+    }
+}
@@ -0,0 +1,156 @@
+package com.selimhorri.app.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Forks service-discovery, then every business module and proxy-client in parallel, then api-gateway, each from
+ * its packaged jar on the in-memory H2 of the dev profile (seeded by Flyway). The modules share the
+ * {@code com.selimhorri.app} packages, so they cannot live in one JVM. The config server import and Zipkin are
+ * switched off as in {@code startup-benchmark/common.sh}; Eureka stays on because the gateway routes through it.
+ */
+final class LocalStack implements AutoCloseable {
+
+    private static final String DISCOVERY = "service-discovery";
+    private static final String GATEWAY = "api-gateway";
+    private static final String EUREKA_URL = "http://localhost:8761/eureka";
+
+    /**
+     * Same probes as startup-benchmark/common.sh.
+     */
+    private static final Map<String, String> PROBES = Map.of(
+            DISCOVERY, "http://localhost:8761/actuator/health",
+            GATEWAY, "http://localhost:8080/actuator/health",
+            "proxy-client", "http://localhost:8900/app/actuator/health",
+            "user-service", "http://localhost:8700/user-service/api/users",
+            "product-service", "http://localhost:8500/product-service/api/products",
+            "favourite-service", "http://localhost:8800/favourite-service/actuator/health",
+            "order-service", "http://localhost:8300/order-service/actuator/health",
+            "shipping-service", "http://localhost:8600/shipping-service/actuator/health",
+            "payment-service", "http://localhost:8400/payment-service/actuator/health");
+
+    private final URI gatewayUri;
+    private final Deque<ServiceProcess> processes = new ArrayDeque<>();
+    private final Thread shutdownHook = new Thread(this::stopAll, "perf-stack-shutdown");
+
+    private LocalStack(URI gatewayUri) {
+        this.gatewayUri = gatewayUri;
+    }
+
+    static LocalStack start(PerfSettings settings, HttpClient httpClient) throws IOException, InterruptedException {
+        if (settings.isExternalStack()) {
+            return new LocalStack(settings.getExternalGatewayUri());
+        }
+        LocalStack stack = new LocalStack(URI.create("http://localhost:8080"));
+        Runtime.getRuntime().addShutdownHook(stack.shutdownHook);
+        try {
+            List<String> modules = settings.getModules();
+            if (modules.contains(DISCOVERY)) {
+                stack.startAndAwait(settings, httpClient, List.of(DISCOVERY));
+            }
+            stack.startAndAwait(settings, httpClient, modules.stream()
+                    .filter(module -> !DISCOVERY.equals(module) && !GATEWAY.equals(module))
+                    .collect(Collectors.toUnmodifiableList()));
+            if (modules.contains(GATEWAY)) {
+                stack.startAndAwait(settings, httpClient, List.of(GATEWAY));
+                stack.awaitRoutes(httpClient, settings.getStartupTimeout());
+            }
+            return stack;
+        } catch (IOException | InterruptedException | RuntimeException ex) {
+            stack.close();
+            throw ex;
+        }
+    }
+
+    URI getGatewayUri() {
+        return this.gatewayUri;
+    }
+
+    private void startAndAwait(PerfSettings settings, HttpClient httpClient, List<String> modules)
+            throws IOException, InterruptedException {
+        List<ServiceProcess> started = new ArrayList<>();
+        for (String module : modules) {
+            if (!PROBES.containsKey(module)) {
+                throw new IllegalArgumentException("Unknown module " + module + ", expected one of " + PROBES.keySet());
+            }
+            ServiceProcess process = ServiceProcess.start(settings, module, arguments(settings, module));
+            this.processes.push(process);
+            started.add(process);
+        }
+        for (ServiceProcess process : started) {
+            process.awaitReady(httpClient, URI.create(PROBES.get(process.getModule())), settings.getStartupTimeout());
+        }
+    }
+
+    /**
+     * The gateway answers its health check before it has fetched the registry, so every route of the journey is
+     * polled until it answers 2xx.
+     */
+    private void awaitRoutes(HttpClient httpClient, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (JourneyStep step : JourneyStep.values()) {
+            HttpRequest request = HttpRequest.newBuilder(this.gatewayUri.resolve(step.getReadinessPath()))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            while (true) {
+                try {
+                    int status = httpClient.send(request, BodyHandlers.discarding()).statusCode();
+                    if (status >= 200 && status < 300) {
+                        break;
+                    }
+                } catch (IOException ex) {
+                    // route not resolvable yet
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(String.format("Gateway route %s not ready within %s",
+                            step.getReadinessPath(), timeout));
+                }
+                Thread.sleep(500L);
+            }
+        }
+    }
+
+    private static Map<String, String> arguments(PerfSettings settings, String module) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        arguments.put("spring.profiles.active", settings.getProfiles());
+        arguments.put("spring.zipkin.enabled", "false");
+        arguments.put("eureka.client.service-url.defaultZone", EUREKA_URL);
+        arguments.put("eureka.instance.hostname", "localhost");
+        if (GATEWAY.equals(module)) {
+            // every virtual user comes from 127.0.0.1, so the per-address limiter would throttle the whole run
+            arguments.put("GATEWAY_RATE_LIMIT_REPLENISH_RATE", "100000");
+            arguments.put("GATEWAY_RATE_LIMIT_BURST_CAPACITY", "200000");
+            arguments.put("app.gateway.rate-limiter.default-replenish-rate", "100000");
+            arguments.put("app.gateway.rate-limiter.default-burst-capacity", "200000");
+        }
+        return arguments;
+    }
+
+    @Override
+    public void close() {
+        this.stopAll();
+        try {
+            Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+        } catch (IllegalStateException ex) {
+            // already shutting down
+        }
+    }
+
+    private synchronized void stopAll() {
+        while (!this.processes.isEmpty()) {
+            this.processes.pop().close();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.selimhorri.app.perf;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Java port of {@code MarketplaceJourney} in load-testing/locustfile.py: the same five requests in the same order
+ * with the same checks, and a uniform think time between steps (Locust's {@code between(1, 3)} by default). Every
+ * request is asynchronous, so thousands of journeys can be in flight without a thread each.
+ */
+final class MarketplaceJourney {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final URI gatewayUri;
+    private final PerfSettings settings;
+    private final StepLatencies latencies;
+
+    MarketplaceJourney(HttpClient httpClient, URI gatewayUri, PerfSettings settings, StepLatencies latencies) {
+        this.httpClient = httpClient;
+        this.gatewayUri = gatewayUri;
+        this.settings = settings;
+        this.latencies = latencies;
+    }
+
+    /**
+     * @param dueNanos {@link System#nanoTime()} at which the journey was scheduled to arrive
+     */
+    CompletableFuture<Void> run(long dueNanos) {
+        return this.execute(JourneyStep.BROWSE_PRODUCT_CATALOGUE, "/product-service/api/products", dueNanos,
+                        MarketplaceJourney::firstProductId)
+                .thenCompose(productId -> this.afterThinkTime(due -> productId == null
+                        // the previous step already recorded the failure, as in the Locust journey
+                        ? CompletableFuture.<JsonNode>completedFuture(null)
+                        : this.execute(JourneyStep.VIEW_PRODUCT_DETAILS, "/product-service/api/products/" + productId, due,
+                                product -> productId.equals(product.path("productId").numberValue())
+                                        ? product : fail("Product endpoint did not return the expected id"))))
+                .thenCompose(ignored -> this.afterThinkTime(due -> this.executeCollection(JourneyStep.REVIEW_FAVOURITES,
+                        "/favourite-service/api/favourites", due, List.of("user", "product"))))
+                .thenCompose(ignored -> this.afterThinkTime(due -> this.executeCollection(JourneyStep.INSPECT_SHIPPING_SUMMARY,
+                        "/shipping-service/api/shippings", due, List.of("order", "product"))))
+                .thenCompose(ignored -> this.afterThinkTime(due -> this.executeCollection(JourneyStep.CHECK_PAYMENT_STATUS,
+                        "/payment-service/api/payments", due, List.of("paymentStatus", "order"))))
+                .thenApply(ignored -> null);
+    }
+
+    private <T> CompletableFuture<T> afterThinkTime(Function<Long, CompletableFuture<T>> step) {
+        long minMillis = this.settings.getThinkTimeMin().toMillis();
+        long maxMillis = this.settings.getThinkTimeMax().toMillis();
+        long thinkMillis = maxMillis > minMillis ? ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1) : minMillis;
+        long dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(thinkMillis);
+        if (thinkMillis == 0) {
+            return step.apply(dueNanos);
+        }
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(thinkMillis, TimeUnit.MILLISECONDS))
+                .thenCompose(ignored -> step.apply(dueNanos));
+    }
+
+    private CompletableFuture<JsonNode> executeCollection(JourneyStep step, String path, long dueNanos, List<String> requiredFields) {
+        return this.execute(step, path, dueNanos, payload -> {
+            JsonNode collection = collectionOf(payload);
+            List<String> missing = requiredFields.stream()
+                    .filter(field -> !collection.get(0).has(field))
+                    .collect(Collectors.toList());
+            return missing.isEmpty() ? collection : fail("Payload missing fields: " + String.join(", ", missing));
+        });
+    }
+
+    /**
+     * Completes with the checked value, or with {@code null} once the failure is recorded; never exceptionally.
+     */
+    private <T> CompletableFuture<T> execute(JourneyStep step, String path, long dueNanos, Function<JsonNode, T> check) {
+        HttpRequest request = HttpRequest.newBuilder(this.gatewayUri.resolve(path))
+                .timeout(this.settings.getRequestTimeout())
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return this.httpClient.sendAsync(request, BodyHandlers.ofByteArray())
+                .handle((response, failure) -> {
+                    long latencyNanos = System.nanoTime() - dueNanos;
+                    try {
+                        if (failure != null) {
+                            throw new JourneyFailure(rootCause(failure).getClass().getSimpleName());
+                        }
+                        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                            throw new JourneyFailure("Unexpected status " + response.statusCode());
+                        }
+                        T value = check.apply(readJson(response));
+                        this.latencies.recordSuccess(step, latencyNanos);
+                        return value;
+                    } catch (RuntimeException ex) {
+                        this.latencies.recordFailure(step, ex instanceof JourneyFailure ? ex.getMessage() : ex.getClass().getSimpleName());
+                        return null;
+                    }
+                });
+    }
+
+    private static Number firstProductId(JsonNode payload) {
+        JsonNode productId = collectionOf(payload).get(0).path("productId");
+        if (!productId.isInt()) {
+            fail("Product collection missing numeric productId");
+        }
+        return productId.numberValue();
+    }
+
+    private static JsonNode collectionOf(JsonNode payload) {
+        JsonNode collection = payload.path("collection");
+        if (!collection.isArray() || collection.size() == 0) {
+            fail("Collection response did not contain elements");
+        }
+        return collection;
+    }
+
+    private static JsonNode readJson(HttpResponse<byte[]> response) {
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        try (InputStream body = gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(response.body()))
+                : new ByteArrayInputStream(response.body())) {
+            return OBJECT_MAPPER.readTree(body);
+        } catch (IOException ex) {
+            throw new JourneyFailure("Invalid JSON: " + ex.getClass().getSimpleName());
+        }
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static <T> T fail(String reason) {
+        throw new JourneyFailure(reason);
+    }
+
+    private static final class JourneyFailure extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        JourneyFailure(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
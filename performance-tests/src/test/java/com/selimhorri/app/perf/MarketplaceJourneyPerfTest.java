@@ -0,0 +1,57 @@
+package com.selimhorri.app.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Boots the whole backend locally (see {@link LocalStack}), seeds the catalogue, replays the Locust marketplace
+ * journey at an open-model arrival rate and reports per-step HdrHistogram latencies, written as {@code .hgrm} files
+ * next to the module logs in {@code target/perf}. See performance-tests/README.md for the knobs.
+ */
+class MarketplaceJourneyPerfTest {
+
+    @Test
+    void marketplaceJourneyMeetsErrorBudgetUnderOpenModelLoad() throws Exception {
+        PerfSettings settings = PerfSettings.fromEnvironment();
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+        try (LocalStack stack = LocalStack.start(settings, httpClient)) {
+            new DatasetSeeder(httpClient, stack.getGatewayUri()).seedProducts(settings.getSeedProducts());
+
+            StepLatencies latencies = new StepLatencies();
+            OpenModelDriver driver = new OpenModelDriver(settings,
+                    new MarketplaceJourney(httpClient, stack.getGatewayUri(), settings, latencies));
+            driver.run(settings.getWarmup());
+            latencies.reset();
+            OpenModelDriver.Result result = driver.run(settings.getDuration());
+
+            latencies.print(System.out, result);
+            latencies.write(settings.getOutputDir());
+
+            double attempts = latencies.totalRequests() + result.getDropped();
+            double errorRate = attempts == 0 ? 1.0 : (latencies.totalFailures() + result.getDropped()) / attempts;
+            assertTrue(errorRate <= settings.getMaxErrorRate(), String.format(
+                    "Error rate %.4f above budget %.4f", errorRate, settings.getMaxErrorRate()));
+            if (settings.getMaxP99() != null) {
+                double maxP99Millis = settings.getMaxP99().toMillis();
+                for (JourneyStep step : JourneyStep.values()) {
+                    assertTrue(latencies.p99Millis(step) <= maxP99Millis, String.format("%s p99 %.2f ms above %s",
+                            step.getLabel(), latencies.p99Millis(step), settings.getMaxP99()));
+                }
+            }
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+    }
+}
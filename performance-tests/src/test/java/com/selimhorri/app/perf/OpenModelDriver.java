@@ -0,0 +1,101 @@
+package com.selimhorri.app.perf;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts journeys as a Poisson process at the configured arrival rate, whether or not earlier journeys have
+ * finished. Unlike Locust's closed model (a fixed number of users each waiting for its own responses), a slow
+ * system therefore sees the backlog grow instead of the load backing off. Arrivals beyond the concurrency cap are
+ * dropped and reported rather than queued.
+ */
+final class OpenModelDriver {
+
+    private static final Duration DRAIN_GRACE = Duration.ofSeconds(5);
+
+    private final PerfSettings settings;
+    private final MarketplaceJourney journey;
+    private final SplittableRandom random;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelDriver(PerfSettings settings, MarketplaceJourney journey) {
+        this.settings = settings;
+        this.journey = journey;
+        this.random = new SplittableRandom(settings.getRandomSeed());
+    }
+
+    /**
+     * Runs arrivals for the given duration, then waits for the journeys already started to finish.
+     */
+    Result run(Duration duration) throws InterruptedException {
+        double meanInterArrivalNanos = TimeUnit.SECONDS.toNanos(1) / this.settings.getArrivalRate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long nextArrival = start;
+        long started = 0;
+        long dropped = 0;
+        while (nextArrival < end) {
+            long wait = nextArrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            if (this.inFlight.get() >= this.settings.getMaxConcurrentJourneys()) {
+                dropped++;
+            } else {
+                this.inFlight.incrementAndGet();
+                started++;
+                this.journey.run(nextArrival).whenComplete((ignored, failure) -> this.inFlight.decrementAndGet());
+            }
+            // exponential inter-arrival times make the arrivals a Poisson process
+            nextArrival += (long) (-Math.log(1.0 - this.random.nextDouble()) * meanInterArrivalNanos);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        this.drain();
+        return new Result(started, dropped, elapsedSeconds, this.settings.getArrivalRate());
+    }
+
+    private void drain() throws InterruptedException {
+        Duration longestJourney = this.settings.getRequestTimeout().plus(this.settings.getThinkTimeMax())
+                .multipliedBy(JourneyStep.values().length)
+                .plus(DRAIN_GRACE);
+        long deadline = System.nanoTime() + longestJourney.toNanos();
+        while (this.inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50L);
+        }
+    }
+
+    static final class Result {
+
+        private final long started;
+        private final long dropped;
+        private final double elapsedSeconds;
+        private final double targetRate;
+
+        Result(long started, long dropped, double elapsedSeconds, double targetRate) {
+            this.started = started;
+            this.dropped = dropped;
+            this.elapsedSeconds = elapsedSeconds;
+            this.targetRate = targetRate;
+        }
+
+        long getStarted() {
+            return this.started;
+        }
+
+        long getDropped() {
+            return this.dropped;
+        }
+
+        double getElapsedSeconds() {
+            return this.elapsedSeconds;
+        }
+
+        double getTargetRate() {
+            return this.targetRate;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.selimhorri.app.perf;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Run parameters, read from {@code -Dperf.*} system properties or the matching {@code PERF_*} environment
+ * variables (for example {@code -Dperf.arrival-rate=50} or {@code PERF_ARRIVAL_RATE=50}).
+ */
+final class PerfSettings {
+
+    static final List<String> ALL_MODULES = List.of("service-discovery", "proxy-client", "user-service",
+            "product-service", "favourite-service", "order-service", "shipping-service", "payment-service", "api-gateway");
+
+    private final Path rootDir;
+    private final String projectVersion;
+    private final Path outputDir;
+    private final URI externalGatewayUri;
+    private final List<String> modules;
+    private final String profiles;
+    private final String javaOptions;
+    private final Duration startupTimeout;
+    private final int seedProducts;
+    private final double arrivalRate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration thinkTimeMin;
+    private final Duration thinkTimeMax;
+    private final Duration requestTimeout;
+    private final int maxConcurrentJourneys;
+    private final long randomSeed;
+    private final double maxErrorRate;
+    private final Duration maxP99;
+
+    private PerfSettings() {
+        this.rootDir = Path.of(property("perf.root-dir", "..")).toAbsolutePath().normalize();
+        this.projectVersion = property("perf.project-version", "0.1.0");
+        this.outputDir = Path.of(property("perf.output-dir", "target/perf")).toAbsolutePath();
+        String gatewayUrl = property("perf.gateway-url", "");
+        this.externalGatewayUri = gatewayUrl.isBlank() ? null : URI.create(stripTrailingSlash(gatewayUrl));
+        this.modules = Arrays.stream(property("perf.modules", String.join(",", ALL_MODULES)).split(","))
+                .map(String::trim)
+                .filter(module -> !module.isEmpty())
+                .collect(Collectors.toUnmodifiableList());
+        this.profiles = property("perf.profiles", "dev,fast-start");
+        this.javaOptions = property("perf.java-options", "-Xmx384m -XX:+UseParallelGC");
+        this.startupTimeout = Duration.parse(property("perf.startup-timeout", "PT4M"));
+        this.seedProducts = Integer.parseInt(property("perf.seed-products", "500"));
+        this.arrivalRate = Double.parseDouble(property("perf.arrival-rate", "20"));
+        this.warmup = Duration.parse(property("perf.warmup", "PT30S"));
+        this.duration = Duration.parse(property("perf.duration", "PT2M"));
+        this.thinkTimeMin = Duration.parse(property("perf.think-time-min", "PT1S"));
+        this.thinkTimeMax = Duration.parse(property("perf.think-time-max", "PT3S"));
+        this.requestTimeout = Duration.parse(property("perf.request-timeout", "PT45S"));
+        this.maxConcurrentJourneys = Integer.parseInt(property("perf.max-concurrent-journeys", "5000"));
+        this.randomSeed = Long.parseLong(property("perf.random-seed", "42"));
+        this.maxErrorRate = Double.parseDouble(property("perf.max-error-rate", "0.01"));
+        String maxP99Value = property("perf.max-p99", "");
+        this.maxP99 = maxP99Value.isBlank() ? null : Duration.parse(maxP99Value);
+        if (this.arrivalRate <= 0) {
+            throw new IllegalArgumentException("perf.arrival-rate must be positive");
+        }
+        if (this.thinkTimeMax.compareTo(this.thinkTimeMin) < 0) {
+            throw new IllegalArgumentException("perf.think-time-max must not be below perf.think-time-min");
+        }
+    }
+
+    static PerfSettings fromEnvironment() {
+        return new PerfSettings();
+    }
+
+    Path moduleJar(String module) {
+        return this.rootDir.resolve(module).resolve("target").resolve(module + "-v" + this.projectVersion + ".jar");
+    }
+
+    boolean isExternalStack() {
+        return this.externalGatewayUri != null;
+    }
+
+    Path getRootDir() {
+        return this.rootDir;
+    }
+
+    Path getOutputDir() {
+        return this.outputDir;
+    }
+
+    URI getExternalGatewayUri() {
+        return this.externalGatewayUri;
+    }
+
+    List<String> getModules() {
+        return this.modules;
+    }
+
+    String getProfiles() {
+        return this.profiles;
+    }
+
+    List<String> getJavaOptions() {
+        return Arrays.stream(this.javaOptions.trim().split("\\s+"))
+                .filter(option -> !option.isEmpty())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    Duration getStartupTimeout() {
+        return this.startupTimeout;
+    }
+
+    int getSeedProducts() {
+        return this.seedProducts;
+    }
+
+    double getArrivalRate() {
+        return this.arrivalRate;
+    }
+
+    Duration getWarmup() {
+        return this.warmup;
+    }
+
+    Duration getDuration() {
+        return this.duration;
+    }
+
+    Duration getThinkTimeMin() {
+        return this.thinkTimeMin;
+    }
+
+    Duration getThinkTimeMax() {
+        return this.thinkTimeMax;
+    }
+
+    Duration getRequestTimeout() {
+        return this.requestTimeout;
+    }
+
+    int getMaxConcurrentJourneys() {
+        return this.maxConcurrentJourneys;
+    }
+
+    long getRandomSeed() {
+        return this.randomSeed;
+    }
+
+    double getMaxErrorRate() {
+        return this.maxErrorRate;
+    }
+
+    Duration getMaxP99() {
+        return this.maxP99;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(name.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_'));
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static String stripTrailingSlash(String value) {
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) == '/') {
+            end--;
+        }
+        return value.substring(0, end);
+    }
+}
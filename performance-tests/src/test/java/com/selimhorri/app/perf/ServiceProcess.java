@@ -0,0 +1,101 @@
+package com.selimhorri.app.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One module running from its packaged jar in a forked JVM, console output going to {@code <output>/<module>.log}.
+ */
+final class ServiceProcess implements AutoCloseable {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String module;
+    private final Process process;
+    private final Path logFile;
+
+    private ServiceProcess(String module, Process process, Path logFile) {
+        this.module = module;
+        this.process = process;
+        this.logFile = logFile;
+    }
+
+    static ServiceProcess start(PerfSettings settings, String module, Map<String, String> arguments) throws IOException {
+        Path jar = settings.moduleJar(module);
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(jar + " not found; package the modules first (./mvnw -B package -DskipTests)");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(settings.getJavaOptions());
+        command.add("-jar");
+        command.add(jar.toString());
+        arguments.forEach((name, value) -> command.add("--" + name + "=" + value));
+
+        Files.createDirectories(settings.getOutputDir());
+        Path logFile = settings.getOutputDir().resolve(module + ".log");
+        ProcessBuilder processBuilder = new ProcessBuilder(command)
+                .directory(settings.getRootDir().resolve(module).toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile());
+        // application.yml imports ${SPRING_CONFIG_IMPORT:optional:configserver:...}; empty means no config server
+        processBuilder.environment().put("SPRING_CONFIG_IMPORT", "");
+        Process process = processBuilder.start();
+        return new ServiceProcess(module, process, logFile);
+    }
+
+    /**
+     * Polls the probe until it answers 2xx; fails early when the process exits.
+     */
+    void awaitReady(HttpClient httpClient, URI probe, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(probe).timeout(Duration.ofSeconds(5)).GET().build();
+        while (true) {
+            if (!this.process.isAlive()) {
+                throw new IllegalStateException(String.format("%s exited with %d before %s answered, see %s",
+                        this.module, this.process.exitValue(), probe, this.logFile));
+            }
+            try {
+                int status = httpClient.send(request, BodyHandlers.discarding()).statusCode();
+                if (status >= 200 && status < 300) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(String.format("%s did not answer %s within %s, see %s",
+                        this.module, probe, timeout, this.logFile));
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+    }
+
+    String getModule() {
+        return this.module;
+    }
+
+    @Override
+    public void close() {
+        this.process.destroy();
+        try {
+            if (!this.process.waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                this.process.destroyForcibly().waitFor();
+            }
+        } catch (InterruptedException ex) {
+            this.process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
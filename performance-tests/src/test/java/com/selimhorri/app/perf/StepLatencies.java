@@ -0,0 +1,109 @@
+package com.selimhorri.app.perf;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * One HdrHistogram per journey step, in microseconds, plus failure counts by reason. Latencies are taken from the
+ * moment a request was due rather than when it was sent, so a saturated client or server cannot hide queueing
+ * (no coordinated omission).
+ */
+final class StepLatencies {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<JourneyStep, Histogram> histograms = new EnumMap<>(JourneyStep.class);
+    private final Map<JourneyStep, LongAdder> failures = new EnumMap<>(JourneyStep.class);
+    private final Map<String, LongAdder> failureReasons = new ConcurrentHashMap<>();
+
+    StepLatencies() {
+        for (JourneyStep step : JourneyStep.values()) {
+            this.histograms.put(step, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+            this.failures.put(step, new LongAdder());
+        }
+    }
+
+    void recordSuccess(JourneyStep step, long latencyNanos) {
+        this.histograms.get(step).recordValue(Math.max(1L, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    /**
+     * Failed requests are counted but kept out of the latency distribution, as Locust does.
+     */
+    void recordFailure(JourneyStep step, String reason) {
+        this.failures.get(step).increment();
+        this.failureReasons.computeIfAbsent(step.getLabel() + ": " + reason, key -> new LongAdder()).increment();
+    }
+
+    void reset() {
+        this.histograms.values().forEach(Histogram::reset);
+        this.failures.values().forEach(LongAdder::reset);
+        this.failureReasons.clear();
+    }
+
+    long totalRequests() {
+        return this.histograms.values().stream().mapToLong(Histogram::getTotalCount).sum() + this.totalFailures();
+    }
+
+    long totalFailures() {
+        return this.failures.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    double p99Millis(JourneyStep step) {
+        return this.histograms.get(step).getValueAtPercentile(99.0) / MICROS_PER_MILLI;
+    }
+
+    void print(PrintStream out, OpenModelDriver.Result result) {
+        out.println();
+        out.printf(Locale.ROOT, "Open model: %d journeys started over %.1fs (%.2f/s target %.2f/s), %d dropped at the concurrency cap%n",
+                result.getStarted(), result.getElapsedSeconds(), result.getStarted() / result.getElapsedSeconds(),
+                result.getTargetRate(), result.getDropped());
+        out.printf(Locale.ROOT, "%-42s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "step", "ok", "failed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "rps");
+        for (JourneyStep step : JourneyStep.values()) {
+            Histogram histogram = this.histograms.get(step);
+            out.printf(Locale.ROOT, "%-42s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    step.getLabel(),
+                    histogram.getTotalCount(),
+                    this.failures.get(step).sum(),
+                    histogram.getValueAtPercentile(50.0) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(90.0) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.0) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI,
+                    histogram.getTotalCount() / result.getElapsedSeconds());
+        }
+        if (!this.failureReasons.isEmpty()) {
+            out.println("Failures:");
+            this.failureReasons.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> out.printf(Locale.ROOT, "  %6d  %s%n", entry.getValue().sum(), entry.getKey()));
+        }
+    }
+
+    /**
+     * Writes one {@code .hgrm} percentile distribution per step (values in milliseconds), which HdrHistogram's
+     * plotter and most dashboards read directly.
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (JourneyStep step : JourneyStep.values()) {
+            Path file = directory.resolve(step.name().toLowerCase(Locale.ROOT).replace('_', '-') + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                this.histograms.get(step).outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+}
@@ -29,6 +29,20 @@ public class ProductDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private CategoryDto categoryDto;
 	
+	/**
+	 * Target of the JPQL constructor expressions in ProductRepository, the category being flattened into the select list.
+	 */
+	public ProductDto(final Integer productId, final String productTitle, final String imageUrl, final String sku,
+			final Double priceUnit, final Integer quantity,
+			final Integer categoryId, final String categoryTitle, final String categoryImageUrl) {
+		this(productId, productTitle, imageUrl, sku, priceUnit, quantity, categoryId == null ? null
+				: CategoryDto.builder()
+					.categoryId(categoryId)
+					.categoryTitle(categoryTitle)
+					.imageUrl(categoryImageUrl)
+					.build());
+	}
+	
 }
 
 
@@ -1,11 +1,25 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	String PRODUCT_DTO_PROJECTION = "SELECT new com.selimhorri.app.dto.ProductDto(p.productId, p.productTitle, p.imageUrl, "
+			+ "p.sku, p.priceUnit, p.quantity, c.categoryId, c.categoryTitle, c.imageUrl) "
+			+ "FROM Product p LEFT JOIN p.category c";
+	
+	@Query(PRODUCT_DTO_PROJECTION + " ORDER BY p.productId")
+	List<ProductDto> findAllProjected();
 	
+	@Query(PRODUCT_DTO_PROJECTION + " WHERE p.productId IN :productIds ORDER BY p.productId")
+	List<ProductDto> findAllProjectedByIds(@Param("productIds") final Collection<Integer> productIds);
 	
 }
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CategoryDto;
@@ -44,6 +45,17 @@ public class CategoryResource {
 		return ResponseEntity.ok(this.categoryService.findById(Integer.parseInt(categoryId)));
 	}
 	
+	@GetMapping("/{categoryId}/chain")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findChainById(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId,
+			@RequestParam(name = "maxDepth", defaultValue = "5") final int maxDepth) {
+		log.info("*** CategoryDto List, resource; fetch category chain by id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService
+				.findChainById(Integer.parseInt(categoryId), maxDepth)));
+	}
+	
 	@PostMapping
 	public ResponseEntity<CategoryDto> save(
 			@RequestBody 
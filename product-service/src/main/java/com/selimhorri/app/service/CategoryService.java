@@ -8,6 +8,7 @@ public interface CategoryService {
 	
 	List<CategoryDto> findAll();
 	CategoryDto findById(final Integer categoryId);
+	List<CategoryDto> findChainById(final Integer categoryId, final int maxDepth);
 	CategoryDto save(final CategoryDto categoryDto);
 	CategoryDto update(final CategoryDto categoryDto);
 	CategoryDto update(final Integer categoryId, final CategoryDto categoryDto);
@@ -1,5 +1,6 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.ProductDto;
@@ -8,6 +9,7 @@ public interface ProductService {
 	
 	List<ProductDto> findAll();
 	ProductDto findById(final Integer productId);
+	List<ProductDto> findAllByIds(final Collection<Integer> productIds);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
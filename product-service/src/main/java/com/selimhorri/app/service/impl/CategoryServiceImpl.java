@@ -1,11 +1,13 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
@@ -25,6 +27,7 @@ public class CategoryServiceImpl implements CategoryService {
 	private final CategoryRepository categoryRepository;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<CategoryDto> findAll() {
 		log.info("*** CategoryDto List, service; fetch all categorys *");
 		return this.categoryRepository.findAll()
@@ -35,6 +38,7 @@ public class CategoryServiceImpl implements CategoryService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public CategoryDto findById(final Integer categoryId) {
 		log.info("*** CategoryDto, service; fetch category by id *");
 		return this.categoryRepository.findById(categoryId)
@@ -42,6 +46,25 @@ public class CategoryServiceImpl implements CategoryService {
 				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
 	}
 	
+	/**
+	 * The category followed by its ancestors, nearest first, so callers walk the tree in one round trip.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<CategoryDto> findChainById(final Integer categoryId, final int maxDepth) {
+		log.info("*** CategoryDto List, service; fetch category chain by id *");
+		final List<CategoryDto> categoryDtos = new ArrayList<>();
+		final Set<Integer> visited = new HashSet<>();
+		var category = this.categoryRepository.findById(categoryId)
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
+		while (category != null && category.getCategoryId() != null && visited.add(category.getCategoryId())
+				&& categoryDtos.size() < maxDepth) {
+			categoryDtos.add(CategoryMappingHelper.map(category));
+			category = category.getParentCategory();
+		}
+		return List.copyOf(categoryDtos);
+	}
+	
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; save category *");
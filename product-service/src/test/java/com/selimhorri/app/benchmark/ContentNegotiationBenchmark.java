@@ -0,0 +1,110 @@
+package com.selimhorri.app.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+
+/**
+ * Encode/decode cost of {@code DtoCollectionResponse<ProductDto>} as JSON, Smile and CBOR. The
+ * {@code payloadBytes} secondary metric is the encoded size.
+ *
+ * <pre>
+ * ./mvnw -pl product-service -am -Pbenchmark -DskipTests verify -Dbenchmark.include=ContentNegotiationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentNegotiationBenchmark {
+
+    private static final TypeReference<DtoCollectionResponse<ProductDto>> RESPONSE_TYPE =
+            new TypeReference<DtoCollectionResponse<ProductDto>>() {};
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"20", "200", "2000"})
+    public int products;
+
+    private ObjectMapper objectMapper;
+    private DtoCollectionResponse<ProductDto> response;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (this.format) {
+            case "smile":
+                this.objectMapper = new ObjectMapper(new SmileFactory());
+                break;
+            case "cbor":
+                this.objectMapper = new ObjectMapper(new CBORFactory());
+                break;
+            default:
+                this.objectMapper = new ObjectMapper();
+        }
+        CategoryDto parent = CategoryDto.builder().categoryId(1).categoryTitle("Computer").imageUrl("https://img/1.png").build();
+        List<ProductDto> collection = new ArrayList<>(this.products);
+        for (int i = 0; i < this.products; i++) {
+            CategoryDto category = CategoryDto.builder()
+                    .categoryId(10 + i % 7)
+                    .categoryTitle("Category " + i % 7)
+                    .imageUrl("https://img/category-" + i % 7 + ".png")
+                    .parentCategoryDto(parent)
+                    .build();
+            collection.add(ProductDto.builder()
+                    .productId(i)
+                    .productTitle("Product title number " + i)
+                    .imageUrl("https://img/product-" + i + ".png")
+                    .sku("SKU-" + (100_000 + i))
+                    .priceUnit(9.99 + i)
+                    .quantity(i % 50)
+                    .categoryDto(category)
+                    .build());
+        }
+        this.response = new DtoCollectionResponse<>(collection);
+        this.encoded = this.objectMapper.writeValueAsBytes(this.response);
+    }
+
+    @Benchmark
+    public byte[] encode(Payload payload) throws IOException {
+        byte[] bytes = this.objectMapper.writeValueAsBytes(this.response);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public DtoCollectionResponse<ProductDto> decode() throws IOException {
+        return this.objectMapper.readValue(this.encoded, RESPONSE_TYPE);
+    }
+}
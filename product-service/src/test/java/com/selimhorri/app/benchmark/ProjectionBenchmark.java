@@ -0,0 +1,126 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.ProductRepository;
+
+/**
+ * Reads the product list through managed entities plus {@link ProductMappingHelper} versus the JPQL constructor
+ * expression of {@link ProductRepository#findAllProjected()}, against an in-memory H2 seeded with {@code rows}
+ * products. Each invocation runs in its own read-only transaction, and so its own persistence context, as a
+ * service call would. The benchmark profile runs JMH with {@code -prof gc}, so {@code gc.alloc.rate.norm} is the
+ * allocation per read of {@code rows} products.
+ *
+ * <pre>
+ * ./mvnw -pl product-service -am -Pbenchmark -DskipTests verify -Dbenchmark.include=ProjectionBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+    private static final int CATEGORIES = 50;
+
+    @Param({"10000"})
+    public int rows;
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private ProductRepository productRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:projection-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+
+        this.factoryBean = new LocalContainerEntityManagerFactoryBean();
+        this.factoryBean.setDataSource(dataSource);
+        this.factoryBean.setPackagesToScan("com.selimhorri.app.domain");
+        this.factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        this.factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.jdbc.batch_size", "500"));
+        this.factoryBean.afterPropertiesSet();
+        var entityManagerFactory = this.factoryBean.getObject();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        for (int i = 1; i <= CATEGORIES; i++) {
+            entityManager.createNativeQuery("INSERT INTO categories (category_id, category_title, image_url) VALUES (?, ?, ?)")
+                    .setParameter(1, i)
+                    .setParameter(2, "Category " + i)
+                    .setParameter(3, "https://img/category-" + i + ".png")
+                    .executeUpdate();
+        }
+        for (int i = 1; i <= this.rows; i++) {
+            entityManager.createNativeQuery("INSERT INTO products (product_id, product_title, image_url, sku, price_unit, quantity, category_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)")
+                    .setParameter(1, i)
+                    .setParameter(2, "Product title number " + i)
+                    .setParameter(3, "https://img/product-" + i + ".png")
+                    .setParameter(4, "SKU-" + (100_000 + i))
+                    .setParameter(5, 9.99 + i)
+                    .setParameter(6, i % 50)
+                    .setParameter(7, 1 + i % CATEGORIES)
+                    .executeUpdate();
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        this.productRepository = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                .getRepository(ProductRepository.class);
+        this.readOnlyTransaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.factoryBean.destroy();
+    }
+
+    @Benchmark
+    public List<ProductDto> entityThenMap() {
+        return this.readOnlyTransaction.execute(status -> this.productRepository.findAll()
+                .stream()
+                    .map(ProductMappingHelper::map)
+                    .collect(Collectors.toUnmodifiableList()));
+    }
+
+    @Benchmark
+    public List<ProductDto> constructorProjection() {
+        return this.readOnlyTransaction.execute(status -> this.productRepository.findAllProjected());
+    }
+}
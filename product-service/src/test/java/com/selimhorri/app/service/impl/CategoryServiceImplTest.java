@@ -0,0 +1,77 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.repository.CategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryServiceImplTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategoryServiceImpl categoryService;
+
+    private Category keyboards;
+
+    @BeforeEach
+    void setUp() {
+        this.categoryService = new CategoryServiceImpl(this.categoryRepository);
+
+        Category root = Category.builder().categoryId(1).categoryTitle("Electronics").build();
+        Category computers = Category.builder().categoryId(2).categoryTitle("Computers").parentCategory(root).build();
+        this.keyboards = Category.builder().categoryId(3).categoryTitle("Keyboards").parentCategory(computers).build();
+    }
+
+    @Test
+    void findChainByIdReturnsCategoryThenAncestors() {
+        when(this.categoryRepository.findById(3)).thenReturn(Optional.of(this.keyboards));
+
+        List<CategoryDto> chain = this.categoryService.findChainById(3, 5);
+
+        assertEquals(List.of("Keyboards", "Computers", "Electronics"), titles(chain));
+    }
+
+    @Test
+    void findChainByIdStopsAtMaxDepth() {
+        when(this.categoryRepository.findById(3)).thenReturn(Optional.of(this.keyboards));
+
+        assertEquals(List.of("Keyboards", "Computers"), titles(this.categoryService.findChainById(3, 2)));
+    }
+
+    @Test
+    void findChainByIdStopsOnCycles() {
+        Category first = Category.builder().categoryId(7).categoryTitle("First").build();
+        Category second = Category.builder().categoryId(8).categoryTitle("Second").parentCategory(first).build();
+        first.setParentCategory(second);
+        when(this.categoryRepository.findById(7)).thenReturn(Optional.of(first));
+
+        assertEquals(List.of("First", "Second"), titles(this.categoryService.findChainById(7, 5)));
+    }
+
+    @Test
+    void findChainByIdThrowsWhenCategoryIsMissing() {
+        when(this.categoryRepository.findById(9)).thenReturn(Optional.empty());
+
+        assertThrows(CategoryNotFoundException.class, () -> this.categoryService.findChainById(9, 5));
+    }
+
+    private static List<String> titles(List<CategoryDto> chain) {
+        return chain.stream().map(CategoryDto::getCategoryTitle).collect(Collectors.toList());
+    }
+}
@@ -1,15 +1,18 @@
 package com.selimhorri.app.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -72,8 +75,12 @@ class ProductServiceImplTest {
     }
 
     @Test
-    void findAllReturnsMappedProducts() {
-        when(this.productRepository.findAll()).thenReturn(List.of(this.product));
+    void findAllReturnsProjectedProducts() {
+        when(this.productRepository.findAllProjected()).thenReturn(List.of(new ProductDto(
+                this.product.getProductId(), this.product.getProductTitle(), this.product.getImageUrl(),
+                this.product.getSku(), this.product.getPriceUnit(), this.product.getQuantity(),
+                this.product.getCategory().getCategoryId(), this.product.getCategory().getCategoryTitle(),
+                this.product.getCategory().getImageUrl())));
 
         List<ProductDto> result = this.productService.findAll();
 
@@ -83,6 +90,30 @@ class ProductServiceImplTest {
         assertEquals(this.product.getCategory().getCategoryId(), dto.getCategoryDto().getCategoryId());
     }
 
+    @Test
+    void findAllByIdsLoadsProductsInOneQuery() {
+        when(this.productRepository.findAllProjectedByIds(Set.of(this.product.getProductId()))).thenReturn(List.of(this.productDto));
+
+        List<ProductDto> result = this.productService.findAllByIds(Set.of(this.product.getProductId()));
+
+        assertEquals(1, result.size());
+        assertEquals(this.product.getProductId(), result.get(0).getProductId());
+    }
+
+    @Test
+    void findAllByIdsSkipsQueryForEmptyIds() {
+        assertEquals(List.of(), this.productService.findAllByIds(Set.of()));
+
+        verifyNoInteractions(this.productRepository);
+    }
+
+    @Test
+    void projectionConstructorLeavesCategoryNullWithoutCategory() {
+        ProductDto dto = new ProductDto(1, "Orphan", null, "SKU-X", 1.0, 1, null, null, null);
+
+        assertNull(dto.getCategoryDto());
+    }
+
     @Test
     void findByIdReturnsProductWhenPresent() {
         when(this.productRepository.findById(this.product.getProductId())).thenReturn(Optional.of(this.product));
@@ -1,5 +1,6 @@
 package com.selimhorri.app.business.auth.controller;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -30,9 +31,10 @@ public class AuthenticationController {
 	public ResponseEntity<AuthenticationResponse> authenticate(
 			@RequestBody 
 			@NotNull(message = "") 
-			@Valid final AuthenticationRequest authenticationRequest) {
+			@Valid final AuthenticationRequest authenticationRequest, 
+			final HttpServletRequest request) {
 		log.info("**Authentication controller, proceed with the request*\n");
-		return ResponseEntity.ok(this.authenticationService.authenticate(authenticationRequest));
+		return ResponseEntity.ok(this.authenticationService.authenticate(authenticationRequest, clientAddress(request)));
 	}
 	
 	@GetMapping("/jwt/{jwt}")
@@ -41,6 +43,17 @@ public class AuthenticationController {
 		return ResponseEntity.ok(this.authenticationService.authenticate(jwt));
 	}
 	
+	/**
+	 * Requests arrive through the gateway, which appends the peer it saw to X-Forwarded-For. Only that last hop is
+	 * trusted; anything before it was sent by the client and would let it pick a fresh throttle key per attempt.
+	 */
+	private static String clientAddress(final HttpServletRequest request) {
+		final var forwardedFor = request.getHeader("X-Forwarded-For");
+		if (forwardedFor != null && !forwardedFor.isBlank())
+			return forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).strip();
+		return request.getRemoteAddr();
+	}
+	
 	
 	
 }
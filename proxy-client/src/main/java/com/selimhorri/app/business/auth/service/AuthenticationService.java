@@ -6,6 +6,7 @@ import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 public interface AuthenticationService {
 	
 	AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest);
+	AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest, final String clientAddress);
 	Boolean authenticate(final String jwt);
 	
 }
@@ -1,14 +1,16 @@
 package com.selimhorri.app.business.auth.service.impl;
 
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.config.throttle.LoginAttemptThrottle;
 import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
 import com.selimhorri.app.jwt.service.JwtService;
 
@@ -21,24 +23,41 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthenticationServiceImpl implements AuthenticationService {
 	
 	private final AuthenticationManager authenticationManager;
-	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final LoginAttemptThrottle loginAttemptThrottle;
 	
 	@Override
 	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest) {
+		return this.authenticate(authenticationRequest, "unknown");
+	}
+	
+	/**
+	 * The token is minted from the principal the provider already loaded, so a login costs a single
+	 * credential fetch; throttled attempts cost none.
+	 */
+	@Override
+	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest, final String clientAddress) {
 		
 		log.info("** AuthenticationResponse, authenticate user service*\n");
 		
+		this.loginAttemptThrottle.checkAllowed(authenticationRequest.getUsername(), clientAddress);
+		
+		final UserDetails userDetails;
 		try {
-			this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
-					authenticationRequest.getUsername(), authenticationRequest.getPassword()));
+			userDetails = (UserDetails) this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+					authenticationRequest.getUsername(), authenticationRequest.getPassword())).getPrincipal();
+		}
+		catch (InternalAuthenticationServiceException e) {
+			throw e;
 		}
-		catch (BadCredentialsException e) {
+		catch (AuthenticationException e) {
+			// unknown usernames count too, otherwise guessing names is never throttled
+			this.loginAttemptThrottle.recordFailure(authenticationRequest.getUsername(), clientAddress);
 			throw new IllegalAuthenticationCredentialsException("#### Bad credentials! ####");
 		}
 		
-		return new AuthenticationResponse(this.jwtService.generateToken(this.userDetailsService
-				.loadUserByUsername(authenticationRequest.getUsername())));
+		this.loginAttemptThrottle.recordSuccess(authenticationRequest.getUsername());
+		return new AuthenticationResponse(this.jwtService.generateToken(userDetails));
 	}
 	
 	@Override
@@ -1,9 +1,12 @@
 package com.selimhorri.app.business.auth.service.impl;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.business.user.model.CredentialDto;
@@ -16,7 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 	
 	private static final String API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials";
 	private final RestTemplate restTemplate;
@@ -24,7 +27,35 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 	@Override
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
 		log.info("**UserDetails, load user by username*\n");
-		return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class));
+		try {
+			return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/{username}", CredentialDto.class, username));
+		}
+		catch (HttpClientErrorException e) {
+			throw new UsernameNotFoundException(String.format("Credential with username: %s not found", username), e);
+		}
+	}
+	
+	/**
+	 * Called by the authentication provider after a successful login whose stored hash uses an outdated
+	 * BCrypt cost. A failed write only postpones the rehash to a later login, it never fails the login itself.
+	 */
+	@Override
+	public UserDetails updatePassword(final UserDetails user, final String newPassword) {
+		if (!(user instanceof UserDetailsImpl))
+			return user;
+		final var credential = ((UserDetailsImpl) user).getCredential();
+		final var previousPassword = credential.getPassword();
+		credential.setPassword(newPassword);
+		try {
+			this.restTemplate.put(API_URL, credential);
+			log.info("**UserDetails, rehashed password of credential {}*\n", credential.getCredentialId());
+			return user;
+		}
+		catch (RestClientException e) {
+			log.warn("**UserDetails, could not rehash password of credential {}: {}*\n", credential.getCredentialId(), e.getMessage());
+			credential.setPassword(previousPassword);
+			return user;
+		}
 	}
 	
 	
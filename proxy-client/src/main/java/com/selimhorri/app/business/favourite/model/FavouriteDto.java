@@ -52,6 +52,9 @@ public class FavouriteDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private ProductDto productDto;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Boolean degraded;
+	
 }
 
 
@@ -0,0 +1,37 @@
+package com.selimhorri.app.business.favourite.model;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class FavouriteSummaryDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer productId;
+	private Long favouriteCount;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Boolean likedByUser;
+	
+}
+
+
+
+
+
+
+
+
+
+
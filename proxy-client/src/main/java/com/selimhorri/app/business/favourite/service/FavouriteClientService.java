@@ -11,9 +11,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
+import com.selimhorri.app.business.favourite.model.FavouriteSummaryDto;
 import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
 
 @FeignClient(name = "FAVOURITE-SERVICE", contextId = "favouriteClientService", path = "/favourite-service/api/favourites")
@@ -58,6 +60,11 @@ public interface FavouriteClientService {
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final FavouriteId favouriteId);
 	
+	@GetMapping("/products/{productId}/summary")
+	ResponseEntity<FavouriteSummaryDto> summarizeByProductId(
+			@PathVariable("productId") final String productId, 
+			@RequestParam(name = "userId", required = false) final Integer userId);
+	
 }
 
 
@@ -31,6 +31,9 @@ public class OrderItemDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private OrderDto orderDto;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Boolean degraded;
+	
 }
 
 
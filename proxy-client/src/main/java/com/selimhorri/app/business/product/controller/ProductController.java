@@ -1,6 +1,7 @@
 package com.selimhorri.app.business.product.controller;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,9 +11,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.product.model.ProductDetailDto;
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.product.service.ProductDetailService;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 	
 	private final ProductClientService productClientService;
+	private final ProductDetailService productDetailService;
 	
 	@GetMapping
 	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll() {
@@ -33,6 +38,13 @@ public class ProductController {
 		return ResponseEntity.ok(this.productClientService.findById(productId).getBody());
 	}
 	
+	@GetMapping("/{productId}/detail")
+	public ResponseEntity<ProductDetailDto> findDetailById(@PathVariable("productId") final String productId, 
+			@AuthenticationPrincipal final UserDetailsImpl userDetails) {
+		return ResponseEntity.ok(this.productDetailService.findDetailById(productId, 
+				userDetails == null ? null : userDetails.getUserId()));
+	}
+	
 	@PostMapping
 	public ResponseEntity<ProductDto> save(@RequestBody final ProductDto productDto) {
 		return ResponseEntity.ok(this.productClientService.save(productDto).getBody());
@@ -0,0 +1,50 @@
+package com.selimhorri.app.business.product.model;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.favourite.model.FavouriteSummaryDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductDetailDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("product")
+	private ProductDto productDto;
+	
+	@JsonProperty("categoryChain")
+	private List<CategoryDto> categoryChainDtos;
+	
+	@JsonProperty("favourites")
+	@JsonInclude(Include.NON_NULL)
+	private FavouriteSummaryDto favouriteSummaryDto;
+	
+	private Boolean degraded;
+	
+	@JsonInclude(Include.NON_EMPTY)
+	private Set<String> degradedParts;
+	
+}
+
+
+
+
+
+
+
+
+
+
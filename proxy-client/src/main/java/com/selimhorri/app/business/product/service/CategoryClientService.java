@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
@@ -28,6 +29,13 @@ public interface CategoryClientService {
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String categoryId);
 	
+	@GetMapping("/{categoryId}/chain")
+	ResponseEntity<CategoryProductServiceCollectionDtoResponse> findChainById(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String categoryId,
+			@RequestParam("maxDepth") final int maxDepth);
+	
 	@PostMapping
 	ResponseEntity<CategoryDto> save(
 			@RequestBody 
@@ -0,0 +1,9 @@
+package com.selimhorri.app.business.product.service;
+
+import com.selimhorri.app.business.product.model.ProductDetailDto;
+
+public interface ProductDetailService {
+	
+	ProductDetailDto findDetailById(final String productId, final Integer userId);
+	
+}
@@ -0,0 +1,167 @@
+package com.selimhorri.app.business.product.service.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.favourite.model.FavouriteSummaryDto;
+import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.ProductDetailDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.product.service.ProductDetailService;
+import com.selimhorri.app.config.detail.ProductDetailProperties;
+import com.selimhorri.app.exception.wrapper.ServiceUnavailableException;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductDetailServiceImpl implements ProductDetailService {
+	
+	public static final String CATEGORY_CHAIN_PART = "categoryChain";
+	public static final String FAVOURITES_PART = "favourites";
+	
+	private final ProductClientService productClientService;
+	private final CategoryClientService categoryClientService;
+	private final FavouriteClientService favouriteClientService;
+	private final ThreadPoolTaskExecutor productDetailExecutor;
+	private final ProductDetailProperties productDetailProperties;
+	
+	@Override
+	public ProductDetailDto findDetailById(final String productId, final Integer userId) {
+		
+		log.info("** ProductDetailDto, fetch product detail by id service*\n");
+		
+		final var productFuture = this.supply(() -> this.productClientService.findById(productId).getBody())
+				.orTimeout(this.productDetailProperties.getProductTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		final var categoryChainFuture = productFuture
+				.thenCompose(productDto -> this.supply(() -> this.fetchCategoryChain(productDto))
+						.orTimeout(this.productDetailProperties.getCategoryTimeout().toMillis(), TimeUnit.MILLISECONDS));
+		final var favouriteFuture = this.supply(() -> this.favouriteClientService
+						.summarizeByProductId(productId, userId).getBody())
+				.orTimeout(this.productDetailProperties.getFavouriteTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		
+		final var productDto = this.joinRequired(productFuture, productId);
+		final Set<String> degradedParts = new LinkedHashSet<>();
+		final List<CategoryDto> categoryChainDtos = this.joinOptional(categoryChainFuture, CATEGORY_CHAIN_PART, degradedParts);
+		final FavouriteSummaryDto favouriteSummaryDto = this.joinOptional(favouriteFuture, FAVOURITES_PART, degradedParts);
+		
+		return ProductDetailDto.builder()
+				.productDto(productDto)
+				.categoryChainDtos(categoryChainDtos == null ? Collections.emptyList() : categoryChainDtos)
+				.favouriteSummaryDto(favouriteSummaryDto)
+				.degraded(!degradedParts.isEmpty())
+				.degradedParts(degradedParts)
+				.build();
+	}
+	
+	/**
+	 * A saturated pool sheds the request as a 503 instead of surfacing the executor's TaskRejectedException as a 500.
+	 */
+	private <T> CompletableFuture<T> supply(final Supplier<T> supplier) {
+		try {
+			return CompletableFuture.supplyAsync(supplier, this.productDetailExecutor);
+		}
+		catch (RejectedExecutionException e) {
+			throw new ServiceUnavailableException("Product detail is at capacity, retry later", e);
+		}
+	}
+	
+	/**
+	 * One round trip: product-service walks the parents itself, capped at the configured depth.
+	 */
+	private List<CategoryDto> fetchCategoryChain(final ProductDto productDto) {
+		
+		final var categoryId = productDto.getCategoryDto() == null ? null : productDto.getCategoryDto().getCategoryId();
+		if (categoryId == null)
+			return Collections.emptyList();
+		
+		final var response = this.categoryClientService
+				.findChainById(String.valueOf(categoryId), this.productDetailProperties.getMaxCategoryDepth()).getBody();
+		if (response == null || response.getCollection() == null)
+			return Collections.emptyList();
+		
+		return response.getCollection().stream()
+				.map(categoryDto -> CategoryDto.builder()
+						.categoryId(categoryDto.getCategoryId())
+						.categoryTitle(categoryDto.getCategoryTitle())
+						.imageUrl(categoryDto.getImageUrl())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private ProductDto joinRequired(final CompletableFuture<ProductDto> future, final String productId) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException(String.format("Product with id: [%s] could not be fetched", productId), e);
+		}
+		catch (ExecutionException e) {
+			final var cause = unwrap(e);
+			if (cause instanceof FeignException)
+				throw (FeignException) cause;
+			if (cause instanceof TimeoutException)
+				throw new ServiceUnavailableException(String.format("Product with id: [%s] did not respond in time", productId), cause);
+			throw new ServiceUnavailableException(String.format("Product with id: [%s] could not be fetched", productId), cause);
+		}
+	}
+	
+	private <T> T joinOptional(final CompletableFuture<T> future, final String part, final Set<String> degradedParts) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			degradedParts.add(part);
+			return null;
+		}
+		catch (ExecutionException e) {
+			log.warn("** ProductDetailDto, optional part {} degraded: {}*\n", part, unwrap(e).toString());
+			degradedParts.add(part);
+			return null;
+		}
+	}
+	
+	/**
+	 * Strips the ExecutionException / CompletionException layers that thenCompose and get() stack on the cause.
+	 */
+	private static Throwable unwrap(final Throwable throwable) {
+		var cause = throwable;
+		while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null)
+			cause = cause.getCause();
+		return cause;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
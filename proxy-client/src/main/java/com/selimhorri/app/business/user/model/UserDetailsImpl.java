@@ -50,6 +50,14 @@ public class UserDetailsImpl implements UserDetails {
 		return this.credential.getIsCredentialsNonExpired();
 	}
 	
+	public CredentialDto getCredential() {
+		return this.credential;
+	}
+	
+	public Integer getUserId() {
+		return this.credential.getUserDto() == null ? null : this.credential.getUserDto().getUserId();
+	}
+	
 	
 	
 }
@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.detail;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(ProductDetailProperties.class)
+public class ProductDetailConfig {
+	
+	@Bean
+	public ThreadPoolTaskExecutor productDetailExecutor(final ProductDetailProperties productDetailProperties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("product-detail-");
+		executor.setCorePoolSize(productDetailProperties.getCorePoolSize());
+		executor.setMaxPoolSize(productDetailProperties.getMaxPoolSize());
+		executor.setQueueCapacity(productDetailProperties.getQueueCapacity());
+		executor.initialize();
+		return executor;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
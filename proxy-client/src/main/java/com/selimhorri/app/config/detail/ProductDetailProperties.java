@@ -0,0 +1,31 @@
+package com.selimhorri.app.config.detail;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.product-detail")
+public class ProductDetailProperties {
+	
+	private Duration productTimeout = Duration.ofSeconds(2);
+	private Duration categoryTimeout = Duration.ofMillis(800);
+	private Duration favouriteTimeout = Duration.ofMillis(500);
+	private int maxCategoryDepth = 5;
+	private int corePoolSize = 8;
+	private int maxPoolSize = 32;
+	private int queueCapacity = 200;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,54 @@
+package com.selimhorri.app.config.encoder;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the highest BCrypt cost whose hash still fits the target duration on this host. Each extra cost
+ * unit doubles the work, so a single timed hash at the minimum cost is enough to extrapolate.
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+	
+	private static final String SAMPLE = "calibration-sample-password";
+	
+	private BCryptStrengthCalibrator() {
+		
+	}
+	
+	public static int calibrate(final Duration targetDuration, final int minStrength, final int maxStrength) {
+		final var encoder = new BCryptPasswordEncoder(minStrength);
+		encoder.encode(SAMPLE);
+		final var startNanos = System.nanoTime();
+		encoder.encode(SAMPLE);
+		final var elapsedNanos = Math.max(1L, System.nanoTime() - startNanos);
+		final var strength = strengthFor(targetDuration.toNanos(), elapsedNanos, minStrength, maxStrength);
+		log.info("** BCrypt cost calibrated to {} ({} ms at cost {}, target {} ms)*\n",
+				strength, elapsedNanos / 1_000_000, minStrength, targetDuration.toMillis());
+		return strength;
+	}
+	
+	static int strengthFor(final long targetNanos, final long elapsedNanosAtMin, final int minStrength, final int maxStrength) {
+		var strength = minStrength;
+		var estimatedNanos = elapsedNanosAtMin;
+		while (strength < maxStrength && estimatedNanos * 2 <= targetNanos) {
+			strength++;
+			estimatedNanos *= 2;
+		}
+		return strength;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,115 @@
+package com.selimhorri.app.config.encoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.selimhorri.app.exception.wrapper.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs the CPU-bound hash work on a small dedicated pool instead of the request threads, so a login burst
+ * cannot take the CPU away from every other endpoint. When the pool and its queue are full the call fails
+ * straight away with {@link ServiceUnavailableException} (503) rather than piling up.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+	
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final long maxWaitNanos;
+	private final Counter rejected;
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	
+	public BoundedPasswordEncoder(final PasswordEncoder delegate, final PasswordHashingProperties passwordHashingProperties,
+			final MeterRegistry meterRegistry) {
+		final var threads = passwordHashingProperties.getThreads() > 0
+				? passwordHashingProperties.getThreads()
+				: Runtime.getRuntime().availableProcessors();
+		this.delegate = delegate;
+		this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, passwordHashingProperties.getQueueCapacity())),
+				new CustomizableThreadFactory("password-hashing-"), new ThreadPoolExecutor.AbortPolicy());
+		this.maxWaitNanos = passwordHashingProperties.getMaxWait().toNanos();
+		this.rejected = meterRegistry.counter("password.hashing.rejected");
+		this.encodeTimer = meterRegistry.timer("password.hashing.duration", "operation", "encode");
+		this.matchesTimer = meterRegistry.timer("password.hashing.duration", "operation", "matches");
+		Gauge.builder("password.hashing.queue.depth", this.executor, executor -> executor.getQueue().size())
+				.register(meterRegistry);
+		Gauge.builder("password.hashing.active", this.executor, ThreadPoolExecutor::getActiveCount)
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public String encode(final CharSequence rawPassword) {
+		return this.submit(() -> this.encodeTimer.recordCallable(() -> this.delegate.encode(rawPassword)));
+	}
+	
+	@Override
+	public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+		return this.submit(() -> this.matchesTimer.recordCallable(() -> this.delegate.matches(rawPassword, encodedPassword)));
+	}
+	
+	@Override
+	public boolean upgradeEncoding(final String encodedPassword) {
+		return this.delegate.upgradeEncoding(encodedPassword);
+	}
+	
+	private <T> T submit(final Callable<T> task) {
+		final Future<T> future;
+		try {
+			future = this.executor.submit(task);
+		}
+		catch (RejectedExecutionException e) {
+			this.rejected.increment();
+			throw new ServiceUnavailableException("#### Too many concurrent logins, retry later! ####");
+		}
+		try {
+			return future.get(this.maxWaitNanos, TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			future.cancel(true);
+			this.rejected.increment();
+			throw new ServiceUnavailableException("#### Too many concurrent logins, retry later! ####");
+		}
+		catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("#### Password check interrupted! ####", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+	
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,16 +1,29 @@
 package com.selimhorri.app.config.encoder;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class EncoderConfig {
 	
+	/**
+	 * Hashes stored with a lower cost than the calibrated one report {@code upgradeEncoding}, which lets the
+	 * authentication provider rehash them on the next successful login.
+	 */
 	@Bean
-	public PasswordEncoder getPasswordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder getPasswordEncoder(final PasswordHashingProperties passwordHashingProperties,
+			final MeterRegistry meterRegistry) {
+		final var strength = passwordHashingProperties.getStrength() > 0
+				? passwordHashingProperties.getStrength()
+				: BCryptStrengthCalibrator.calibrate(passwordHashingProperties.getTargetDuration(),
+						passwordHashingProperties.getMinStrength(), passwordHashingProperties.getMaxStrength());
+		return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingProperties, meterRegistry);
 	}
 	
 	
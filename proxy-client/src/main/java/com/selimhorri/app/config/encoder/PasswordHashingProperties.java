@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.encoder;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.password-hashing")
+public class PasswordHashingProperties {
+	
+	/**
+	 * Fixed BCrypt cost; when zero the cost is calibrated at startup against {@link #targetDuration}.
+	 */
+	private int strength = 0;
+	private Duration targetDuration = Duration.ofMillis(250);
+	private int minStrength = 10;
+	private int maxStrength = 14;
+	/**
+	 * Hashing threads; zero means one per available processor.
+	 */
+	private int threads = 0;
+	private int queueCapacity = 32;
+	private Duration maxWait = Duration.ofSeconds(5);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,47 @@
+package com.selimhorri.app.config.feign;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+
+import com.selimhorri.app.commons.instrumentation.MethodTimers;
+import com.selimhorri.app.commons.negotiation.BinaryMediaTypes;
+
+import feign.RequestInterceptor;
+
+/**
+ * Shared by every {@code @FeignClient}: the pooled Apache client, gzip and the per-client timeouts are set
+ * under {@code feign.*} in application.yml, this adds the per-method client timers and asks the services for Smile.
+ */
+@Configuration
+public class FeignClientConfig {
+	
+	@Bean
+	@ConditionalOnProperty(name = "app.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+	public FeignMetricsCapability feignMetricsCapability(final MethodTimers methodTimers) {
+		return new FeignMetricsCapability(methodTimers);
+	}
+	
+	/**
+	 * The Spring decoder reads whichever of Smile or JSON comes back; browsers still get JSON from this service.
+	 */
+	@Bean
+	public RequestInterceptor preferSmileRequestInterceptor() {
+		return template -> {
+			if (!template.headers().containsKey(HttpHeaders.ACCEPT))
+				template.header(HttpHeaders.ACCEPT, BinaryMediaTypes.PREFER_SMILE);
+		};
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
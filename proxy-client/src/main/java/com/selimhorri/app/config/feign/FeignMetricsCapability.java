@@ -0,0 +1,64 @@
+package com.selimhorri.app.config.feign;
+
+import java.io.IOException;
+
+import com.selimhorri.app.commons.instrumentation.MethodTimers;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+
+/**
+ * Times every Feign call into the shared {@code app.client.calls} timer, with service the target service id,
+ * method the Feign config key (e.g. {@code ProductClientService#findAll()}), status the HTTP status code and
+ * outcome derived from it, the same tags the RestTemplate interceptor writes. It wraps the HTTP client, so each
+ * attempt is timed once and 4xx/5xx answers are told apart from transport errors.
+ */
+public class FeignMetricsCapability implements Capability {
+	
+	private static final String UNKNOWN = "unknown";
+	
+	private final MethodTimers methodTimers;
+	
+	public FeignMetricsCapability(final MethodTimers methodTimers) {
+		this.methodTimers = methodTimers;
+	}
+	
+	@Override
+	public Client enrich(final Client client) {
+		return (request, options) -> {
+			final var start = System.nanoTime();
+			try {
+				final var response = client.execute(request, options);
+				this.methodTimers.recordClientCall(clientName(request), methodName(request), response.status(),
+						System.nanoTime() - start);
+				return response;
+			}
+			catch (IOException | RuntimeException e) {
+				this.methodTimers.recordClientCall(clientName(request), methodName(request), e, System.nanoTime() - start);
+				throw e;
+			}
+		};
+	}
+	
+	private static String clientName(final Request request) {
+		final var template = request.requestTemplate();
+		return template != null && template.feignTarget() != null ? template.feignTarget().name() : UNKNOWN;
+	}
+	
+	private static String methodName(final Request request) {
+		final var template = request.requestTemplate();
+		return template != null && template.methodMetadata() != null ? template.methodMetadata().configKey() : UNKNOWN;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,117 @@
+package com.selimhorri.app.config.throttle;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+import com.selimhorri.app.exception.wrapper.TooManyLoginAttemptsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts failed logins per username and per client address in fixed windows, so a flood of bad
+ * passwords is turned away before it costs a USER-SERVICE round trip or a BCrypt check.
+ */
+public class LoginAttemptThrottle {
+	
+	private static final String USERNAME_PREFIX = "u:";
+	private static final String ADDRESS_PREFIX = "a:";
+	
+	private final LoginThrottleProperties loginThrottleProperties;
+	private final long windowNanos;
+	private final LongSupplier nanoClock;
+	private final ConcurrentMap<String, Window> failures = new ConcurrentHashMap<>();
+	private final Counter throttled;
+	private final Counter failed;
+	
+	public LoginAttemptThrottle(final LoginThrottleProperties loginThrottleProperties, final MeterRegistry meterRegistry) {
+		this(loginThrottleProperties, meterRegistry, System::nanoTime);
+	}
+	
+	LoginAttemptThrottle(final LoginThrottleProperties loginThrottleProperties, final MeterRegistry meterRegistry,
+			final LongSupplier nanoClock) {
+		this.loginThrottleProperties = loginThrottleProperties;
+		this.windowNanos = loginThrottleProperties.getWindow().toNanos();
+		this.nanoClock = nanoClock;
+		this.throttled = meterRegistry.counter("login.attempts", "outcome", "throttled");
+		this.failed = meterRegistry.counter("login.attempts", "outcome", "failed");
+		Gauge.builder("login.throttle.tracked", this.failures, ConcurrentMap::size).register(meterRegistry);
+	}
+	
+	public void checkAllowed(final String username, final String address) {
+		if (!this.loginThrottleProperties.isEnabled())
+			return;
+		final var now = this.nanoClock.getAsLong();
+		final var retryAfterNanos = Math.max(
+				this.blockedFor(USERNAME_PREFIX + normalize(username), this.loginThrottleProperties.getMaxFailuresPerUsername(), now),
+				this.blockedFor(ADDRESS_PREFIX + address, this.loginThrottleProperties.getMaxFailuresPerAddress(), now));
+		if (retryAfterNanos > 0) {
+			this.throttled.increment();
+			throw new TooManyLoginAttemptsException("#### Too many failed login attempts, retry later! ####",
+					Duration.ofNanos(retryAfterNanos));
+		}
+	}
+	
+	public void recordFailure(final String username, final String address) {
+		if (!this.loginThrottleProperties.isEnabled())
+			return;
+		this.failed.increment();
+		final var now = this.nanoClock.getAsLong();
+		this.increment(USERNAME_PREFIX + normalize(username), now);
+		this.increment(ADDRESS_PREFIX + address, now);
+	}
+	
+	public void recordSuccess(final String username) {
+		this.failures.remove(USERNAME_PREFIX + normalize(username));
+	}
+	
+	private long blockedFor(final String key, final int maxFailures, final long now) {
+		final var window = this.failures.get(key);
+		if (window == null)
+			return 0L;
+		final var remaining = window.startNanos + this.windowNanos - now;
+		return remaining > 0 && window.count >= maxFailures ? remaining : 0L;
+	}
+	
+	private void increment(final String key, final long now) {
+		if (this.failures.size() >= this.loginThrottleProperties.getMaxTrackedKeys() && !this.failures.containsKey(key)) {
+			this.failures.values().removeIf(window -> window.startNanos + this.windowNanos - now <= 0);
+			if (this.failures.size() >= this.loginThrottleProperties.getMaxTrackedKeys())
+				return;
+		}
+		this.failures.compute(key, (k, window) -> window == null || window.startNanos + this.windowNanos - now <= 0
+				? new Window(now, 1)
+				: new Window(window.startNanos, window.count + 1));
+	}
+	
+	private static String normalize(final String username) {
+		return username == null ? "" : username.strip().toLowerCase(Locale.ROOT);
+	}
+	
+	private static final class Window {
+		
+		private final long startNanos;
+		private final int count;
+		
+		private Window(final long startNanos, final int count) {
+			this.startNanos = startNanos;
+			this.count = count;
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
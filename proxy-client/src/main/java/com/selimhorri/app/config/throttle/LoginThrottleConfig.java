@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.throttle;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(LoginThrottleProperties.class)
+public class LoginThrottleConfig {
+	
+	@Bean
+	public LoginAttemptThrottle loginAttemptThrottle(final LoginThrottleProperties loginThrottleProperties,
+			final MeterRegistry meterRegistry) {
+		return new LoginAttemptThrottle(loginThrottleProperties, meterRegistry);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
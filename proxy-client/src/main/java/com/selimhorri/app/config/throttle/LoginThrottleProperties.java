@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.throttle;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.login-throttle")
+public class LoginThrottleProperties {
+	
+	private boolean enabled = true;
+	private int maxFailuresPerUsername = 5;
+	/**
+	 * Higher than the per-username limit, since many users may share one address (NAT, office proxy).
+	 */
+	private int maxFailuresPerAddress = 50;
+	private Duration window = Duration.ofMinutes(15);
+	private int maxTrackedKeys = 100_000;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -3,6 +3,7 @@ package com.selimhorri.app.exception;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -11,9 +12,12 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.selimhorri.app.commons.negotiation.BinaryMediaTypes;
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
+import com.selimhorri.app.exception.wrapper.ServiceUnavailableException;
+import com.selimhorri.app.exception.wrapper.TooManyLoginAttemptsException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 
@@ -40,7 +44,7 @@ public class ApiExceptionHandler {
 		
 		return new ResponseEntity<>(
 				ExceptionMsg.builder()
-					.msg(e.contentUTF8())
+					.msg(BinaryMediaTypes.toText(e.content()))
 					.httpStatus(badRequest)
 					.timestamp(ZonedDateTime
 							.now(ZoneId.systemDefault()))
@@ -86,6 +90,41 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		ServiceUnavailableException.class
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleServiceUnavailableException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle service unavailable*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
+	@ExceptionHandler(value = {
+		TooManyLoginAttemptsException.class
+	})
+	public ResponseEntity<ExceptionMsg> handleTooManyLoginAttemptsException(final TooManyLoginAttemptsException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle too many login attempts*\n");
+		final var tooManyRequests = HttpStatus.TOO_MANY_REQUESTS;
+		
+		return ResponseEntity.status(tooManyRequests)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1L, e.getRetryAfter().toSeconds())))
+				.body(ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(tooManyRequests)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build());
+	}
+	
 	
 	
 }
@@ -0,0 +1,32 @@
+package com.selimhorri.app.exception.wrapper;
+
+import java.time.Duration;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final Duration retryAfter;
+	
+	public TooManyLoginAttemptsException(String message, Duration retryAfter) {
+		super(message);
+		this.retryAfter = retryAfter;
+	}
+	
+	public Duration getRetryAfter() {
+		return this.retryAfter;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
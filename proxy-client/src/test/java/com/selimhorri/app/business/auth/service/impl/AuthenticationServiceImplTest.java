@@ -0,0 +1,101 @@
+package com.selimhorri.app.business.auth.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.config.throttle.LoginAttemptThrottle;
+import com.selimhorri.app.config.throttle.LoginThrottleProperties;
+import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.exception.wrapper.TooManyLoginAttemptsException;
+import com.selimhorri.app.jwt.service.JwtService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceImplTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private JwtService jwtService;
+
+    private AuthenticationServiceImpl authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        LoginThrottleProperties properties = new LoginThrottleProperties();
+        properties.setMaxFailuresPerUsername(2);
+        properties.setWindow(Duration.ofMinutes(5));
+        this.authenticationService = new AuthenticationServiceImpl(this.authenticationManager, this.jwtService,
+                new LoginAttemptThrottle(properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void issuesTokenFromAuthenticatedPrincipal() {
+        UserDetails principal = new User("tester", "hash", List.of());
+        when(this.authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        when(this.jwtService.generateToken(principal)).thenReturn("jwt");
+
+        assertEquals("jwt", this.authenticationService
+                .authenticate(new AuthenticationRequest("tester", "secret"), "10.0.0.1").getJwtToken());
+    }
+
+    @Test
+    void rejectsFloodBeforeAuthenticating() {
+        when(this.authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+        AuthenticationRequest request = new AuthenticationRequest("tester", "wrong");
+
+        assertThrows(IllegalAuthenticationCredentialsException.class, () -> this.authenticationService.authenticate(request, "10.0.0.1"));
+        assertThrows(IllegalAuthenticationCredentialsException.class, () -> this.authenticationService.authenticate(request, "10.0.0.1"));
+        assertThrows(TooManyLoginAttemptsException.class, () -> this.authenticationService.authenticate(request, "10.0.0.1"));
+
+        verify(this.authenticationManager, times(2)).authenticate(any());
+        verify(this.jwtService, never()).generateToken(any());
+    }
+
+    @Test
+    void countsUnknownUsernamesAsFailures() {
+        when(this.authenticationManager.authenticate(any())).thenThrow(new UsernameNotFoundException("unknown"));
+        AuthenticationRequest request = new AuthenticationRequest("nobody", "guess");
+
+        assertThrows(IllegalAuthenticationCredentialsException.class, () -> this.authenticationService.authenticate(request, "10.0.0.1"));
+        assertThrows(IllegalAuthenticationCredentialsException.class, () -> this.authenticationService.authenticate(request, "10.0.0.1"));
+        assertThrows(TooManyLoginAttemptsException.class, () -> this.authenticationService.authenticate(request, "10.0.0.1"));
+    }
+
+    @Test
+    void doesNotCountOutagesOfTheCredentialStore() {
+        when(this.authenticationManager.authenticate(any()))
+                .thenThrow(new InternalAuthenticationServiceException("user-service unavailable"));
+        AuthenticationRequest request = new AuthenticationRequest("tester", "secret");
+
+        for (int i = 0; i < 3; i++)
+            assertThrows(InternalAuthenticationServiceException.class, () -> this.authenticationService.authenticate(request, "10.0.0.1"));
+
+        verify(this.authenticationManager, times(3)).authenticate(any());
+    }
+}
@@ -0,0 +1,143 @@
+package com.selimhorri.app.business.product.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.selimhorri.app.business.favourite.model.FavouriteSummaryDto;
+import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.ProductDetailDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.detail.ProductDetailProperties;
+import com.selimhorri.app.exception.wrapper.ServiceUnavailableException;
+
+import feign.FeignException;
+import feign.Request;
+
+@ExtendWith(MockitoExtension.class)
+class ProductDetailServiceImplTest {
+
+    @Mock
+    private ProductClientService productClientService;
+
+    @Mock
+    private CategoryClientService categoryClientService;
+
+    @Mock
+    private FavouriteClientService favouriteClientService;
+
+    private ThreadPoolTaskExecutor executor;
+    private ProductDetailProperties properties;
+    private ProductDetailServiceImpl productDetailService;
+
+    private ProductDto productDto;
+
+    @BeforeEach
+    void setUp() {
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(4);
+        this.executor.initialize();
+        this.properties = new ProductDetailProperties();
+        this.properties.setFavouriteTimeout(Duration.ofMillis(100));
+        this.productDetailService = new ProductDetailServiceImpl(this.productClientService, this.categoryClientService,
+                this.favouriteClientService, this.executor, this.properties);
+
+        this.productDto = ProductDto.builder()
+                .productId(1)
+                .productTitle("keyboard")
+                .categoryDto(CategoryDto.builder().categoryId(3).build())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdown();
+    }
+
+    @Test
+    void findDetailByIdComposesProductCategoryChainAndFavourites() {
+        FavouriteSummaryDto summary = FavouriteSummaryDto.builder().productId(1).favouriteCount(4L).likedByUser(true).build();
+        when(this.productClientService.findById("1")).thenReturn(ResponseEntity.ok(this.productDto));
+        when(this.categoryClientService.findChainById("3", 5)).thenReturn(ResponseEntity.ok(
+                new CategoryProductServiceCollectionDtoResponse(List.of(
+                        CategoryDto.builder().categoryId(3).categoryTitle("keyboards").build(),
+                        CategoryDto.builder().categoryId(2).categoryTitle("computers").build()))));
+        when(this.favouriteClientService.summarizeByProductId("1", 5)).thenReturn(ResponseEntity.ok(summary));
+
+        ProductDetailDto result = this.productDetailService.findDetailById("1", 5);
+
+        assertSame(this.productDto, result.getProductDto());
+        assertEquals(List.of("keyboards", "computers"), List.of(
+                result.getCategoryChainDtos().get(0).getCategoryTitle(),
+                result.getCategoryChainDtos().get(1).getCategoryTitle()));
+        assertSame(summary, result.getFavouriteSummaryDto());
+        assertFalse(result.getDegraded());
+        assertTrue(result.getDegradedParts().isEmpty());
+    }
+
+    @Test
+    void findDetailByIdDegradesWhenFavouritesAreSlow() {
+        when(this.productClientService.findById("1")).thenReturn(ResponseEntity.ok(this.productDto));
+        when(this.categoryClientService.findChainById("3", 5)).thenReturn(ResponseEntity.ok(
+                new CategoryProductServiceCollectionDtoResponse(List.of(
+                        CategoryDto.builder().categoryId(3).categoryTitle("keyboards").build()))));
+        when(this.favouriteClientService.summarizeByProductId("1", null)).thenAnswer(invocation -> {
+            Thread.sleep(1_000);
+            return ResponseEntity.ok(FavouriteSummaryDto.builder().build());
+        });
+
+        ProductDetailDto result = this.productDetailService.findDetailById("1", null);
+
+        assertSame(this.productDto, result.getProductDto());
+        assertEquals(1, result.getCategoryChainDtos().size());
+        assertNull(result.getFavouriteSummaryDto());
+        assertTrue(result.getDegraded());
+        assertEquals(Set.of(ProductDetailServiceImpl.FAVOURITES_PART), result.getDegradedParts());
+    }
+
+    @Test
+    void findDetailByIdFailsWhenProductIsUnavailable() {
+        when(this.productClientService.findById("1")).thenThrow(new IllegalStateException("connection refused"));
+
+        assertThrows(ServiceUnavailableException.class, () -> this.productDetailService.findDetailById("1", null));
+    }
+
+    @Test
+    void findDetailByIdRethrowsFeignErrorsOfTheProduct() {
+        FeignException notFound = new FeignException.NotFound("not found", Request.create(Request.HttpMethod.GET,
+                "/product-service/api/products/1", Map.of(), null, StandardCharsets.UTF_8, null), null);
+        when(this.productClientService.findById("1")).thenThrow(notFound);
+
+        assertSame(notFound, assertThrows(FeignException.class, () -> this.productDetailService.findDetailById("1", null)));
+    }
+
+    @Test
+    void findDetailByIdAnswersUnavailableWhenTheExecutorIsSaturated() {
+        this.executor.shutdown();
+
+        assertThrows(ServiceUnavailableException.class, () -> this.productDetailService.findDetailById("1", null));
+    }
+}
@@ -0,0 +1,98 @@
+package com.selimhorri.app.config.encoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.selimhorri.app.exception.wrapper.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        this.callers.shutdownNow();
+        if (this.encoder != null)
+            this.encoder.destroy();
+    }
+
+    private PasswordHashingProperties properties(int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMaxWait(Duration.ofSeconds(5));
+        return properties;
+    }
+
+    @Test
+    void delegatesHashingAndUpgradeCheck() {
+        this.encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), properties(1, 1), this.meterRegistry);
+
+        String hash = this.encoder.encode("secret");
+
+        assertTrue(this.encoder.matches("secret", hash));
+        assertFalse(this.encoder.matches("other", hash));
+        assertTrue(this.encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(this.encoder.upgradeEncoding(hash));
+        assertEquals(3, this.meterRegistry.get("password.hashing.duration").timers().stream()
+                .mapToLong(timer -> timer.count()).sum());
+    }
+
+    @Test
+    void rejectsImmediatelyWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        this.encoder = new BoundedPasswordEncoder(blocking, properties(1, 1), this.meterRegistry);
+
+        this.callers.submit(() -> this.encoder.matches("a", "a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        this.callers.submit(() -> this.encoder.matches("b", "b"));
+        while (this.meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1)
+            Thread.sleep(5);
+
+        assertThrows(ServiceUnavailableException.class, () -> this.encoder.matches("c", "c"));
+        assertEquals(1.0, this.meterRegistry.get("password.hashing.rejected").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void calibrationDoublesCostWhileUnderTarget() {
+        assertEquals(10, BCryptStrengthCalibrator.strengthFor(100, 80, 10, 14));
+        assertEquals(12, BCryptStrengthCalibrator.strengthFor(250, 60, 10, 14));
+        assertEquals(14, BCryptStrengthCalibrator.strengthFor(10_000, 1, 10, 14));
+    }
+}
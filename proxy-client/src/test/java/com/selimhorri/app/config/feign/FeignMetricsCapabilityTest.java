@@ -0,0 +1,96 @@
+package com.selimhorri.app.config.feign;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.commons.instrumentation.InstrumentationProperties;
+import com.selimhorri.app.commons.instrumentation.MethodTimers;
+
+import feign.Client;
+import feign.Contract;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestLine;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FeignMetricsCapabilityTest {
+
+    interface ProductClient {
+        @RequestLine("GET /product-service/api/products")
+        String findAll();
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FeignMetricsCapability capability = new FeignMetricsCapability(
+            new MethodTimers(this.meterRegistry, new InstrumentationProperties()));
+
+    private Request request() {
+        MethodMetadata metadata = new Contract.Default().parseAndValidateMetadata(ProductClient.class).get(0);
+        RequestTemplate template = new RequestTemplate()
+                .method(Request.HttpMethod.GET)
+                .target("http://PRODUCT-SERVICE")
+                .uri("/product-service/api/products");
+        template.methodMetadata(metadata);
+        template.feignTarget(new Target.HardCodedTarget<>(ProductClient.class, "PRODUCT-SERVICE", "http://PRODUCT-SERVICE"));
+        return template.resolve(Map.of()).request();
+    }
+
+    @Test
+    void timesCallsByClientMethodAndStatus() throws IOException {
+        Client client = this.capability.enrich((Client) (request, options) -> Response.builder()
+                .request(request)
+                .status(200)
+                .headers(Map.of())
+                .body("[]", StandardCharsets.UTF_8)
+                .build());
+
+        client.execute(request(), new Request.Options());
+
+        assertEquals(1, this.meterRegistry.get(MethodTimers.CLIENT_CALLS)
+                .tag("service", "PRODUCT-SERVICE")
+                .tag("method", "ProductClient#findAll()")
+                .tag("status", "200")
+                .tag("outcome", MethodTimers.SUCCESS)
+                .timer().count());
+    }
+
+    @Test
+    void tagsErrorResponsesByStatusAndStatusClass() throws IOException {
+        Client client = this.capability.enrich((Client) (request, options) -> Response.builder()
+                .request(request)
+                .status(404)
+                .headers(Map.of())
+                .build());
+
+        client.execute(request(), new Request.Options());
+
+        assertEquals(1, this.meterRegistry.get(MethodTimers.CLIENT_CALLS)
+                .tag("status", "404")
+                .tag("outcome", "client_error")
+                .timer().count());
+    }
+
+    @Test
+    void recordsTransportFailures() {
+        Client client = this.capability.enrich((Client) (request, options) -> {
+            throw new IOException("connection refused");
+        });
+
+        assertThrows(IOException.class, () -> client.execute(request(), new Request.Options()));
+
+        assertEquals(1, this.meterRegistry.get(MethodTimers.CLIENT_CALLS)
+                .tag("status", "IO_ERROR")
+                .tag("outcome", MethodTimers.ERROR)
+                .tag("exception", "IOException")
+                .timer().count());
+    }
+}
@@ -0,0 +1,62 @@
+package com.selimhorri.app.config.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.exception.wrapper.TooManyLoginAttemptsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginAttemptThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private LoginAttemptThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        LoginThrottleProperties properties = new LoginThrottleProperties();
+        properties.setMaxFailuresPerUsername(3);
+        properties.setMaxFailuresPerAddress(5);
+        properties.setWindow(Duration.ofMinutes(1));
+        this.throttle = new LoginAttemptThrottle(properties, new SimpleMeterRegistry(), this.now::get);
+    }
+
+    @Test
+    void blocksUsernameAfterMaxFailuresUntilWindowEnds() {
+        for (int i = 0; i < 3; i++)
+            this.throttle.recordFailure("Alice", "10.0.0.1");
+
+        TooManyLoginAttemptsException e = assertThrows(TooManyLoginAttemptsException.class,
+                () -> this.throttle.checkAllowed("alice", "10.0.0.2"));
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofMinutes(1)) <= 0);
+
+        this.now.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertDoesNotThrow(() -> this.throttle.checkAllowed("alice", "10.0.0.2"));
+    }
+
+    @Test
+    void blocksAddressSprayingManyUsernames() {
+        for (int i = 0; i < 5; i++)
+            this.throttle.recordFailure("user" + i, "10.0.0.1");
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> this.throttle.checkAllowed("someone", "10.0.0.1"));
+        assertDoesNotThrow(() -> this.throttle.checkAllowed("someone", "10.0.0.9"));
+    }
+
+    @Test
+    void successResetsUsernameFailures() {
+        this.throttle.recordFailure("bob", "10.0.0.1");
+        this.throttle.recordFailure("bob", "10.0.0.1");
+        this.throttle.recordSuccess("bob");
+        this.throttle.recordFailure("bob", "10.0.0.1");
+
+        assertDoesNotThrow(() -> this.throttle.checkAllowed("bob", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.selimhorri.app.dto.event;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderItemChangedEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	private Integer productId;
+	private Integer orderedQuantity;
+	private boolean deleted;
+	private long occurredAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
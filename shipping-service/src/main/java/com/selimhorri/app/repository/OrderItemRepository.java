@@ -1,5 +1,8 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.OrderItem;
@@ -7,6 +10,16 @@ import com.selimhorri.app.domain.id.OrderItemId;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
 	
-	
+	List<OrderItem> findAllByOrderIdIn(final Collection<Integer> orderIds);
 	
 }
+
+
+
+
+
+
+
+
+
+
@@ -1,6 +1,10 @@
 package com.selimhorri.app.resource;
 
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
 import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.ResponseEntity;
@@ -41,7 +45,24 @@ public class OrderItemResource {
 			@PathVariable("productId") final String productId) {
 		log.info("*** OrderItemDto, resource; fetch orderItem by id *");
 		return ResponseEntity.ok(this.orderItemService.findById(
-				new OrderItemId(Integer.parseInt(orderId), Integer.parseInt(productId))));
+				new OrderItemId(Integer.parseInt(productId), Integer.parseInt(orderId))));
+	}
+	
+	/**
+	 * Accepts a comma-separated list of order ids, e.g. /orders/1,2,3.
+	 */
+	@GetMapping("/orders/{orderIds}")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAllByOrderIds(
+			@PathVariable("orderIds") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String orderIds) {
+		log.info("*** OrderItemDto List, resource; fetch orderItems by orderIds *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAllByOrderIds(
+				Arrays.stream(orderIds.split(","))
+					.map(String::strip)
+					.filter(orderId -> !orderId.isEmpty())
+					.map(Integer::parseInt)
+					.collect(Collectors.toUnmodifiableSet()))));
 	}
 	
 	@GetMapping("/find")
@@ -76,7 +97,7 @@ public class OrderItemResource {
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId) {
 		log.info("*** Boolean, resource; delete orderItem by id *");
-		this.orderItemService.deleteById(new OrderItemId(Integer.parseInt(orderId), Integer.parseInt(productId)));
+		this.orderItemService.deleteById(new OrderItemId(Integer.parseInt(productId), Integer.parseInt(orderId)));
 		return ResponseEntity.ok(true);
 	}
 	
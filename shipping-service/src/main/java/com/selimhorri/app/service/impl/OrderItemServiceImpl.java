@@ -1,18 +1,27 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.commons.notification.AfterCommitNotifier;
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.event.OrderItemChangedEvent;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
@@ -27,59 +36,128 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderItemServiceImpl implements OrderItemService {
 	
+	private static final ParameterizedTypeReference<DtoCollectionResponse<ProductDto>> PRODUCTS_TYPE =
+			new ParameterizedTypeReference<>() {};
+	
 	private final OrderItemRepository orderItemRepository;
 	private final RestTemplate restTemplate;
+	private final RemoteCallExecutor remoteCallExecutor;
+	private final AfterCommitNotifier afterCommitNotifier;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
 		return this.orderItemRepository.findAll()
 				.stream()
 					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						return o;
-					})
+					.map(this::enrich)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
-		return this.orderItemRepository.findById(null)
+		return this.orderItemRepository.findById(orderItemId)
 				.map(OrderItemMappingHelper::map)
-				.map(o -> {
-					o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-					o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-					return o;
-				})
+				.map(this::enrich)
 				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderItemDto> findAllByOrderIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderItemDto List, service; fetch orderItems by orderIds *");
+		final List<OrderItemDto> orderItemDtos = this.orderItemRepository.findAllByOrderIdIn(orderIds)
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		if (orderItemDtos.isEmpty())
+			return orderItemDtos;
+		
+		final var productIds = orderItemDtos.stream()
+				.map(orderItemDto -> orderItemDto.getProductDto().getProductId())
+				.distinct()
+				.map(String::valueOf)
+				.collect(Collectors.joining(","));
+		final Map<Integer, ProductDto> products = this.remoteCallExecutor.call("productService",
+				() -> this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi
+						.PRODUCT_SERVICE_API_URL + "?ids=" + productIds, HttpMethod.GET, null, PRODUCTS_TYPE)
+						.getBody()
+						.getCollection()
+						.stream()
+							.collect(Collectors.toUnmodifiableMap(ProductDto::getProductId, Function.identity())),
+				e -> null);
+		
+		orderItemDtos.forEach(orderItemDto -> {
+			final var productId = orderItemDto.getProductDto().getProductId();
+			final var productDto = (products == null) ? null : products.get(productId);
+			if (productDto == null)
+				orderItemDto.setDegraded(true);
+			orderItemDto.setProductDto((productDto == null) ? ProductDto.builder().productId(productId).build() : productDto);
+		});
+		return orderItemDtos;
+	}
+	
 	@Override
 	public OrderItemDto save(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; save orderItem *");
-		return OrderItemMappingHelper.map(this.orderItemRepository
-				.save(OrderItemMappingHelper.map(orderItemDto)));
+		final var savedOrderItem = this.orderItemRepository.save(OrderItemMappingHelper.map(orderItemDto));
+		this.publishChange(savedOrderItem.getOrderId(), savedOrderItem.getProductId(),
+				savedOrderItem.getOrderedQuantity(), false);
+		return OrderItemMappingHelper.map(savedOrderItem);
 	}
 	
 	@Override
 	public OrderItemDto update(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; update orderItem *");
-		return OrderItemMappingHelper.map(this.orderItemRepository
-				.save(OrderItemMappingHelper.map(orderItemDto)));
+		final var savedOrderItem = this.orderItemRepository.save(OrderItemMappingHelper.map(orderItemDto));
+		this.publishChange(savedOrderItem.getOrderId(), savedOrderItem.getProductId(),
+				savedOrderItem.getOrderedQuantity(), false);
+		return OrderItemMappingHelper.map(savedOrderItem);
 	}
 	
 	@Override
 	public void deleteById(final OrderItemId orderItemId) {
 		log.info("*** Void, service; delete orderItem by id *");
 		this.orderItemRepository.deleteById(orderItemId);
+		this.publishChange(orderItemId.getOrderId(), orderItemId.getProductId(), null, true);
+	}
+	
+	private void publishChange(final Integer orderId, final Integer productId, final Integer orderedQuantity,
+			final boolean deleted) {
+		final var event = OrderItemChangedEvent.builder()
+				.orderId(orderId)
+				.productId(productId)
+				.orderedQuantity(orderedQuantity)
+				.deleted(deleted)
+				.occurredAt(Instant.now().toEpochMilli())
+				.build();
+		this.afterCommitNotifier.notifyAfterCommit("orderSummary", () -> this.restTemplate
+				.postForEntity(AppConstant.DiscoveredDomainsApi.ORDER_SUMMARY_SERVICE_API_URL + "/events/order-items",
+						event, Boolean.class));
+	}
+	
+	private OrderItemDto enrich(final OrderItemDto orderItemDto) {
+		final var productId = orderItemDto.getProductDto().getProductId();
+		final var orderId = orderItemDto.getOrderDto().getOrderId();
+		orderItemDto.setProductDto(this.remoteCallExecutor.call("productService",
+				() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.PRODUCT_SERVICE_API_URL + "/" + productId, ProductDto.class),
+				e -> {
+					orderItemDto.setDegraded(true);
+					return ProductDto.builder().productId(productId).build();
+				}));
+		orderItemDto.setOrderDto(this.remoteCallExecutor.call("orderService",
+				() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.ORDER_SERVICE_API_URL + "/" + orderId, OrderDto.class),
+				e -> {
+					orderItemDto.setDegraded(true);
+					return OrderDto.builder().orderId(orderId).build();
+				}));
+		return orderItemDto;
 	}
 	
 	
@@ -3,6 +3,7 @@ package com.selimhorri.app.service.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
@@ -10,6 +11,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,17 +20,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.commons.notification.AfterCommitNotifier;
+import com.selimhorri.app.commons.resilience.RemoteCallExecutor;
+import com.selimhorri.app.commons.resilience.RemoteCallProperties;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.repository.OrderItemRepository;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class OrderItemServiceImplTest {
 
@@ -38,6 +53,9 @@ class OrderItemServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private AfterCommitNotifier afterCommitNotifier;
+
     private OrderItemServiceImpl orderItemService;
 
     private OrderItem orderItem;
@@ -47,7 +65,10 @@ class OrderItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        this.orderItemService = new OrderItemServiceImpl(this.orderItemRepository, this.restTemplate);
+        this.orderItemService = new OrderItemServiceImpl(this.orderItemRepository, this.restTemplate,
+                new RemoteCallExecutor(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                        TimeLimiterRegistry.ofDefaults(), new SimpleMeterRegistry(), new RemoteCallProperties()),
+                this.afterCommitNotifier);
 
         this.orderItem = OrderItem.builder()
                 .productId(21)
@@ -94,9 +115,43 @@ class OrderItemServiceImplTest {
                 OrderDto.class);
     }
 
+    @Test
+    void findAllByOrderIdsEnrichesProductsWithOneBatchedRequest() {
+        OrderItem secondLine = OrderItem.builder()
+                .productId(21)
+                .orderId(32)
+                .orderedQuantity(1)
+                .build();
+        when(this.orderItemRepository.findAllByOrderIdIn(Set.of(31, 32))).thenReturn(List.of(this.orderItem, secondLine));
+        when(this.restTemplate.exchange(eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "?ids=21"),
+                eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(this.productDto))));
+
+        List<OrderItemDto> result = this.orderItemService.findAllByOrderIds(Set.of(31, 32));
+
+        assertEquals(2, result.size());
+        assertSame(this.productDto, result.get(0).getProductDto());
+        assertSame(this.productDto, result.get(1).getProductDto());
+        verify(this.restTemplate).exchange(eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "?ids=21"),
+                eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void findAllByOrderIdsFlagsDegradedWhenProductServiceFails() {
+        when(this.orderItemRepository.findAllByOrderIdIn(Set.of(31))).thenReturn(List.of(this.orderItem));
+        when(this.restTemplate.exchange(any(String.class), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new ResourceAccessException("product-service down"));
+
+        List<OrderItemDto> result = this.orderItemService.findAllByOrderIds(Set.of(31));
+
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).getDegraded());
+        assertEquals(this.orderItem.getProductId(), result.get(0).getProductDto().getProductId());
+    }
+
     @Test
     void findByIdReturnsOrderItemWhenPresent() {
-        when(this.orderItemRepository.findById(null)).thenReturn(Optional.of(this.orderItem));
+        when(this.orderItemRepository.findById(this.orderItemId)).thenReturn(Optional.of(this.orderItem));
         when(this.restTemplate.getForObject(
                 AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/" + this.orderItem.getProductId(),
                 ProductDto.class))
@@ -116,7 +171,7 @@ class OrderItemServiceImplTest {
 
     @Test
     void findByIdThrowsWhenMissing() {
-        when(this.orderItemRepository.findById(null)).thenReturn(Optional.empty());
+        when(this.orderItemRepository.findById(this.orderItemId)).thenReturn(Optional.empty());
 
         assertThrows(OrderItemNotFoundException.class, () -> this.orderItemService.findById(this.orderItemId));
     }
@@ -140,6 +195,7 @@ class OrderItemServiceImplTest {
 
         ArgumentCaptor<OrderItem> orderItemCaptor = ArgumentCaptor.forClass(OrderItem.class);
         verify(this.orderItemRepository).save(orderItemCaptor.capture());
+        verify(this.afterCommitNotifier).notifyAfterCommit(eq("orderSummary"), any(Runnable.class));
         OrderItem saved = orderItemCaptor.getValue();
         assertEquals(input.getProductId(), saved.getProductId());
         assertEquals(input.getOrderId(), saved.getOrderId());
@@ -174,5 +230,6 @@ class OrderItemServiceImplTest {
         this.orderItemService.deleteById(this.orderItemId);
 
         verify(this.orderItemRepository).deleteById(this.orderItemId);
+        verify(this.afterCommitNotifier).notifyAfterCommit(eq("orderSummary"), any(Runnable.class));
     }
 }
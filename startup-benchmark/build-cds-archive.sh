@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Builds an AppCDS archive for one module: records the classes loaded until the first request succeeds,
+# then dumps them into <module>/target/<module>-cds.jsa. Invoked by the `cds` Maven profile after packaging.
+#
+# Usage: startup-benchmark/build-cds-archive.sh <module>
+set -euo pipefail
+
+source "$(dirname "$0")/common.sh"
+
+MODULE="${1:?module name required}"
+JAR="$(module_jar "$MODULE")"
+ARCHIVE="$(module_cds_archive "$MODULE")"
+CLASS_LIST="${ROOT_DIR}/${MODULE}/target/${MODULE}-classes.lst"
+PROFILES="${CDS_PROFILES:-dev,fast-start}"
+URL="$(probe_url "$MODULE")"
+
+[ -f "$JAR" ] || { echo "missing $JAR, package the module first" >&2; exit 1; }
+
+echo "[cds] recording loaded classes for $MODULE ($PROFILES)"
+# shellcheck disable=SC2086
+java -Xshare:off -XX:DumpLoadedClassList="$CLASS_LIST" \
+	-Dspring.profiles.active="$PROFILES" -jar "$JAR" $ISOLATION_ARGS \
+	> "${ROOT_DIR}/${MODULE}/target/${MODULE}-cds-training.log" 2>&1 &
+PID=$!
+trap 'stop_process $PID' EXIT
+wait_for_first_request "$URL" "$PID"
+stop_process "$PID"
+trap - EXIT
+
+echo "[cds] dumping $(wc -l < "$CLASS_LIST") classes into $ARCHIVE"
+java -Xshare:dump -XX:SharedClassListFile="$CLASS_LIST" -XX:SharedArchiveFile="$ARCHIVE" -jar "$JAR" \
+	> "${ROOT_DIR}/${MODULE}/target/${MODULE}-cds-dump.log" 2>&1
+echo "[cds] run with: java -XX:SharedArchiveFile=$ARCHIVE -Xshare:auto -jar $JAR"
@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Shared helpers for startup-benchmark.sh and build-cds-archive.sh.
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+PROJECT_VERSION="${PROJECT_VERSION:-0.1.0}"
+STARTUP_TIMEOUT_SECONDS="${STARTUP_TIMEOUT_SECONDS:-180}"
+
+# Keep every module self-contained while measuring: no registry, config server or tracing collector needed.
+ISOLATION_ARGS="${ISOLATION_ARGS:---eureka.client.enabled=false --spring.zipkin.enabled=false --spring.cloud.config.server.git.clone-on-start=false}"
+# Every application.yml imports ${SPRING_CONFIG_IMPORT:optional:configserver:...}; an empty value imports nothing.
+# (spring.cloud.config.enabled=false would leave the configserver: import without a resolver and fail startup.)
+export SPRING_CONFIG_IMPORT=""
+
+ALL_MODULES="service-discovery cloud-config api-gateway proxy-client user-service product-service favourite-service order-service shipping-service payment-service"
+
+# First request that has to succeed, per module. Business endpoints are used where they do not depend on
+# another service, so JPA and MVC initialisation are part of the measurement.
+probe_url() {
+	case "$1" in
+		service-discovery) echo "http://localhost:8761/actuator/health" ;;
+		cloud-config)      echo "http://localhost:9296/actuator/health" ;;
+		api-gateway)       echo "http://localhost:8080/actuator/health" ;;
+		proxy-client)      echo "http://localhost:8900/app/actuator/health" ;;
+		user-service)      echo "http://localhost:8700/user-service/api/users" ;;
+		product-service)   echo "http://localhost:8500/product-service/api/products" ;;
+		favourite-service) echo "http://localhost:8800/favourite-service/actuator/health" ;;
+		order-service)     echo "http://localhost:8300/order-service/actuator/health" ;;
+		shipping-service)  echo "http://localhost:8600/shipping-service/actuator/health" ;;
+		payment-service)   echo "http://localhost:8400/payment-service/actuator/health" ;;
+		*) return 1 ;;
+	esac
+}
+
+module_jar() {
+	echo "${ROOT_DIR}/$1/target/$1-v${PROJECT_VERSION}.jar"
+}
+
+module_cds_archive() {
+	echo "${ROOT_DIR}/$1/target/$1-cds.jsa"
+}
+
+now_millis() {
+	date +%s%3N
+}
+
+# wait_for_first_request <url> <pid>: prints milliseconds spent polling, non-zero exit on timeout or crash.
+wait_for_first_request() {
+	local url="$1" pid="$2" deadline
+	deadline=$(( $(now_millis) + STARTUP_TIMEOUT_SECONDS * 1000 ))
+	until curl -fsS -o /dev/null "$url" 2>/dev/null; do
+		if ! kill -0 "$pid" 2>/dev/null; then
+			echo "process $pid exited before $url answered" >&2
+			return 1
+		fi
+		if [ "$(now_millis)" -gt "$deadline" ]; then
+			echo "timed out after ${STARTUP_TIMEOUT_SECONDS}s waiting for $url" >&2
+			return 1
+		fi
+		sleep 0.05
+	done
+}
+
+stop_process() {
+	local pid="$1"
+	kill -TERM "$pid" 2>/dev/null || true
+	wait "$pid" 2>/dev/null || true
+}
@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Measures time-to-first-successful-request for each module and appends the results to
+# startup-benchmark/results/startup.csv so regressions can be tracked across commits.
+#
+# Usage: startup-benchmark/startup-benchmark.sh [-p profiles] [-r runs] [--cds] [module ...]
+#   -p  Spring profiles to activate (default: dev)
+#   -r  runs per module, the median is reported (default: 3)
+#   --cds  start with the module's AppCDS archive (see build-cds-archive.sh)
+set -euo pipefail
+
+source "$(dirname "$0")/common.sh"
+
+PROFILES="dev"
+RUNS=3
+USE_CDS=false
+MODULES=()
+
+while [ $# -gt 0 ]; do
+	case "$1" in
+		-p) PROFILES="$2"; shift 2 ;;
+		-r) RUNS="$2"; shift 2 ;;
+		--cds) USE_CDS=true; shift ;;
+		*) MODULES+=("$1"); shift ;;
+	esac
+done
+[ ${#MODULES[@]} -gt 0 ] || read -r -a MODULES <<< "$ALL_MODULES"
+
+RESULTS_DIR="${ROOT_DIR}/startup-benchmark/results"
+RESULTS_FILE="${RESULTS_DIR}/startup.csv"
+mkdir -p "$RESULTS_DIR"
+[ -f "$RESULTS_FILE" ] || echo "timestamp,commit,module,profiles,cds,runs,median_first_request_ms,min_first_request_ms,max_first_request_ms" > "$RESULTS_FILE"
+COMMIT="$(git -C "$ROOT_DIR" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+
+measure_once() {
+	local module="$1" jar url start pid
+	jar="$(module_jar "$module")"
+	url="$(probe_url "$module")"
+	local jvm_args=()
+	if [ "$USE_CDS" = true ]; then
+		jvm_args+=("-XX:SharedArchiveFile=$(module_cds_archive "$module")" "-Xshare:auto")
+	fi
+	start="$(now_millis)"
+	# shellcheck disable=SC2086
+	java "${jvm_args[@]}" -Dspring.profiles.active="$PROFILES" -jar "$jar" $ISOLATION_ARGS \
+		> "${RESULTS_DIR}/${module}.log" 2>&1 &
+	pid=$!
+	if wait_for_first_request "$url" "$pid"; then
+		echo $(( $(now_millis) - start ))
+		stop_process "$pid"
+	else
+		stop_process "$pid"
+		return 1
+	fi
+}
+
+printf '%-20s %-20s %-5s %10s\n' "module" "profiles" "cds" "median ms"
+for module in "${MODULES[@]}"; do
+	probe_url "$module" > /dev/null || { echo "unknown module $module" >&2; exit 1; }
+	[ -f "$(module_jar "$module")" ] || { echo "missing $(module_jar "$module"), run mvn package first" >&2; exit 1; }
+	samples=()
+	for _ in $(seq "$RUNS"); do
+		samples+=("$(measure_once "$module")")
+	done
+	sorted=($(printf '%s\n' "${samples[@]}" | sort -n))
+	median="${sorted[$(( ${#sorted[@]} / 2 ))]}"
+	printf '%-20s %-20s %-5s %10s\n' "$module" "$PROFILES" "$USE_CDS" "$median"
+	echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),${COMMIT},${module},\"${PROFILES}\",${USE_CDS},${RUNS},${median},${sorted[0]},${sorted[-1]}" >> "$RESULTS_FILE"
+done
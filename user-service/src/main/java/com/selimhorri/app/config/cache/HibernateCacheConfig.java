@@ -0,0 +1,90 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.Map;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Second-level entity, collection and natural-id cache on a dedicated JCache (Caffeine) cache manager. Every
+ * region is created here with its own bound, and Hibernate is told to fail on any other region. Hit/miss/put
+ * counts per region show up on {@code /actuator/hibernate} and as {@code cache.*} meters.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache.hibernate", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(HibernateCacheProperties.class)
+public class HibernateCacheConfig {
+	
+	public static final String CACHE_MANAGER_TAG = "hibernate";
+	
+	@Bean
+	public CacheManager hibernateCacheManager(final HibernateCacheProperties hibernateCacheProperties) {
+		final var cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+		hibernateCacheProperties.getRegions().forEach((final String name, final HibernateCacheProperties.Region region) -> {
+			if (cacheManager.getCache(name) != null)
+				cacheManager.destroyCache(name);
+			cacheManager.createCache(name, regionConfiguration(region));
+		});
+		return cacheManager;
+	}
+	
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheHibernatePropertiesCustomizer(final CacheManager hibernateCacheManager) {
+		return (final Map<String, Object> hibernateProperties) -> {
+			hibernateProperties.put("hibernate.cache.use_second_level_cache", true);
+			hibernateProperties.put("hibernate.cache.use_query_cache", false);
+			// User.addresses is cached but Address.user owns the association, so the owning side has to evict it
+			hibernateProperties.put("hibernate.cache.auto_evict_collection_cache", true);
+			hibernateProperties.put("hibernate.cache.region.factory_class", "jcache");
+			hibernateProperties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+			hibernateProperties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+		};
+	}
+	
+	@Bean
+	public MeterBinder hibernateCacheMetrics(final CacheManager hibernateCacheManager,
+			final HibernateCacheProperties hibernateCacheProperties) {
+		return meterRegistry -> hibernateCacheProperties.getRegions().keySet()
+				.forEach(name -> JCacheMetrics.monitor(meterRegistry, hibernateCacheManager.getCache(name),
+						"cacheManager", CACHE_MANAGER_TAG));
+	}
+	
+	/**
+	 * Hibernate only ever stores immutable disassembled state, so entries are kept by reference instead of
+	 * being serialized on every put and get.
+	 */
+	static CaffeineConfiguration<Object, Object> regionConfiguration(final HibernateCacheProperties.Region region) {
+		final var configuration = new CaffeineConfiguration<Object, Object>();
+		configuration.setStoreByValue(false);
+		configuration.setStatisticsEnabled(true);
+		configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+		configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+		if (region.getIdle() != null)
+			configuration.setExpireAfterAccess(OptionalLong.of(region.getIdle().toNanos()));
+		return configuration;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,53 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache.hibernate")
+public class HibernateCacheProperties {
+	
+	private boolean enabled = true;
+	
+	/**
+	 * One entry per region named in the entity mappings; a region missing here fails the startup rather than
+	 * being created unbounded.
+	 */
+	private Map<String, Region> regions = new LinkedHashMap<>();
+	
+	@Data
+	public static class Region {
+		
+		/**
+		 * Entries kept before Caffeine evicts by frequency and recency (W-TinyLFU).
+		 */
+		private long maxSize = 10_000L;
+		
+		/**
+		 * Expiry after the entry was written, bounding how stale an entry changed outside Hibernate can get.
+		 */
+		private Duration ttl = Duration.ofMinutes(30);
+		
+		/**
+		 * Optional expiry after the last read, for regions whose entries are rarely reused.
+		 */
+		private Duration idle;
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
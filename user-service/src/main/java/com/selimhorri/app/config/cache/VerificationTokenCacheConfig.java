@@ -0,0 +1,39 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.commons.cache.LocalCache;
+import com.selimhorri.app.commons.cache.LocalCacheProperties;
+import com.selimhorri.app.dto.VerificationTokenDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class VerificationTokenCacheConfig {
+	
+	public static final String CACHE_NAME = "verificationTokens";
+	
+	@Bean
+	@ConfigurationProperties(prefix = "app.cache.verification-tokens")
+	public LocalCacheProperties verificationTokenCacheProperties() {
+		return new LocalCacheProperties();
+	}
+	
+	@Bean
+	public LocalCache<String, VerificationTokenDto> verificationTokenCache(final MeterRegistry meterRegistry) {
+		return new LocalCache<>(CACHE_NAME, this.verificationTokenCacheProperties(), meterRegistry);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,44 @@
+package com.selimhorri.app.config.sweeper;
+
+import java.time.LocalDate;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.selimhorri.app.commons.persistence.BatchSweeper;
+import com.selimhorri.app.commons.persistence.SweepProperties;
+import com.selimhorri.app.repository.VerificationTokenRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Purges verification tokens whose expire date has passed, through the expire_date index.
+ */
+public class VerificationTokenSweeper {
+	
+	private final VerificationTokenRepository verificationTokenRepository;
+	private final BatchSweeper batchSweeper;
+	
+	public VerificationTokenSweeper(final VerificationTokenRepository verificationTokenRepository,
+			final SweepProperties sweepProperties, final MeterRegistry meterRegistry) {
+		this.verificationTokenRepository = verificationTokenRepository;
+		this.batchSweeper = new BatchSweeper("verification-tokens", sweepProperties, meterRegistry);
+	}
+	
+	@Scheduled(initialDelayString = "${app.sweeper.verification-tokens.initial-delay:PT5M}",
+			fixedDelayString = "${app.sweeper.verification-tokens.interval:PT1H}")
+	public long sweep() {
+		final var today = LocalDate.now();
+		return this.batchSweeper.sweep(limit -> this.verificationTokenRepository.deleteExpiredBatch(today, limit));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,41 @@
+package com.selimhorri.app.config.sweeper;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.selimhorri.app.commons.persistence.SweepProperties;
+import com.selimhorri.app.repository.VerificationTokenRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.sweeper.verification-tokens", name = "enabled", matchIfMissing = true)
+public class VerificationTokenSweeperConfig {
+	
+	@Bean
+	@ConfigurationProperties(prefix = "app.sweeper.verification-tokens")
+	public SweepProperties verificationTokenSweepProperties() {
+		return new SweepProperties();
+	}
+	
+	@Bean
+	public VerificationTokenSweeper verificationTokenSweeper(final VerificationTokenRepository verificationTokenRepository,
+			final MeterRegistry meterRegistry) {
+		return new VerificationTokenSweeper(verificationTokenRepository, this.verificationTokenSweepProperties(), meterRegistry);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
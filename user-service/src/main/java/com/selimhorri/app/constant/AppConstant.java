@@ -34,6 +34,21 @@ public abstract class AppConstant {
 		
 	}
 	
+	/**
+	 * Hibernate second-level cache regions; each one needs an entry under {@code app.cache.hibernate.regions}.
+	 */
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class CacheRegion {
+		
+		public static final String USERS = "users";
+		public static final String USER_ADDRESSES = "user-addresses";
+		public static final String CREDENTIALS = "credentials";
+		public static final String CREDENTIALS_BY_USERNAME = "credentials-by-username";
+		public static final String ADDRESSES = "addresses";
+		public static final String VERIFICATION_TOKENS = "verification-tokens";
+		
+	}
+	
 	
 	
 }
@@ -3,6 +3,7 @@ package com.selimhorri.app.domain;
 import java.io.Serializable;
 import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -17,7 +18,13 @@ import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.selimhorri.app.constant.AppConstant.CacheRegion;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,6 +34,9 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "credentials")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegion.CREDENTIALS)
+@NaturalIdCache(region = CacheRegion.CREDENTIALS_BY_USERNAME)
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"user", "verificationTokens"})
@@ -41,6 +51,7 @@ public final class Credential extends AbstractMappedEntity implements Serializab
 	@Column(name = "credential_id", unique = true, nullable = false, updatable = false)
 	private Integer credentialId;
 	
+	@NaturalId(mutable = true)
 	@Column(unique = true)
 	private String username;
 	
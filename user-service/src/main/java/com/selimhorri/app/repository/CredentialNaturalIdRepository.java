@@ -0,0 +1,24 @@
+package com.selimhorri.app.repository;
+
+import java.util.Optional;
+
+import com.selimhorri.app.domain.Credential;
+
+public interface CredentialNaturalIdRepository {
+	
+	/**
+	 * Resolves the username natural id, which is answered from the natural-id cache region before any SQL runs.
+	 */
+	Optional<Credential> findByUsername(final String username);
+	
+}
+
+
+
+
+
+
+
+
+
+
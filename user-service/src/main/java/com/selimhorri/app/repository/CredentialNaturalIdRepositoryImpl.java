@@ -0,0 +1,42 @@
+package com.selimhorri.app.repository;
+
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.domain.Credential;
+
+public class CredentialNaturalIdRepositoryImpl implements CredentialNaturalIdRepository {
+	
+	private final EntityManager entityManager;
+	
+	public CredentialNaturalIdRepositoryImpl(final EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+	
+	/**
+	 * Fragment methods do not inherit the read-only transaction of the Spring Data methods, so the natural-id
+	 * resolution and the entity load would otherwise each run outside any transaction when called directly.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Credential> findByUsername(final String username) {
+		return this.entityManager.unwrap(Session.class)
+				.bySimpleNaturalId(Credential.class)
+				.loadOptional(username);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
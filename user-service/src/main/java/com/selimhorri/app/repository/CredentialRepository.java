@@ -1,13 +1,11 @@
 package com.selimhorri.app.repository;
 
-import java.util.Optional;
-
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Credential;
 
-public interface CredentialRepository extends JpaRepository<Credential, Integer> {
+public interface CredentialRepository extends JpaRepository<Credential, Integer>, CredentialNaturalIdRepository {
+	
 	
-	Optional<Credential> findByUsername(final String username);
 	
 }
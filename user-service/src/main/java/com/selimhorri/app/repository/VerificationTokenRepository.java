@@ -1,11 +1,41 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDate;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.selimhorri.app.domain.VerificationToken;
 
 public interface VerificationTokenRepository extends JpaRepository<VerificationToken, Integer> {
 	
+	Optional<VerificationToken> findByToken(final String token);
 	
+	/**
+	 * The query space hint limits Hibernate's second-level cache invalidation to the verification token region;
+	 * without it a native DML statement evicts every region.
+	 */
+	@Transactional
+	@Modifying
+	@QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "verification_tokens"))
+	@Query(value = "DELETE FROM verification_tokens WHERE expire_date < :today LIMIT :limit", nativeQuery = true)
+	int deleteExpiredBatch(@Param("today") final LocalDate today, @Param("limit") final int limit);
 	
 }
+
+
+
+
+
+
+
+
+
+
@@ -44,6 +44,15 @@ public class VerificationTokenResource {
 		return ResponseEntity.ok(this.verificationTokenService.findById(Integer.parseInt(verificationTokenId.strip())));
 	}
 	
+	@GetMapping("/token/{token}")
+	public ResponseEntity<VerificationTokenDto> findByToken(
+			@PathVariable("token") 
+			@NotBlank(message = "Input must not blank") 
+			@Valid final String token) {
+		log.info("*** VerificationTokenDto, resource; fetch verificationToken by token *");
+		return ResponseEntity.ok(this.verificationTokenService.findByToken(token.strip()));
+	}
+	
 	@PostMapping
 	public ResponseEntity<VerificationTokenDto> save(
 			@RequestBody 
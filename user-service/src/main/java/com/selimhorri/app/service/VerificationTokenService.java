@@ -8,6 +8,7 @@ public interface VerificationTokenService {
 	
 	List<VerificationTokenDto> findAll();
 	VerificationTokenDto findById(final Integer verificationTokenId);
+	VerificationTokenDto findByToken(final String token);
 	VerificationTokenDto save(final VerificationTokenDto verificationTokenDto);
 	VerificationTokenDto update(final VerificationTokenDto verificationTokenDto);
 	VerificationTokenDto update(final Integer verificationTokenId, final VerificationTokenDto verificationTokenDto);
@@ -1,12 +1,15 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.selimhorri.app.commons.cache.LocalCache;
 import com.selimhorri.app.dto.VerificationTokenDto;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 import com.selimhorri.app.helper.VerificationTokenMappingHelper;
@@ -23,8 +26,10 @@ import lombok.extern.slf4j.Slf4j;
 public class VerificationTokenServiceImpl implements VerificationTokenService {
 	
 	private final VerificationTokenRepository verificationTokenRepository;
+	private final LocalCache<String, VerificationTokenDto> verificationTokenCache;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<VerificationTokenDto> findAll() {
 		log.info("*** VerificationTokenDto List, service; fetch all verificationTokens *");
 		return this.verificationTokenRepository.findAll()
@@ -35,6 +40,7 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public VerificationTokenDto findById(final Integer verificationTokenId) {
 		log.info("*** VerificationTokenDto, service; fetch verificationToken by ids *");
 		return this.verificationTokenRepository.findById(verificationTokenId)
@@ -43,31 +49,79 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 						.format("#### VerificationToken with id: %d not found! ####", verificationTokenId)));
 	}
 	
+	/**
+	 * Hot path of the verification link: served from the cache (misses included) and otherwise
+	 * a single probe of the verif_token index.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public VerificationTokenDto findByToken(final String token) {
+		log.info("*** VerificationTokenDto, service; fetch verificationToken by token *");
+		final var verificationTokenDto = this.verificationTokenCache.get(token, key -> this.verificationTokenRepository
+						.findByToken(key)
+						.map(VerificationTokenMappingHelper::map))
+				.orElseThrow(() -> new VerificationTokenNotFoundException("#### VerificationToken not found! ####"));
+		if (verificationTokenDto.getExpireDate() != null && verificationTokenDto.getExpireDate().isBefore(LocalDate.now()))
+			throw new VerificationTokenNotFoundException("#### VerificationToken has expired! ####");
+		return verificationTokenDto;
+	}
+	
 	@Override
 	public VerificationTokenDto save(final VerificationTokenDto verificationTokenDto) {
 		log.info("*** VerificationTokenDto, service; save verificationToken *");
-		return VerificationTokenMappingHelper.map(this.verificationTokenRepository
-				.save(VerificationTokenMappingHelper.map(verificationTokenDto)));
+		return this.evict(VerificationTokenMappingHelper.map(this.verificationTokenRepository
+				.save(VerificationTokenMappingHelper.map(verificationTokenDto))));
 	}
 	
 	@Override
 	public VerificationTokenDto update(final VerificationTokenDto verificationTokenDto) {
 		log.info("*** VerificationTokenDto, service; update verificationToken *");
-		return VerificationTokenMappingHelper.map(this.verificationTokenRepository
-				.save(VerificationTokenMappingHelper.map(verificationTokenDto)));
+		return this.evict(VerificationTokenMappingHelper.map(this.verificationTokenRepository
+				.save(VerificationTokenMappingHelper.map(verificationTokenDto))));
 	}
 	
 	@Override
 	public VerificationTokenDto update(final Integer verificationTokenId, final VerificationTokenDto verificationTokenDto) {
 		log.info("*** VerificationTokenDto, service; update verificationToken with verificationTokenId *");
-		return VerificationTokenMappingHelper.map(this.verificationTokenRepository.save(
-				VerificationTokenMappingHelper.map(this.findById(verificationTokenId))));
+		return this.evict(VerificationTokenMappingHelper.map(this.verificationTokenRepository.save(
+				VerificationTokenMappingHelper.map(this.findById(verificationTokenId)))));
 	}
 	
 	@Override
 	public void deleteById(final Integer verificationTokenId) {
 		log.info("*** Void, service; delete verificationToken by id *");
 		this.verificationTokenRepository.deleteById(verificationTokenId);
+		afterCommit(() -> this.verificationTokenCache
+				.invalidateIf(cached -> verificationTokenId.equals(cached.getVerificationTokenId())));
+	}
+	
+	/**
+	 * Drops the previous value of a written token as well as any cached miss for its new value.
+	 */
+	private VerificationTokenDto evict(final VerificationTokenDto verificationTokenDto) {
+		afterCommit(() -> {
+			this.verificationTokenCache.invalidateIf(cached -> cached.getVerificationTokenId() != null
+					&& cached.getVerificationTokenId().equals(verificationTokenDto.getVerificationTokenId()));
+			if (verificationTokenDto.getToken() != null)
+				this.verificationTokenCache.invalidate(verificationTokenDto.getToken());
+		});
+		return verificationTokenDto;
+	}
+	
+	/**
+	 * Evicting before commit would let a concurrent findByToken reload the old row and cache it for the full TTL.
+	 */
+	private static void afterCommit(final Runnable eviction) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			eviction.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				eviction.run();
+			}
+		});
 	}
 	
 	
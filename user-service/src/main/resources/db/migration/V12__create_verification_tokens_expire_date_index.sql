@@ -0,0 +1,3 @@
+
+CREATE INDEX idx_verification_tokens_expire_date ON verification_tokens (expire_date);
+
@@ -0,0 +1,4 @@
+
+CREATE INDEX idx_verification_tokens_verif_token ON verification_tokens (verif_token);
+
+
@@ -0,0 +1,95 @@
+package com.selimhorri.app.config.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.selimhorri.app.constant.AppConstant.CacheRegion;
+
+class HibernateCacheConfigTest {
+
+    private final HibernateCacheConfig config = new HibernateCacheConfig();
+
+    private HibernateCacheProperties properties;
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        HibernateCacheProperties.Region credentials = new HibernateCacheProperties.Region();
+        credentials.setMaxSize(500L);
+        credentials.setTtl(Duration.ofMinutes(5));
+        HibernateCacheProperties.Region tokens = new HibernateCacheProperties.Region();
+        tokens.setIdle(Duration.ofSeconds(30));
+
+        this.properties = new HibernateCacheProperties();
+        this.properties.getRegions().put(CacheRegion.CREDENTIALS, credentials);
+        this.properties.getRegions().put(CacheRegion.VERIFICATION_TOKENS, tokens);
+        this.cacheManager = this.config.hibernateCacheManager(this.properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.cacheManager.close();
+    }
+
+    @Test
+    void createsEveryConfiguredRegionBounded() {
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> credentials = this.cacheManager.getCache(CacheRegion.CREDENTIALS)
+                .getConfiguration(CaffeineConfiguration.class);
+
+        assertEquals(OptionalLong.of(500L), credentials.getMaximumSize());
+        assertEquals(OptionalLong.of(Duration.ofMinutes(5).toNanos()), credentials.getExpireAfterWrite());
+        assertFalse(credentials.getExpireAfterAccess().isPresent());
+        assertTrue(credentials.isStatisticsEnabled());
+        assertFalse(credentials.isStoreByValue());
+    }
+
+    @Test
+    void appliesIdleExpiryOnlyWhenConfigured() {
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> tokens = this.cacheManager.getCache(CacheRegion.VERIFICATION_TOKENS)
+                .getConfiguration(CaffeineConfiguration.class);
+
+        assertEquals(OptionalLong.of(10_000L), tokens.getMaximumSize());
+        assertEquals(OptionalLong.of(Duration.ofSeconds(30).toNanos()), tokens.getExpireAfterAccess());
+    }
+
+    @Test
+    void recreatesRegionsWhenTheCacheManagerIsReused() {
+        this.cacheManager.getCache(CacheRegion.CREDENTIALS).put("key", "stale");
+
+        CacheManager reused = this.config.hibernateCacheManager(this.properties);
+
+        assertSame(this.cacheManager, reused);
+        assertNotNull(reused.getCache(CacheRegion.CREDENTIALS));
+        assertFalse(reused.getCache(CacheRegion.CREDENTIALS).containsKey("key"));
+    }
+
+    @Test
+    void pointsHibernateAtTheCacheManagerAndFailsOnUnknownRegions() {
+        Map<String, Object> hibernateProperties = new HashMap<>();
+
+        this.config.secondLevelCacheHibernatePropertiesCustomizer(this.cacheManager).customize(hibernateProperties);
+
+        assertEquals(true, hibernateProperties.get("hibernate.cache.use_second_level_cache"));
+        assertEquals("jcache", hibernateProperties.get("hibernate.cache.region.factory_class"));
+        assertEquals(true, hibernateProperties.get("hibernate.cache.auto_evict_collection_cache"));
+        assertSame(this.cacheManager, hibernateProperties.get("hibernate.javax.cache.cache_manager"));
+        assertEquals("fail", hibernateProperties.get("hibernate.javax.cache.missing_cache_strategy"));
+    }
+}
@@ -81,8 +81,14 @@ class UserServiceImplTest {
     }
 
     @Test
-    void findAllReturnsMappedUsers() {
-        when(this.userRepository.findAll()).thenReturn(List.of(this.user));
+    void findAllReturnsProjectedUsers() {
+        Credential credential = this.user.getCredential();
+        when(this.userRepository.findAllProjected()).thenReturn(List.of(new UserDto(
+                this.user.getUserId(), this.user.getFirstName(), this.user.getLastName(), this.user.getImageUrl(),
+                this.user.getEmail(), this.user.getPhone(),
+                credential.getCredentialId(), credential.getUsername(), credential.getPassword(),
+                credential.getRoleBasedAuthority(), credential.getIsEnabled(), credential.getIsAccountNonExpired(),
+                credential.getIsAccountNonLocked(), credential.getIsCredentialsNonExpired())));
 
         List<UserDto> result = this.userService.findAll();
 
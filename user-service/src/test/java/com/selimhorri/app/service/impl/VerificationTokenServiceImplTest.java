@@ -0,0 +1,123 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.commons.cache.LocalCache;
+import com.selimhorri.app.commons.cache.LocalCacheProperties;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.VerificationToken;
+import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
+import com.selimhorri.app.helper.VerificationTokenMappingHelper;
+import com.selimhorri.app.repository.VerificationTokenRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class VerificationTokenServiceImplTest {
+
+    @Mock
+    private VerificationTokenRepository verificationTokenRepository;
+
+    private VerificationTokenServiceImpl verificationTokenService;
+
+    @BeforeEach
+    void setUp() {
+        LocalCache<String, VerificationTokenDto> cache =
+                new LocalCache<>("verificationTokens", new LocalCacheProperties(), new SimpleMeterRegistry());
+        this.verificationTokenService = new VerificationTokenServiceImpl(this.verificationTokenRepository, cache);
+    }
+
+    private VerificationToken token(Integer id, String value, LocalDate expireDate) {
+        return VerificationToken.builder()
+                .verificationTokenId(id)
+                .token(value)
+                .expireDate(expireDate)
+                .credential(Credential.builder().credentialId(1).username("tester").build())
+                .build();
+    }
+
+    @Test
+    void findByTokenHitsRepositoryOnceForRepeatedClicks() {
+        when(this.verificationTokenRepository.findByToken("abc"))
+                .thenReturn(Optional.of(token(1, "abc", LocalDate.now().plusDays(1))));
+
+        assertEquals(1, this.verificationTokenService.findByToken("abc").getVerificationTokenId());
+        assertEquals(1, this.verificationTokenService.findByToken("abc").getVerificationTokenId());
+
+        verify(this.verificationTokenRepository, times(1)).findByToken("abc");
+    }
+
+    @Test
+    void findByTokenCachesUnknownTokens() {
+        when(this.verificationTokenRepository.findByToken("missing")).thenReturn(Optional.empty());
+
+        assertThrows(VerificationTokenNotFoundException.class, () -> this.verificationTokenService.findByToken("missing"));
+        assertThrows(VerificationTokenNotFoundException.class, () -> this.verificationTokenService.findByToken("missing"));
+
+        verify(this.verificationTokenRepository, times(1)).findByToken("missing");
+    }
+
+    @Test
+    void findByTokenRejectsExpiredTokens() {
+        when(this.verificationTokenRepository.findByToken("old"))
+                .thenReturn(Optional.of(token(2, "old", LocalDate.now().minusDays(1))));
+
+        assertThrows(VerificationTokenNotFoundException.class, () -> this.verificationTokenService.findByToken("old"));
+    }
+
+    @Test
+    void saveEvictsCachedMissForNewToken() {
+        VerificationToken saved = token(3, "fresh", LocalDate.now().plusDays(1));
+        when(this.verificationTokenRepository.findByToken("fresh"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(saved));
+        when(this.verificationTokenRepository.save(any(VerificationToken.class))).thenReturn(saved);
+
+        assertThrows(VerificationTokenNotFoundException.class, () -> this.verificationTokenService.findByToken("fresh"));
+        this.verificationTokenService.save(VerificationTokenMappingHelper.map(saved));
+
+        assertEquals(3, this.verificationTokenService.findByToken("fresh").getVerificationTokenId());
+    }
+
+    @Test
+    void updateEvictsTheCachedTokenOnlyOnceCommitted() {
+        VerificationToken original = token(4, "link", LocalDate.now().plusDays(1));
+        VerificationToken updated = token(4, "link", LocalDate.now().plusDays(7));
+        when(this.verificationTokenRepository.findByToken("link"))
+                .thenReturn(Optional.of(original))
+                .thenReturn(Optional.of(updated));
+        when(this.verificationTokenRepository.save(any(VerificationToken.class))).thenReturn(updated);
+        this.verificationTokenService.findByToken("link");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            this.verificationTokenService.update(VerificationTokenMappingHelper.map(updated));
+            // not yet committed: a concurrent reader still sees, and keeps, the committed row
+            assertEquals(original.getExpireDate(), this.verificationTokenService.findByToken("link").getExpireDate());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(updated.getExpireDate(), this.verificationTokenService.findByToken("link").getExpireDate());
+    }
+}